@@ -0,0 +1,229 @@
+package com.practice.foodordering.benchmark;
+
+import org.hibernate.id.uuid.UuidVersion7Strategy;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * A generated catalog and order history for the service-layer benchmarks,
+ * written with JDBC batches. At {@code scale} N there are N food items (each
+ * with one variant and one addon) in N / 50 restaurants, N / 10 users and N
+ * orders of two lines with an addon each, placed over the last year. The
+ * first user, {@link #historyUserId()}, has exactly {@link #HISTORY_ORDERS}
+ * orders, so history benchmarks read the same amount of data at every scale.
+ *
+ * <p>The data goes into an H2 file database per scale under
+ * {@code target/jmh-data} and is only generated when that database does not
+ * have it yet, so the 1M dataset is built once rather than once per trial.
+ */
+final class BenchmarkDataset {
+
+    /**
+     * An orderable item with its variant and addon.
+     */
+    record MenuEntry(UUID restaurantId, UUID itemId, UUID variantId, UUID addonId) {
+    }
+
+    static final int HISTORY_ORDERS = 50;
+
+    private static final int ITEMS_PER_RESTAURANT = 50;
+    private static final int BATCH = 1000;
+    private static final int MENU_SAMPLE = 2000;
+    private static final String HISTORY_USER = "bench-user-0@example.com";
+    private static final String[] DISHES = {"paneer", "chicken", "biryani", "masala", "dosa", "burger", "pizza",
+            "noodles", "tikka", "kebab", "pasta", "salad", "momo", "thali", "paratha", "lassi", "kulfi", "idli"};
+    private static final String[] STYLES = {"butter", "spicy", "tandoori", "hyderabadi", "classic", "cheese",
+            "schezwan", "veg", "special", "mini", "family", "smoked"};
+
+    private final UUID historyUserId;
+    private final List<UUID> userIds;
+    private final List<List<MenuEntry>> menus;
+
+    private BenchmarkDataset(UUID historyUserId, List<UUID> userIds, List<List<MenuEntry>> menus) {
+        this.historyUserId = historyUserId;
+        this.userIds = userIds;
+        this.menus = menus;
+    }
+
+    static String jdbcUrl(int scale) {
+        return "jdbc:h2:file:./target/jmh-data/scale_" + scale + ";DB_CLOSE_ON_EXIT=FALSE";
+    }
+
+    /**
+     * Generates the dataset unless the database already holds it, then loads
+     * the handles the benchmarks need.
+     */
+    static BenchmarkDataset load(JdbcTemplate jdbc, int scale) {
+        Integer existing = jdbc.queryForObject("SELECT COUNT(*) FROM users WHERE phone_or_email = ?", Integer.class,
+                HISTORY_USER);
+        if (existing == null || existing == 0) {
+            generate(jdbc, scale, new Random(42));
+        }
+
+        UUID historyUserId = jdbc.queryForObject("SELECT id FROM users WHERE phone_or_email = ?", UUID.class,
+                HISTORY_USER);
+        List<UUID> userIds = jdbc.queryForList(
+                "SELECT id FROM users WHERE phone_or_email LIKE 'bench-user-%' LIMIT 10000", UUID.class);
+
+        // Whole menus of a sample of restaurants, so an order can take several lines from one place
+        Map<UUID, List<MenuEntry>> byRestaurant = new LinkedHashMap<>();
+        jdbc.query("SELECT f.restaurant_id, f.id, v.id, a.id FROM food_items f "
+                        + "JOIN variants v ON v.item_id = f.id JOIN addons a ON a.item_id = f.id "
+                        + "WHERE f.name LIKE 'bench %' ORDER BY f.restaurant_id LIMIT " + MENU_SAMPLE,
+                rs -> {
+                    MenuEntry entry = new MenuEntry(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class),
+                            rs.getObject(3, UUID.class), rs.getObject(4, UUID.class));
+                    byRestaurant.computeIfAbsent(entry.restaurantId(), id -> new ArrayList<>()).add(entry);
+                });
+        List<List<MenuEntry>> menus = byRestaurant.values().stream().filter(menu -> menu.size() >= 2).toList();
+        return new BenchmarkDataset(historyUserId, userIds, menus);
+    }
+
+    UUID historyUserId() {
+        return historyUserId;
+    }
+
+    List<UUID> userIds() {
+        return userIds;
+    }
+
+    List<List<MenuEntry>> menus() {
+        return menus;
+    }
+
+    private static void generate(JdbcTemplate jdbc, int scale, Random random) {
+        int cityCount = Math.max(5, scale / 20_000);
+        int restaurantCount = Math.max(1, scale / ITEMS_PER_RESTAURANT);
+        int userCount = Math.max(HISTORY_ORDERS, scale / 10);
+
+        UUID[] cities = new UUID[cityCount];
+        List<Object[]> rows = new ArrayList<>(BATCH);
+        for (int i = 0; i < cityCount; i++) {
+            cities[i] = UUID.randomUUID();
+            rows.add(new Object[]{cities[i], "Bench City " + i});
+        }
+        flush(jdbc, "INSERT INTO cities (id, name) VALUES (?, ?)", rows);
+
+        UUID[] restaurants = new UUID[restaurantCount];
+        for (int i = 0; i < restaurantCount; i++) {
+            restaurants[i] = UUID.randomUUID();
+            rows.add(new Object[]{restaurants[i], cities[i % cityCount], "Bench " + dish(random) + " house " + i,
+                    "Street " + i, 3.0f + random.nextInt(20) / 10f, 15 + random.nextInt(40),
+                    200 + random.nextInt(1300)});
+            flushIfFull(jdbc, "INSERT INTO restaurants (id, city_id, name, address, rating, delivery_time, "
+                    + "cost_for_two) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        }
+        flush(jdbc, "INSERT INTO restaurants (id, city_id, name, address, rating, delivery_time, cost_for_two) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+
+        // Item i belongs to restaurant i / ITEMS_PER_RESTAURANT; prices in cents
+        UUID[] items = new UUID[scale];
+        UUID[] variants = new UUID[scale];
+        UUID[] addons = new UUID[scale];
+        int[] unitCents = new int[scale];
+        List<Object[]> variantRows = new ArrayList<>(BATCH);
+        List<Object[]> addonRows = new ArrayList<>(BATCH);
+        for (int i = 0; i < scale; i++) {
+            items[i] = UUID.randomUUID();
+            variants[i] = UUID.randomUUID();
+            addons[i] = UUID.randomUUID();
+            int price = 5_000 + random.nextInt(45_000);
+            int modifier = 1_000 * random.nextInt(5);
+            int addon = 500 + random.nextInt(5_000);
+            unitCents[i] = price + modifier + addon;
+            rows.add(new Object[]{items[i], restaurants[Math.min(i / ITEMS_PER_RESTAURANT, restaurantCount - 1)],
+                    "bench " + STYLES[random.nextInt(STYLES.length)] + " " + dish(random) + " " + i,
+                    cents(price), "VARIANT_AND_ADDON"});
+            variantRows.add(new Object[]{variants[i], items[i], "Large", cents(modifier)});
+            addonRows.add(new Object[]{addons[i], items[i], "Extra cheese", cents(addon)});
+            if (rows.size() == BATCH) {
+                flush(jdbc, "INSERT INTO food_items (id, restaurant_id, name, price, item_type) VALUES (?, ?, ?, ?, ?)",
+                        rows);
+                flush(jdbc, "INSERT INTO variants (id, item_id, name, price_modifier) VALUES (?, ?, ?, ?)",
+                        variantRows);
+                flush(jdbc, "INSERT INTO addons (id, item_id, name, price) VALUES (?, ?, ?, ?)", addonRows);
+            }
+        }
+        flush(jdbc, "INSERT INTO food_items (id, restaurant_id, name, price, item_type) VALUES (?, ?, ?, ?, ?)", rows);
+        flush(jdbc, "INSERT INTO variants (id, item_id, name, price_modifier) VALUES (?, ?, ?, ?)", variantRows);
+        flush(jdbc, "INSERT INTO addons (id, item_id, name, price) VALUES (?, ?, ?, ?)", addonRows);
+
+        UUID[] users = new UUID[userCount];
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int i = 0; i < userCount; i++) {
+            users[i] = UUID.randomUUID();
+            rows.add(new Object[]{users[i], "bench-user-" + i + "@example.com", "CUSTOMER", now});
+            flushIfFull(jdbc, "INSERT INTO users (id, phone_or_email, role, created_at) VALUES (?, ?, ?, ?)", rows);
+        }
+        flush(jdbc, "INSERT INTO users (id, phone_or_email, role, created_at) VALUES (?, ?, ?, ?)", rows);
+
+        Instant start = Instant.now().minus(Duration.ofDays(365));
+        long spacingMillis = Math.max(1, Duration.ofDays(365).toMillis() / scale);
+        List<Object[]> lineRows = new ArrayList<>(BATCH * 2);
+        List<Object[]> lineAddonRows = new ArrayList<>(BATCH * 2);
+        for (int i = 0; i < scale; i++) {
+            // The history user gets the first HISTORY_ORDERS orders and no others
+            UUID user = i < HISTORY_ORDERS ? users[0] : users[1 + random.nextInt(userCount - 1)];
+            int restaurant = random.nextInt(restaurantCount);
+            int firstItem = restaurant * ITEMS_PER_RESTAURANT;
+            int menuSize = Math.max(1, Math.min(ITEMS_PER_RESTAURANT, scale - firstItem));
+
+            UUID order = UuidVersion7Strategy.INSTANCE.generateUuid(null);
+            long totalCents = 299;
+            for (int line = 0; line < 2; line++) {
+                int item = firstItem + random.nextInt(menuSize);
+                int quantity = 1 + random.nextInt(3);
+                totalCents += (long) unitCents[item] * quantity;
+                UUID orderItem = UUID.randomUUID();
+                lineRows.add(new Object[]{orderItem, order, items[item], variants[item], quantity});
+                lineAddonRows.add(new Object[]{UUID.randomUUID(), orderItem, addons[item]});
+            }
+            rows.add(new Object[]{order, user, restaurants[restaurant], "COMPLETED", cents(totalCents),
+                    Timestamp.from(start.plusMillis(i * spacingMillis))});
+            if (rows.size() == BATCH) {
+                flushOrders(jdbc, rows, lineRows, lineAddonRows);
+            }
+        }
+        flushOrders(jdbc, rows, lineRows, lineAddonRows);
+    }
+
+    private static void flushOrders(JdbcTemplate jdbc, List<Object[]> orders, List<Object[]> lines,
+            List<Object[]> lineAddons) {
+        flush(jdbc, "INSERT INTO orders (id, user_id, restaurant_id, status, version, total_price, placed_at) "
+                + "VALUES (?, ?, ?, ?, 0, ?, ?)", orders);
+        flush(jdbc, "INSERT INTO order_items (id, order_id, item_id, variant_id, quantity) VALUES (?, ?, ?, ?, ?)",
+                lines);
+        flush(jdbc, "INSERT INTO order_item_addons (id, order_item_id, addon_id) VALUES (?, ?, ?)", lineAddons);
+    }
+
+    private static void flushIfFull(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        if (rows.size() >= BATCH) {
+            flush(jdbc, sql, rows);
+        }
+    }
+
+    private static void flush(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private static String dish(Random random) {
+        return DISHES[random.nextInt(DISHES.length)];
+    }
+
+    private static BigDecimal cents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
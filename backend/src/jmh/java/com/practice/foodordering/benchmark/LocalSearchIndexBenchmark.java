@@ -0,0 +1,122 @@
+package com.practice.foodordering.benchmark;
+
+import com.practice.foodordering.FoodOrderingApplication;
+import com.practice.foodordering.dto.FoodItemSearchRow;
+import com.practice.foodordering.model.search.FoodItemDocument;
+import com.practice.foodordering.repository.FoodItemRepository;
+import com.practice.foodordering.service.search.LocalSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the in-process trigram index with the JPA {@code LIKE '%kw%'}
+ * fallback on an H2 catalog of {@code items} food items.
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Dbenchmark=LocalSearchIndexBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalSearchIndexBenchmark {
+
+    private static final String[] DISHES = {"paneer", "chicken", "biryani", "masala", "dosa", "burger", "pizza",
+            "noodles", "tikka", "kebab", "pasta", "salad", "momo", "thali", "paratha", "lassi", "kulfi", "idli"};
+    private static final String[] STYLES = {"butter", "spicy", "tandoori", "hyderabadi", "classic", "cheese",
+            "schezwan", "veg", "special", "mini", "family", "smoked"};
+    private static final String[] CITIES = {"Mumbai", "Delhi", "Bengaluru", "Hyderabad", "Chennai", "Kolkata",
+            "Pune", "Jaipur", "Ahmedabad", "Lucknow"};
+    private static final int LIMIT = 50;
+
+    @Param({"100000", "250000"})
+    public int items;
+
+    @Param({"pa", "biryani", "tandoori tikka", "jaipur"})
+    public String query;
+
+    private ConfigurableApplicationContext context;
+    private LocalSearchIndex localIndex;
+    private FoodItemRepository foodItemRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = SpringApplication.run(FoodOrderingApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:bench_" + items + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--logging.level.root=WARN");
+        localIndex = context.getBean(LocalSearchIndex.class);
+        foodItemRepository = context.getBean(FoodItemRepository.class);
+
+        // Let the startup build of the (empty) index finish before loading data
+        while (!localIndex.isReady()) {
+            Thread.sleep(50);
+        }
+        seed(context.getBean(JdbcTemplate.class));
+        localIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<FoodItemDocument> localIndex() {
+        return localIndex.search(query, LIMIT);
+    }
+
+    @Benchmark
+    public List<FoodItemSearchRow> jpaFallback() {
+        return foodItemRepository.searchGlobal(query, PageRequest.of(0, LIMIT));
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        Random random = new Random(42);
+        List<UUID> cityIds = new ArrayList<>();
+        for (String city : CITIES) {
+            UUID id = UUID.randomUUID();
+            jdbc.update("INSERT INTO cities (id, name) VALUES (?, ?)", id, city);
+            cityIds.add(id);
+        }
+
+        int restaurantCount = Math.max(items / 100, 1);
+        List<Object[]> restaurants = new ArrayList<>(restaurantCount);
+        for (int i = 0; i < restaurantCount; i++) {
+            String name = STYLES[random.nextInt(STYLES.length)] + " " + DISHES[random.nextInt(DISHES.length)]
+                    + " house " + i;
+            restaurants.add(new Object[]{UUID.randomUUID(), cityIds.get(random.nextInt(cityIds.size())), name});
+        }
+        jdbc.batchUpdate("INSERT INTO restaurants (id, city_id, name) VALUES (?, ?, ?)", restaurants);
+
+        List<Object[]> batch = new ArrayList<>(1000);
+        for (int i = 0; i < items; i++) {
+            String name = STYLES[random.nextInt(STYLES.length)] + " " + DISHES[random.nextInt(DISHES.length)]
+                    + " " + DISHES[random.nextInt(DISHES.length)];
+            batch.add(new Object[]{UUID.randomUUID(), restaurants.get(random.nextInt(restaurantCount))[0], name,
+                    BigDecimal.valueOf(50 + random.nextInt(500)), "NO_ADDON_NO_VARIANT"});
+            if (batch.size() == 1000) {
+                insertItems(jdbc, batch);
+            }
+        }
+        insertItems(jdbc, batch);
+    }
+
+    private static void insertItems(JdbcTemplate jdbc, List<Object[]> batch) {
+        jdbc.batchUpdate("INSERT INTO food_items (id, restaurant_id, name, price, item_type) VALUES (?, ?, ?, ?, ?)",
+                batch);
+        batch.clear();
+    }
+}
@@ -0,0 +1,126 @@
+package com.practice.foodordering.benchmark;
+
+import com.practice.foodordering.FoodOrderingApplication;
+import com.practice.foodordering.model.AppUser;
+import com.practice.foodordering.model.Order;
+import com.practice.foodordering.model.OrderStatus;
+import com.practice.foodordering.model.Role;
+import com.practice.foodordering.service.NotificationService;
+import com.practice.foodordering.service.auth.TokenService;
+import com.practice.foodordering.service.notification.NotificationHub;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order updates delivered per second through
+ * {@code NotificationService.sendOrderStatusUpdate} to {@code subscribers}
+ * real SSE connections, one per user, opened over HTTP against the running
+ * app. Each invocation publishes {@value #BATCH} updates to different users
+ * and waits until the hub has written every one of them to its socket, so
+ * the score is end-to-end delivery (event bus, replay log, shard queue, SSE
+ * write) rather than how fast events can be queued.
+ *
+ * <p>5,000 subscribers need that many file descriptors on each side; raise
+ * {@code ulimit -n} if connections fail to open.
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Dbenchmark=NotificationFanOutBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationFanOutBenchmark {
+
+    static final int BATCH = 1000;
+    private static final long DELIVERY_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    @Param({"1000", "5000"})
+    public int subscribers;
+
+    private ConfigurableApplicationContext context;
+    private NotificationService notificationService;
+    private NotificationHub hub;
+    private Order[] orders;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = SpringApplication.run(FoodOrderingApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:fanout_" + subscribers + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--server.tomcat.max-connections=" + (subscribers + 1000),
+                "--logging.level.root=WARN",
+                "--app.search.local-index.enabled=false",
+                "--app.otp.delivery.provider=fake",
+                "--app.notifications.max-connections=" + (subscribers + 100),
+                "--app.notifications.heartbeat-interval-ms=600000");
+        notificationService = context.getBean(NotificationService.class);
+        hub = context.getBean(NotificationHub.class);
+        TokenService tokenService = context.getBean(TokenService.class);
+        String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        orders = new Order[subscribers];
+        for (int i = 0; i < subscribers; i++) {
+            AppUser user = AppUser.builder().id(UUID.randomUUID()).role(Role.CUSTOMER).build();
+            String token = tokenService.issue(user).accessToken();
+            client.sendAsync(HttpRequest.newBuilder(URI.create(base + "/api/notifications/subscribe/" + user.getId()))
+                            .header("Authorization", "Bearer " + token)
+                            .header("Accept", "text/event-stream")
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+            orders[i] = Order.builder()
+                    .id(UUID.randomUUID())
+                    .user(user)
+                    .restaurantId(UUID.randomUUID())
+                    .status(OrderStatus.PREPARING)
+                    .totalPrice(new BigDecimal("499.00"))
+                    .placedAt(Instant.now())
+                    .build();
+        }
+
+        long deadline = System.nanoTime() + DELIVERY_TIMEOUT_NANOS;
+        while (hub.stats().connections() < subscribers) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Only " + hub.stats().connections() + " of " + subscribers
+                        + " subscribers connected");
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void fanOut() {
+        long target = hub.stats().delivered() + BATCH;
+        for (int i = 0; i < BATCH; i++) {
+            notificationService.sendOrderStatusUpdate(orders[next++ % subscribers]);
+        }
+
+        long deadline = System.nanoTime() + DELIVERY_TIMEOUT_NANOS;
+        while (hub.stats().delivered() < target) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Updates not delivered: " + hub.stats());
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
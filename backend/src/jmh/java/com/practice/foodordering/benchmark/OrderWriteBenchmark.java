@@ -0,0 +1,123 @@
+package com.practice.foodordering.benchmark;
+
+import com.practice.foodordering.FoodOrderingApplication;
+import com.practice.foodordering.model.Addon;
+import com.practice.foodordering.model.AppUser;
+import com.practice.foodordering.model.FoodItem;
+import com.practice.foodordering.model.Order;
+import com.practice.foodordering.model.OrderItem;
+import com.practice.foodordering.model.OrderItemAddon;
+import com.practice.foodordering.model.Variant;
+import com.practice.foodordering.repository.AddonRepository;
+import com.practice.foodordering.repository.FoodItemRepository;
+import com.practice.foodordering.repository.UserRepository;
+import com.practice.foodordering.repository.VariantRepository;
+import com.practice.foodordering.service.OrderService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orders per second through {@code OrderService.placeOrder}, each order with
+ * {@code lines} lines carrying a variant and an addon, on H2 and on an
+ * embedded PostgreSQL. {@code default} runs with the stock JPA settings;
+ * {@code batch-writes} activates the profile of that name (JDBC batching with
+ * ordered inserts, plus {@code reWriteBatchedInserts} on PostgreSQL). SQL
+ * logging is off in both so the comparison is about the statements sent.
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Dbenchmark=OrderWriteBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderWriteBenchmark {
+
+    @Param({"h2", "postgres"})
+    public String database;
+
+    @Param({"default", "batch-writes"})
+    public String profile;
+
+    @Param({"15"})
+    public int lines;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private UUID userId;
+    private FoodItem item;
+    private List<Variant> variants;
+    private Addon addon;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--app.otp.delivery.provider=fake"));
+        if (!"default".equals(profile)) {
+            args.add("--spring.profiles.active=" + profile);
+        }
+        if ("postgres".equals(database)) {
+            postgres = EmbeddedPostgres.start();
+            String url = postgres.getJdbcUrl("postgres", "postgres");
+            if ("batch-writes".equals(profile)) {
+                url += "&reWriteBatchedInserts=true";
+            }
+            args.add("--spring.datasource.url=" + url);
+            args.add("--spring.datasource.driverClassName=org.postgresql.Driver");
+            args.add("--spring.datasource.username=postgres");
+            args.add("--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect");
+        } else {
+            args.add("--spring.datasource.url=jdbc:h2:mem:orders_" + profile.replace('-', '_') + ";DB_CLOSE_DELAY=-1");
+        }
+
+        context = SpringApplication.run(FoodOrderingApplication.class, args.toArray(String[]::new));
+        orderService = context.getBean(OrderService.class);
+        userId = context.getBean(UserRepository.class).findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+
+        // The seeded items come with variants and an addon
+        item = context.getBean(FoodItemRepository.class).findAll(PageRequest.of(0, 1)).getContent().get(0);
+        variants = context.getBean(VariantRepository.class).findByFoodItemId(item.getId());
+        addon = context.getBean(AddonRepository.class).findByFoodItemId(item.getId()).get(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Benchmark
+    public Order placeOrder() {
+        List<OrderItem> orderLines = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            List<OrderItemAddon> addons = new ArrayList<>();
+            addons.add(OrderItemAddon.builder().addon(addon).build());
+            orderLines.add(OrderItem.builder()
+                    .foodItem(item)
+                    .variant(variants.get(i % variants.size()))
+                    .quantity(1 + i % 3)
+                    .addons(addons)
+                    .build());
+        }
+        return orderService.placeOrder(Order.builder()
+                .user(AppUser.builder().id(userId).build())
+                .items(orderLines)
+                .build());
+    }
+}
@@ -0,0 +1,85 @@
+package com.practice.foodordering.benchmark;
+
+import com.practice.foodordering.FoodOrderingApplication;
+import com.practice.foodordering.service.OtpService;
+import com.practice.foodordering.service.otp.OtpStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code OtpService.verifyOtp} for email codes against the in-memory store
+ * holding {@code scale} live codes. A code can only be used once, so
+ * {@code issueAndVerify} stores a fresh code before verifying it;
+ * {@code issue} is that store on its own, and the difference between the two
+ * is the cost of a successful verification. {@code verifyWrongCode} is the
+ * failed attempt, which leaves the code in place.
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Dbenchmark=OtpVerifyBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OtpVerifyBenchmark {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final String CODE = "424242";
+
+    @Param({"10000", "100000", "1000000"})
+    public int scale;
+
+    private ConfigurableApplicationContext context;
+    private OtpService otpService;
+    private OtpStore otpStore;
+    private String[] identifiers;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(FoodOrderingApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:otp_" + scale + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--app.search.local-index.enabled=false",
+                "--app.otp.delivery.provider=fake",
+                "--app.otp.store.type=memory",
+                "--app.otp.store.max-entries=" + scale * 2);
+        otpService = context.getBean(OtpService.class);
+        otpStore = context.getBean(OtpStore.class);
+
+        identifiers = new String[scale];
+        for (int i = 0; i < scale; i++) {
+            identifiers[i] = "user-" + i + "@example.com";
+            otpStore.save(identifiers[i], CODE, TTL);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void issue() {
+        otpStore.save(identifiers[next++ % scale], CODE, TTL);
+    }
+
+    @Benchmark
+    public boolean issueAndVerify() {
+        String identifier = identifiers[next++ % scale];
+        otpStore.save(identifier, CODE, TTL);
+        return otpService.verifyOtp(identifier, CODE);
+    }
+
+    @Benchmark
+    public boolean verifyWrongCode() {
+        return otpService.verifyOtp(identifiers[next++ % scale], "000000");
+    }
+}
@@ -0,0 +1,147 @@
+package com.practice.foodordering.benchmark;
+
+import com.practice.foodordering.FoodOrderingApplication;
+import com.practice.foodordering.dto.OrderDto;
+import com.practice.foodordering.model.Addon;
+import com.practice.foodordering.model.AppUser;
+import com.practice.foodordering.model.FoodItem;
+import com.practice.foodordering.model.Order;
+import com.practice.foodordering.model.OrderItem;
+import com.practice.foodordering.model.OrderItemAddon;
+import com.practice.foodordering.model.Variant;
+import com.practice.foodordering.model.search.FoodItemDocument;
+import com.practice.foodordering.service.OrderQueryService;
+import com.practice.foodordering.service.OrderService;
+import com.practice.foodordering.service.SearchService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-layer baselines against a {@link BenchmarkDataset} of {@code scale}
+ * orders (and as many food items) in H2:
+ * <ul>
+ * <li>{@code placeOrder}: pricing and persisting a two-line order with a
+ * variant and an addon per line, through {@code OrderService.placeOrder};</li>
+ * <li>{@code searchJpaFallback}: {@code SearchService.searchGlobal} with
+ * Elasticsearch and the local index off, so every search is the
+ * {@code LIKE} query;</li>
+ * <li>{@code orderHistory}, {@code orderHistoryJson} and
+ * {@code orderHistorySerialize}: the 50-order history of one user as read
+ * by {@code GET /api/orders/user/{userId}}, without and with Jackson
+ * serialization of the order, line and addon graph, and serialization
+ * alone.</li>
+ * </ul>
+ * Orders placed during a trial are deleted afterwards so every trial sees
+ * the same dataset. The first run at a scale generates its database under
+ * {@code target/jmh-data}; at 1M that takes a few minutes.
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Dbenchmark=ServiceLayerBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceLayerBenchmark {
+
+    private static final String[] KEYWORDS = {"biryani", "paneer tikka", "pa", "house 42", "smoked"};
+    private static final int SEARCH_LIMIT = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    public int scale;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbc;
+    private OrderService orderService;
+    private OrderQueryService orderQueryService;
+    private SearchService searchService;
+    private ObjectMapper objectMapper;
+    private BenchmarkDataset dataset;
+    private List<OrderDto> history;
+    private Timestamp trialStartedAt;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(FoodOrderingApplication.class,
+                "--spring.datasource.url=" + BenchmarkDataset.jdbcUrl(scale),
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--app.search.local-index.enabled=false",
+                "--app.otp.delivery.provider=fake");
+        jdbc = context.getBean(JdbcTemplate.class);
+        orderService = context.getBean(OrderService.class);
+        orderQueryService = context.getBean(OrderQueryService.class);
+        searchService = context.getBean(SearchService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        dataset = BenchmarkDataset.load(jdbc, scale);
+        history = orderQueryService.getUserOrderHistory(dataset.historyUserId());
+        trialStartedAt = Timestamp.from(Instant.now());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbc.update("DELETE FROM order_item_addons WHERE order_item_id IN (SELECT i.id FROM order_items i "
+                + "JOIN orders o ON o.id = i.order_id WHERE o.placed_at >= ?)", trialStartedAt);
+        jdbc.update("DELETE FROM order_items WHERE order_id IN (SELECT id FROM orders WHERE placed_at >= ?)",
+                trialStartedAt);
+        jdbc.update("DELETE FROM orders WHERE placed_at >= ?", trialStartedAt);
+        context.close();
+    }
+
+    @Benchmark
+    public Order placeOrder() {
+        int n = next++;
+        List<BenchmarkDataset.MenuEntry> menu = dataset.menus().get(n % dataset.menus().size());
+        List<OrderItem> lines = new ArrayList<>(2);
+        for (int i = 0; i < 2; i++) {
+            BenchmarkDataset.MenuEntry entry = menu.get((n + i) % menu.size());
+            List<OrderItemAddon> addons = new ArrayList<>(1);
+            addons.add(OrderItemAddon.builder().addon(Addon.builder().id(entry.addonId()).build()).build());
+            lines.add(OrderItem.builder()
+                    .foodItem(FoodItem.builder().id(entry.itemId()).build())
+                    .variant(Variant.builder().id(entry.variantId()).build())
+                    .quantity(1 + i)
+                    .addons(addons)
+                    .build());
+        }
+        UUID userId = dataset.userIds().get(n % dataset.userIds().size());
+        return orderService.placeOrder(Order.builder()
+                .user(AppUser.builder().id(userId).build())
+                .items(lines)
+                .build());
+    }
+
+    @Benchmark
+    public List<FoodItemDocument> searchJpaFallback() {
+        return searchService.searchGlobal(KEYWORDS[next++ % KEYWORDS.length], SEARCH_LIMIT);
+    }
+
+    @Benchmark
+    public List<OrderDto> orderHistory() {
+        return orderQueryService.getUserOrderHistory(dataset.historyUserId());
+    }
+
+    @Benchmark
+    public byte[] orderHistoryJson() {
+        return objectMapper.writeValueAsBytes(orderQueryService.getUserOrderHistory(dataset.historyUserId()));
+    }
+
+    @Benchmark
+    public byte[] orderHistorySerialize() {
+        return objectMapper.writeValueAsBytes(history);
+    }
+}
@@ -0,0 +1,361 @@
+package com.practice.foodordering.load;
+
+import com.practice.foodordering.config.seed.ScaleDataGenerator;
+import com.practice.foodordering.config.seed.ZipfDistribution;
+import com.practice.foodordering.model.OrderStatus;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Headless closed-loop load against a running app seeded by
+ * {@code ScaleDataGenerator} (the {@code load-test} profile). Each of
+ * {@code concurrency} workers repeats one customer visit, as a customer picked
+ * from the first {@code customers} seeded ones:
+ * <ol>
+ * <li>browse: the city list, the restaurants of a city and one restaurant's
+ * menu, cities and restaurants picked with Zipf skew;</li>
+ * <li>search for a dish;</li>
+ * <li>order one to three items of the menu;</li>
+ * <li>as the admin, move the order through PREPARING, OUT_FOR_DELIVERY and
+ * COMPLETED.</li>
+ * </ol>
+ * Requests made during {@code warmup} are not counted. At the end it prints
+ * throughput and latency percentiles per request type and the failed
+ * requests by status. A rejected token (401) is replaced by logging in again.
+ *
+ * <p>Options, all optional, as {@code --name=value}: {@code base-url}
+ * (http://localhost:8080), {@code concurrency} (32), {@code warmup} (10s),
+ * {@code duration} (60s), {@code customers} (200), {@code skew} (1.07),
+ * {@code otp-code} (the fake provider's 000000), {@code admin} and
+ * {@code admin-password} (DataSeeder's admin).
+ *
+ * <pre>mvn -Pload test-compile exec:exec -Dload.args="--concurrency=64 --duration=120s"</pre>
+ */
+public final class LoadDriver {
+
+    private static final String[] KEYWORDS = {"biryani", "paneer", "dosa", "pizza", "noodles", "burger", "pav bhaji",
+            "gulab jamun", "tikka", "fries", "special", "momos"};
+    private static final OrderStatus[] FULFILMENT = {OrderStatus.PREPARING, OrderStatus.OUT_FOR_DELIVERY,
+            OrderStatus.COMPLETED};
+
+    private final Options options;
+    private final HttpClient client;
+    private final ObjectMapper mapper = JsonMapper.builder().build();
+    private final Map<Integer, ZipfDistribution> popularity = new ConcurrentHashMap<>();
+    private Session admin;
+    private Session[] customers;
+
+    private LoadDriver(Options options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        new LoadDriver(options).run();
+    }
+
+    private void run() throws Exception {
+        System.out.printf("Logging in the admin and %d customers at %s%n", options.customers(), options.baseUrl());
+        admin = new Session(-1);
+        customers = new Session[options.customers()];
+        for (int i = 0; i < customers.length; i++) {
+            customers[i] = new Session(i);
+        }
+
+        System.out.printf("Running %d workers: %s warm-up, then %s measured%n", options.concurrency(),
+                options.warmup(), options.duration());
+        long started = System.nanoTime();
+        long countFrom = started + options.warmup().toNanos();
+        long stopAt = countFrom + options.duration().toNanos();
+        List<LoadReport.Recorder> recorders = new ArrayList<>(options.concurrency());
+        List<Thread> workers = new ArrayList<>(options.concurrency());
+        for (int i = 0; i < options.concurrency(); i++) {
+            LoadReport.Recorder recorder = new LoadReport.Recorder();
+            recorders.add(recorder);
+            Thread worker = new Thread(() -> work(recorder, countFrom, stopAt), "load-worker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        LoadReport.print(recorders, options.duration(), System.out);
+    }
+
+    private void work(LoadReport.Recorder recorder, long countFrom, long stopAt) {
+        Random random = ThreadLocalRandom.current();
+        boolean counting = false;
+        long now;
+        while ((now = System.nanoTime()) < stopAt) {
+            if (!counting && now >= countFrom) {
+                recorder.startCounting();
+                counting = true;
+            }
+            try {
+                visit(recorder, random);
+            } catch (RuntimeException e) {
+                // A malformed response; the request itself was already recorded
+                System.err.printf("%s: %s%n", Thread.currentThread().getName(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void visit(LoadReport.Recorder recorder, Random random) throws InterruptedException {
+        Session customer = customers[random.nextInt(customers.length)];
+        String token = customer.token();
+
+        // Browse
+        HttpResponse<byte[]> cities = call(recorder, "cities", request("/api/cities", token).GET(), customer, token);
+        if (cities == null) {
+            return;
+        }
+        JsonNode city = pick(mapper.readTree(cities.body()), random);
+        if (city == null) {
+            return;
+        }
+        HttpResponse<byte[]> restaurants = call(recorder, "restaurants",
+                request("/api/restaurants?cityId=" + city.get("id").asString(), token).GET(), customer, token);
+        if (restaurants == null) {
+            return;
+        }
+        JsonNode restaurant = pick(mapper.readTree(restaurants.body()), random);
+        if (restaurant == null) {
+            return;
+        }
+        HttpResponse<byte[]> menu = call(recorder, "menu",
+                request("/api/restaurants/" + restaurant.get("id").asString() + "/menu", token).GET(), customer,
+                token);
+        if (menu == null) {
+            return;
+        }
+        JsonNode items = mapper.readTree(menu.body()).get("items");
+
+        // Search
+        String keyword = KEYWORDS[random.nextInt(KEYWORDS.length)];
+        call(recorder, "search", request("/api/search?limit=20&q=" + encode(keyword), token).GET(), customer, token);
+
+        // Order
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        HttpResponse<byte[]> placed = call(recorder, "order", request("/api/orders", token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(cart(items, random))), customer, token);
+        if (placed == null) {
+            return;
+        }
+        String orderId = mapper.readTree(placed.body()).get("id").asString();
+
+        // Fulfilment
+        for (OrderStatus status : FULFILMENT) {
+            String adminToken = admin.token();
+            HttpResponse<byte[]> updated = call(recorder, "status",
+                    request("/api/orders/" + orderId + "/status?status=" + status, adminToken)
+                            .PUT(HttpRequest.BodyPublishers.noBody()), admin, adminToken);
+            if (updated == null) {
+                return;
+            }
+        }
+        recorder.visitCompleted();
+    }
+
+    /**
+     * Sends the request and records it; returns the response if it succeeded,
+     * otherwise {@code null}, logging {@code session} in again if its token
+     * was rejected.
+     */
+    private HttpResponse<byte[]> call(LoadReport.Recorder recorder, String operation, HttpRequest.Builder request,
+            Session session, String token) throws InterruptedException {
+        long started = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            recorder.record(operation, System.nanoTime() - started, 0);
+            return null;
+        }
+        recorder.record(operation, System.nanoTime() - started, response.statusCode());
+        if (response.statusCode() == 401) {
+            session.renew(token);
+        }
+        return response.statusCode() / 100 == 2 ? response : null;
+    }
+
+    private byte[] cart(JsonNode items, Random random) {
+        ZipfDistribution dishes = zipf(items.size());
+        int lines = 1 + random.nextInt(3);
+        List<Map<String, Object>> cart = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            JsonNode item = items.get(dishes.sample(random));
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("foodItem", Map.of("id", item.get("id").asString()));
+            line.put("quantity", random.nextInt(10) < 7 ? 1 : 2);
+            JsonNode variants = item.get("variants");
+            if (variants != null && !variants.isEmpty()) {
+                line.put("variant", Map.of("id", variants.get(random.nextInt(variants.size())).get("id").asString()));
+            }
+            JsonNode addons = item.get("addons");
+            if (addons != null && !addons.isEmpty() && random.nextBoolean()) {
+                JsonNode addon = addons.get(random.nextInt(addons.size()));
+                line.put("addons", List.of(Map.of("addon", Map.of("id", addon.get("id").asString()))));
+            }
+            cart.add(line);
+        }
+        return mapper.writeValueAsBytes(Map.of("items", cart));
+    }
+
+    /**
+     * An element of the array, earlier ones being more popular, or
+     * {@code null} if it is empty.
+     */
+    private JsonNode pick(JsonNode array, Random random) {
+        if (array == null || array.isEmpty()) {
+            return null;
+        }
+        return array.get(zipf(array.size()).sample(random));
+    }
+
+    private ZipfDistribution zipf(int size) {
+        return popularity.computeIfAbsent(size, n -> new ZipfDistribution(n, options.skew()));
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(options.baseUrl() + path))
+                .timeout(Duration.ofSeconds(30));
+        return token != null ? request.header("Authorization", "Bearer " + token) : request;
+    }
+
+    private String login(int customer) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response;
+        if (customer < 0) {
+            response = send(request("/api/auth/admin/login?username=" + encode(options.admin()) + "&passwordHash="
+                    + encode(options.adminPassword()), null).POST(HttpRequest.BodyPublishers.noBody()));
+        } else {
+            String phone = encode(ScaleDataGenerator.customerPhone(customer));
+            send(request("/api/auth/customer/get_otp?phoneOrEmail=" + phone, null)
+                    .POST(HttpRequest.BodyPublishers.noBody()));
+            response = send(request("/api/auth/customer/verify_otp?phoneOrEmail=" + phone + "&otp="
+                    + encode(options.otpCode()), null).POST(HttpRequest.BodyPublishers.noBody()));
+        }
+        return mapper.readTree(response.body()).get("accessToken").asString();
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpRequest built = request.build();
+        HttpResponse<byte[]> response = client.send(built, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(built.method() + " " + built.uri().getPath() + " failed with "
+                    + response.statusCode() + ": " + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return response;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The access token of the admin ({@code customer} -1) or of a seeded
+     * customer.
+     */
+    private final class Session {
+
+        private final int customer;
+        private volatile String token;
+
+        Session(int customer) throws IOException, InterruptedException {
+            this.customer = customer;
+            this.token = login(customer);
+        }
+
+        String token() {
+            return token;
+        }
+
+        /**
+         * Logs in again unless another worker already replaced the rejected
+         * token.
+         */
+        synchronized void renew(String rejected) throws InterruptedException {
+            if (!token.equals(rejected)) {
+                return;
+            }
+            try {
+                token = login(customer);
+            } catch (IOException | RuntimeException e) {
+                System.err.printf("Could not log in again: %s%n", e);
+            }
+        }
+    }
+
+    record Options(String baseUrl, int concurrency, Duration warmup, Duration duration, int customers,
+            double skew, String otpCode, String admin, String adminPassword) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                int equals = arg.indexOf('=');
+                if (!arg.startsWith("--") || equals < 0) {
+                    throw new IllegalArgumentException("Expected --name=value but got " + arg);
+                }
+                values.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+
+            Options options = new Options(
+                    stripSlash(values.getOrDefault("base-url", "http://localhost:8080")),
+                    Integer.parseInt(values.getOrDefault("concurrency", "32")),
+                    duration(values.getOrDefault("warmup", "10s")),
+                    duration(values.getOrDefault("duration", "60s")),
+                    Integer.parseInt(values.getOrDefault("customers", "200")),
+                    Double.parseDouble(values.getOrDefault("skew", "1.07")),
+                    values.getOrDefault("otp-code", "000000"),
+                    values.getOrDefault("admin", "admin@fooddash.com"),
+                    values.getOrDefault("admin-password", "admin123"));
+            values.keySet().removeAll(List.of("base-url", "concurrency", "warmup", "duration", "customers", "skew",
+                    "otp-code", "admin", "admin-password"));
+            if (!values.isEmpty()) {
+                throw new IllegalArgumentException("Unknown options " + values.keySet());
+            }
+            return options;
+        }
+
+        // 90s, 5m or a bare number of seconds
+        private static Duration duration(String value) {
+            if (value.endsWith("m")) {
+                return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+            }
+            return Duration.ofSeconds(Long.parseLong(value.endsWith("s") ? value.substring(0, value.length() - 1)
+                    : value));
+        }
+
+        private static String stripSlash(String url) {
+            return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        }
+    }
+}
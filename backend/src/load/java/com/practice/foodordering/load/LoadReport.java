@@ -0,0 +1,136 @@
+package com.practice.foodordering.load;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Request latencies and failures per operation, kept by each worker in its own
+ * {@link Recorder} and merged once the run is over, so recording never
+ * contends. Percentiles are exact: every sample is kept.
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private LoadReport() {
+    }
+
+    /**
+     * One worker's samples. Nothing is kept until {@link #startCounting()}, so
+     * warm-up traffic does not skew the results. Not thread-safe.
+     */
+    static final class Recorder {
+
+        private final Map<String, Samples> samples = new TreeMap<>();
+        private final Map<String, Integer> failures = new TreeMap<>();
+        private boolean counting;
+        private long visits;
+
+        void startCounting() {
+            counting = true;
+        }
+
+        /**
+         * Records one request; {@code status} 0 means no response (connection
+         * or I/O failure).
+         */
+        void record(String operation, long nanos, int status) {
+            if (!counting) {
+                return;
+            }
+            samples.computeIfAbsent(operation, o -> new Samples()).add(nanos);
+            if (status / 100 != 2) {
+                failures.merge(operation + " " + (status == 0 ? "io-error" : Integer.toString(status)), 1,
+                        Integer::sum);
+            }
+        }
+
+        void visitCompleted() {
+            if (counting) {
+                visits++;
+            }
+        }
+    }
+
+    static void print(List<Recorder> recorders, Duration measured, PrintStream out) {
+        Map<String, Samples> merged = new TreeMap<>();
+        Map<String, Integer> failures = new TreeMap<>();
+        long visits = 0;
+        for (Recorder recorder : recorders) {
+            recorder.samples.forEach((operation, samples) ->
+                    merged.computeIfAbsent(operation, o -> new Samples()).addAll(samples));
+            recorder.failures.forEach((key, count) -> failures.merge(key, count, Integer::sum));
+            visits += recorder.visits;
+        }
+
+        double seconds = measured.toMillis() / 1000.0;
+        out.printf("%nMeasured %.0f s with %d workers: %d complete visits (%.1f/s)%n%n", seconds, recorders.size(),
+                visits, visits / seconds);
+        out.printf("%-12s %10s %10s %9s %9s %9s %9s %9s%n", "operation", "requests", "req/s", "p50 ms", "p90 ms",
+                "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, Samples> entry : merged.entrySet()) {
+            long[] sorted = entry.getValue().sorted();
+            total += sorted.length;
+            out.printf("%-12s %10d %10.1f", entry.getKey(), sorted.length, sorted.length / seconds);
+            for (double percentile : PERCENTILES) {
+                out.printf(" %9.2f", millis(percentileOf(sorted, percentile)));
+            }
+            out.printf(" %9.2f%n", millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        }
+        out.printf("%-12s %10d %10.1f%n", "total", total, total / seconds);
+
+        if (failures.isEmpty()) {
+            out.printf("%nNo failed requests%n");
+        } else {
+            out.printf("%nFailed requests:%n");
+            failures.forEach((key, count) -> out.printf("  %-24s %d%n", key, count));
+        }
+    }
+
+    private static long percentileOf(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * A growable array of durations in nanoseconds.
+     */
+    private static final class Samples {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        void addAll(Samples other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        long[] sorted() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
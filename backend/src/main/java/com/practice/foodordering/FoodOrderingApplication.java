@@ -2,14 +2,9 @@ package com.practice.foodordering;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
-import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.annotation.EnableAsync;
 
-import org.springframework.web.client.RestTemplate;
-
 @SpringBootApplication
 @EnableCaching
 @EnableAsync
@@ -19,14 +14,4 @@ public class FoodOrderingApplication {
 		SpringApplication.run(FoodOrderingApplication.class, args);
 	}
 
-	@Bean
-	public CacheManager cacheManager() {
-		return new ConcurrentMapCacheManager();
-	}
-
-	@Bean
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
-	}
-
 }
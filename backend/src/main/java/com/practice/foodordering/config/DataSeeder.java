@@ -3,6 +3,7 @@ package com.practice.foodordering.config;
 import com.practice.foodordering.model.*;
 import com.practice.foodordering.repository.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +14,7 @@ import java.util.Optional;
 
 @Configuration
 @RequiredArgsConstructor
+@Slf4j
 public class DataSeeder {
 
         private final UserRepository userRepository;
@@ -32,7 +34,7 @@ public class DataSeeder {
                                                 .role(Role.ADMIN)
                                                 .passwordHash("admin123")
                                                 .build());
-                                System.out.println("Admin seeded.");
+                                log.info("Admin seeded.");
                         }
 
                         // 2. Seed Cities
@@ -63,7 +65,7 @@ public class DataSeeder {
                         seedRestaurant(chennai, "Murugan Idli Shop", "T. Nagar", 4.6f, 25, 400);
                         seedRestaurant(chennai, "Anjappar Chettinad Restaurant", "Adyar", 4.4f, 35, 800);
 
-                        System.out.println("Enhanced data seeding completed successfully!");
+                        log.info("Enhanced data seeding completed successfully!");
                 };
         }
 
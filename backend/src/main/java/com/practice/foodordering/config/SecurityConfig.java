@@ -1,12 +1,22 @@
 package com.practice.foodordering.config;
 
+import com.practice.foodordering.config.auth.TokenAuthenticationFilter;
+import com.practice.foodordering.service.auth.TokenService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
@@ -20,22 +30,35 @@ public class SecurityConfig {
         private String allowedOrigin;
 
         @Bean
-        public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        public SecurityFilterChain filterChain(HttpSecurity http, TokenService tokenService) throws Exception {
                 http
                                 .csrf(AbstractHttpConfigurer::disable)
                                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                                // Every request authenticates with its own bearer token; no sessions
+                                .sessionManagement(session -> session
+                                                .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                                .addFilterBefore(new TokenAuthenticationFilter(tokenService),
+                                                UsernamePasswordAuthenticationFilter.class)
+                                .exceptionHandling(exceptions -> exceptions
+                                                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                                 .authorizeHttpRequests(auth -> auth
                                                 .requestMatchers("/api/auth/**").permitAll()
+                                                // Probes and scrapes; prod serves these on the internal management port
+                                                .requestMatchers("/actuator/health/**", "/actuator/prometheus")
+                                                .permitAll()
+                                                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                                                // A user's own orders and notifications
+                                                .requestMatchers(org.springframework.http.HttpMethod.GET,
+                                                                "/api/orders/user/{userId}",
+                                                                "/api/notifications/subscribe/{userId}")
+                                                .access(selfOrAdmin())
+                                                .requestMatchers(org.springframework.http.HttpMethod.GET,
+                                                                "/api/orders", "/api/orders/export")
+                                                .hasRole("ADMIN")
                                                 .requestMatchers(org.springframework.http.HttpMethod.GET,
                                                                 "/api/cities/**",
                                                                 "/api/restaurants/**", "/api/items/**")
                                                 .permitAll()
-                                                .requestMatchers(org.springframework.http.HttpMethod.POST,
-                                                                "/api/orders/**")
-                                                .permitAll()
-                                                .requestMatchers(org.springframework.http.HttpMethod.GET,
-                                                                "/api/orders/user/**")
-                                                .permitAll()
                                                 // Admin restricted routes
                                                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                                                 .requestMatchers(org.springframework.http.HttpMethod.POST,
@@ -51,10 +74,25 @@ public class SecurityConfig {
                                                                 "/api/cities/**",
                                                                 "/api/restaurants/**", "/api/items/**")
                                                 .hasRole("ADMIN")
+                                                // Placing and cancelling orders check the caller against the order itself
                                                 .anyRequest().authenticated());
                 return http.build();
         }
 
+        /**
+         * Allows the user named by the {@code userId} path variable, and admins.
+         */
+        private static AuthorizationManager<RequestAuthorizationContext> selfOrAdmin() {
+                return (authentication, context) -> {
+                        Authentication user = authentication.get();
+                        boolean allowed = user != null && user.isAuthenticated()
+                                        && (user.getName().equals(context.getVariables().get("userId"))
+                                                        || user.getAuthorities().stream().anyMatch(
+                                                                        a -> "ROLE_ADMIN".equals(a.getAuthority())));
+                        return new AuthorizationDecision(allowed);
+                };
+        }
+
         @Bean
         public UrlBasedCorsConfigurationSource corsConfigurationSource() {
                 UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
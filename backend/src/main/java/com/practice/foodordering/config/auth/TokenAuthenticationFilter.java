@@ -0,0 +1,97 @@
+package com.practice.foodordering.config.auth;
+
+import com.practice.foodordering.model.Role;
+import com.practice.foodordering.service.auth.TokenClaims;
+import com.practice.foodordering.service.auth.TokenService;
+import com.practice.foodordering.service.auth.TokenType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Authenticates requests carrying {@code Authorization: Bearer <access token>}
+ * from the token alone. The principal's name is the user id and its single
+ * authority is {@code ROLE_<role>}. Requests without a token pass through
+ * unauthenticated; a token that fails verification is answered with 401 so
+ * the client knows to refresh it.
+ *
+ * <p>{@code EventSource} cannot set headers, so SSE requests
+ * ({@code Accept: text/event-stream}) may pass the token as the
+ * {@code access_token} query parameter instead.
+ *
+ * <p>{@code /api/auth/**} is skipped so that a client holding an expired
+ * access token can still log in, refresh or log out.
+ *
+ * <p>Not a bean on purpose: as one it would also be registered as a servlet
+ * filter and run outside the security chain.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+    private static final String QUERY_PARAMETER = "access_token";
+
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
+    private final TokenService tokenService;
+
+    public TokenAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/api/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = token(request);
+        if (token != null) {
+            Optional<TokenClaims> claims = tokenService.verify(token, TokenType.ACCESS);
+            if (claims.isEmpty()) {
+                response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired access token");
+                return;
+            }
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                    claims.get().userId().toString(), null, AUTHORITIES.get(claims.get().role())));
+            SecurityContextHolder.setContext(context);
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static String token(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return header.substring(BEARER.length()).trim();
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE)) {
+            return request.getParameter(QUERY_PARAMETER);
+        }
+        return null;
+    }
+}
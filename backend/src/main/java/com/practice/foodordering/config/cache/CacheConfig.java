@@ -0,0 +1,81 @@
+package com.practice.foodordering.config.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+        @Bean
+        public TwoTierCacheManager cacheManager(CacheProperties properties,
+                        ObjectProvider<RedisConnectionFactory> connectionFactory,
+                        ObjectProvider<StringRedisTemplate> redisTemplate) {
+                RedisCacheManager remoteManager = properties.getRemote().isEnabled()
+                                ? remoteCacheManager(properties, connectionFactory.getObject())
+                                : null;
+
+                Consumer<String> publisher = null;
+                if (properties.getInvalidation().isEnabled()) {
+                        StringRedisTemplate template = redisTemplate.getObject();
+                        String channel = properties.getInvalidation().getChannel();
+                        publisher = message -> template.convertAndSend(channel, message);
+                }
+                return new TwoTierCacheManager(properties, remoteManager, publisher);
+        }
+
+        @Bean
+        public TwoTierCacheMetrics cacheMetrics(TwoTierCacheManager cacheManager, CacheProperties properties) {
+                return new TwoTierCacheMetrics(cacheManager, properties.getSpecs().keySet());
+        }
+
+        @Bean
+        @ConditionalOnProperty(name = "app.cache.invalidation.enabled", havingValue = "true")
+        public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                        TwoTierCacheManager cacheManager, CacheProperties properties) {
+                RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+                container.setConnectionFactory(connectionFactory);
+                container.addMessageListener(
+                                (message, pattern) -> cacheManager.onInvalidation(
+                                                new String(message.getBody(), StandardCharsets.UTF_8)),
+                                new ChannelTopic(properties.getInvalidation().getChannel()));
+                return container;
+        }
+
+        private RedisCacheManager remoteCacheManager(CacheProperties properties,
+                        RedisConnectionFactory connectionFactory) {
+                // Values use JDK serialization, so cached types must be Serializable
+                RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
+                                .prefixCacheNameWith(properties.getRemote().getKeyPrefix())
+                                .entryTtl(remoteTtl(properties.getDefaults()));
+
+                Map<String, RedisCacheConfiguration> perName = new HashMap<>();
+                properties.getSpecs().forEach((name, spec) -> perName.put(name, defaults.entryTtl(remoteTtl(spec))));
+
+                RedisCacheManager manager = RedisCacheManager.builder(connectionFactory)
+                                .cacheDefaults(defaults)
+                                .withInitialCacheConfigurations(perName)
+                                .build();
+                manager.afterPropertiesSet();
+                return manager;
+        }
+
+        private static Duration remoteTtl(CacheProperties.Spec spec) {
+                return spec.getRemoteTtl() != null ? spec.getRemoteTtl() : spec.getTtl();
+        }
+}
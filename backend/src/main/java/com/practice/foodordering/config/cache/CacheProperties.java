@@ -0,0 +1,52 @@
+package com.practice.foodordering.config.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code app.cache.*}: size and TTL per cache name, with {@code defaults} for
+ * names that have no entry under {@code specs}, plus the optional Redis tier
+ * and cross-node invalidation.
+ */
+@ConfigurationProperties(prefix = "app.cache")
+@Getter
+@Setter
+public class CacheProperties {
+
+    private Spec defaults = new Spec();
+    private Map<String, Spec> specs = new HashMap<>();
+    private Remote remote = new Remote();
+    private Invalidation invalidation = new Invalidation();
+
+    public Spec specFor(String cacheName) {
+        return specs.getOrDefault(cacheName, defaults);
+    }
+
+    @Getter
+    @Setter
+    public static class Spec {
+        private long maximumSize = 1000;
+        private Duration ttl = Duration.ofMinutes(10);
+        // TTL in the Redis tier; falls back to ttl
+        private Duration remoteTtl;
+    }
+
+    @Getter
+    @Setter
+    public static class Remote {
+        private boolean enabled = false;
+        private String keyPrefix = "cache:";
+    }
+
+    @Getter
+    @Setter
+    public static class Invalidation {
+        private boolean enabled = false;
+        private String channel = "cache-invalidation";
+    }
+}
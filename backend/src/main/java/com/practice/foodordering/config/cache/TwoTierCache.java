@@ -0,0 +1,183 @@
+package com.practice.foodordering.config.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A bounded Caffeine cache on this node in front of an optional shared Redis
+ * cache.
+ *
+ * <p>Reads try the local tier, then the remote tier (copying hits into the
+ * local tier), then the loader; concurrent loads of one key are collapsed into
+ * a single call. Writes and evictions go to both tiers and are announced
+ * through {@code invalidations} so that other nodes drop their local copy.
+ * Keys are normalised to strings so they can travel in those announcements.
+ * Remote failures are logged and treated as misses; the local tier keeps
+ * serving.
+ */
+@Slf4j
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    public record Stats(String name, long size, double hitRatio, long hits, long misses, long evictions,
+            long remoteHits, long remoteMisses, long remoteErrors) {
+    }
+
+    static final String ALL_KEYS = "*";
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final Consumer<String> invalidations;
+
+    private final AtomicLong remoteHits = new AtomicLong();
+    private final AtomicLong remoteMisses = new AtomicLong();
+    private final AtomicLong remoteErrors = new AtomicLong();
+
+    TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> local, Cache remote,
+            Consumer<String> invalidations) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidations = invalidations;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String k = key(key);
+        Object value = local.getIfPresent(k);
+        if (value == null) {
+            value = remoteLookup(k);
+            if (value != null) {
+                local.put(k, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object stored = local.get(key(key), k -> {
+            Object remoteValue = remoteLookup(k);
+            if (remoteValue != null) {
+                return remoteValue;
+            }
+            try {
+                Object value = toStoreValue(valueLoader.call());
+                remotePut(k, value);
+                return value;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        });
+        return (T) fromStoreValue(stored);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String k = key(key);
+        Object stored = toStoreValue(value);
+        local.put(k, stored);
+        remotePut(k, stored);
+        invalidations.accept(k);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String k = key(key);
+        local.invalidate(k);
+        if (remote != null) {
+            try {
+                remote.evict(k);
+            } catch (RuntimeException e) {
+                remoteFailure("evict", e);
+            }
+        }
+        invalidations.accept(k);
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        if (remote != null) {
+            try {
+                remote.clear();
+            } catch (RuntimeException e) {
+                remoteFailure("clear", e);
+            }
+        }
+        invalidations.accept(ALL_KEYS);
+    }
+
+    /**
+     * Drops the local copy only; called when another node changed the entry.
+     */
+    void invalidateLocal(String key) {
+        if (ALL_KEYS.equals(key)) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    Stats stats() {
+        CacheStats stats = local.stats();
+        return new Stats(name, local.estimatedSize(), stats.hitRate(), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), remoteHits.get(), remoteMisses.get(), remoteErrors.get());
+    }
+
+    private Object remoteLookup(String key) {
+        if (remote == null) {
+            return null;
+        }
+        try {
+            ValueWrapper wrapper = remote.get(key);
+            if (wrapper == null) {
+                remoteMisses.incrementAndGet();
+                return null;
+            }
+            remoteHits.incrementAndGet();
+            return toStoreValue(wrapper.get());
+        } catch (RuntimeException e) {
+            remoteFailure("get", e);
+            return null;
+        }
+    }
+
+    private void remotePut(String key, Object stored) {
+        if (remote == null) {
+            return;
+        }
+        try {
+            remote.put(key, fromStoreValue(stored));
+        } catch (RuntimeException e) {
+            remoteFailure("put", e);
+        }
+    }
+
+    private void remoteFailure(String operation, RuntimeException e) {
+        remoteErrors.incrementAndGet();
+        log.warn("Remote cache {} on '{}' failed: {}", operation, name, e.getMessage());
+    }
+
+    private static String key(Object key) {
+        return String.valueOf(key);
+    }
+}
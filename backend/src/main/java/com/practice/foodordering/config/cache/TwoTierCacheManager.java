@@ -0,0 +1,97 @@
+package com.practice.foodordering.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Creates a {@link TwoTierCache} per cache name from {@link CacheProperties}.
+ *
+ * <p>Invalidations are published as {@code <node-id>|<cache>|<key>} (or
+ * {@code *} for a clear) on the configured channel; messages from this node
+ * are ignored on receipt.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CacheProperties properties;
+    private final RedisCacheManager remoteManager;
+    private final Consumer<String> publisher;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param remoteManager source of the Redis tier per name, or {@code null} for local only
+     * @param publisher     sends an invalidation message to peers, or {@code null} on a single node
+     */
+    public TwoTierCacheManager(CacheProperties properties, RedisCacheManager remoteManager,
+            Consumer<String> publisher) {
+        this.properties = properties;
+        this.remoteManager = remoteManager;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::create);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return List.copyOf(caches.keySet());
+    }
+
+    public List<TwoTierCache.Stats> stats() {
+        return caches.values().stream()
+                .map(TwoTierCache::stats)
+                .sorted(Comparator.comparing(TwoTierCache.Stats::name))
+                .toList();
+    }
+
+    /**
+     * Applies an invalidation message received from the channel.
+     */
+    public void onInvalidation(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length != 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.invalidateLocal(parts[2]);
+        }
+    }
+
+    private TwoTierCache create(String name) {
+        CacheProperties.Spec spec = properties.specFor(name);
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getTtl())
+                .recordStats()
+                .build();
+        Cache remote = remoteManager != null ? remoteManager.getCache(name) : null;
+        return new TwoTierCache(name, local, remote, key -> publish(name, key));
+    }
+
+    private void publish(String cacheName, String key) {
+        if (publisher == null) {
+            return;
+        }
+        try {
+            publisher.accept(nodeId + "|" + cacheName + "|" + key);
+        } catch (RuntimeException e) {
+            // Peers keep their copy until its TTL runs out
+            log.warn("Publishing invalidation of {}/{} failed: {}", cacheName, key, e.getMessage());
+        }
+    }
+}
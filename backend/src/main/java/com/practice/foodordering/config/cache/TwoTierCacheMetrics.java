@@ -0,0 +1,54 @@
+package com.practice.foodordering.config.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Publishes each configured cache to Micrometer: the local tier through
+ * {@link CaffeineCacheMetrics} ({@code cache.gets}, {@code cache.evictions},
+ * {@code cache.size}, ...), plus its hit ratio and the remote tier's hits,
+ * misses and errors. Caches are created on first use, so the configured ones
+ * are created here to have their meters from the start.
+ */
+public class TwoTierCacheMetrics implements MeterBinder {
+
+    private final TwoTierCacheManager cacheManager;
+    private final Collection<String> cacheNames;
+
+    public TwoTierCacheMetrics(TwoTierCacheManager cacheManager, Collection<String> cacheNames) {
+        this.cacheManager = cacheManager;
+        this.cacheNames = List.copyOf(cacheNames);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void bindTo(MeterRegistry registry) {
+        for (String name : cacheNames) {
+            TwoTierCache cache = (TwoTierCache) cacheManager.getCache(name);
+            CaffeineCacheMetrics.monitor(registry,
+                    (com.github.benmanes.caffeine.cache.Cache<String, Object>) cache.getNativeCache(), name);
+
+            Tags tags = Tags.of("cache", name);
+            Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRatio())
+                    .tags(tags)
+                    .description("Share of local-tier lookups that were hits")
+                    .register(registry);
+            FunctionCounter.builder("cache.remote.gets", cache, c -> c.stats().remoteHits())
+                    .tags(tags).tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.remote.gets", cache, c -> c.stats().remoteMisses())
+                    .tags(tags).tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.remote.errors", cache, c -> c.stats().remoteErrors())
+                    .tags(tags)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.practice.foodordering.config.metrics;
+
+import com.practice.foodordering.config.ratelimit.RateLimitFilter;
+import com.practice.foodordering.config.threads.ExecutionThreads;
+import com.practice.foodordering.service.auth.TokenService;
+import com.practice.foodordering.service.board.OrderBoardService;
+import com.practice.foodordering.service.idempotency.IdempotencyService;
+import com.practice.foodordering.service.notification.NotificationHub;
+import com.practice.foodordering.service.otp.OtpDeliveryDispatcher;
+import com.practice.foodordering.service.otp.OtpStore;
+import com.practice.foodordering.service.search.SearchIndexingPipeline;
+import com.practice.foodordering.service.writebehind.OrderWriteBehind;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the counters behind the {@code /api/admin/.../stats} endpoints as
+ * Micrometer meters, read from each component's {@code stats()} when the
+ * registry is scraped. Latencies are timed where they happen (order placement,
+ * status transitions, search, OTP providers); caches are bound by
+ * {@link com.practice.foodordering.config.cache.TwoTierCacheMetrics}.
+ */
+@Configuration
+public class MetricsConfig {
+
+        @Bean
+        public MeterBinder notificationMetrics(NotificationHub hub) {
+                return registry -> {
+                        Gauge.builder("sse.connections", hub, h -> h.stats().connections())
+                                        .description("Open SSE emitters on this node")
+                                        .register(registry);
+                        Gauge.builder("sse.users", hub, h -> h.stats().users()).register(registry);
+                        Gauge.builder("sse.queued.sends", hub, h -> h.stats().queuedSends()).register(registry);
+                        FunctionCounter.builder("sse.delivered", hub, h -> h.stats().delivered()).register(registry);
+                        FunctionCounter.builder("sse.dropped", hub, h -> h.stats().dropped()).register(registry);
+                        FunctionCounter.builder("sse.reaped", hub, h -> h.stats().reaped()).register(registry);
+                };
+        }
+
+        @Bean
+        public MeterBinder boardMetrics(OrderBoardService board) {
+                return registry -> {
+                        FunctionCounter.builder("board.changes", board, b -> b.stats().changes()).register(registry);
+                        FunctionCounter.builder("board.coalesced", board, b -> b.stats().coalesced())
+                                        .register(registry);
+                        FunctionCounter.builder("board.flushes", board, b -> b.stats().flushes()).register(registry);
+                };
+        }
+
+        @Bean
+        public MeterBinder otpDeliveryMetrics(OtpDeliveryDispatcher dispatcher) {
+                return registry -> {
+                        Gauge.builder("otp.delivery.queue.depth", dispatcher, d -> d.stats().queueDepth())
+                                        .register(registry);
+                        FunctionCounter.builder("otp.delivery.rejected", dispatcher, d -> d.stats().rejected())
+                                        .register(registry);
+                };
+        }
+
+        @Bean
+        public MeterBinder otpStoreMetrics(OtpStore store) {
+                return registry -> {
+                        // A store that cannot count its codes cheaply reports -1, which is left out
+                        Gauge.builder("otp.store.live", store, s -> {
+                                long live = s.stats().liveEntries();
+                                return live < 0 ? Double.NaN : live;
+                        }).description("OTP codes currently stored").register(registry);
+                        FunctionCounter.builder("otp.store.removed", store, s -> s.stats().expired())
+                                        .tag("reason", "expired").register(registry);
+                        FunctionCounter.builder("otp.store.removed", store, s -> s.stats().evicted())
+                                        .tag("reason", "evicted").register(registry);
+                };
+        }
+
+        @Bean
+        public MeterBinder searchIndexingMetrics(SearchIndexingPipeline pipeline) {
+                return registry -> {
+                        Gauge.builder("search.indexing.queue.depth", pipeline, p -> p.stats().queueDepth())
+                                        .register(registry);
+                        Gauge.builder("search.indexing.dead.letters", pipeline, p -> p.stats().deadLetters())
+                                        .register(registry);
+                        FunctionCounter.builder("search.indexing.failed.batches", pipeline,
+                                        p -> p.stats().failedBatches()).register(registry);
+                        Gauge.builder("search.indexing.oldest.pending", pipeline, p -> p.stats().oldestPendingMillis())
+                                        .description("Age of the oldest queued index operation")
+                                        .baseUnit("milliseconds").register(registry);
+                        Gauge.builder("search.indexing.lag", pipeline, p -> p.stats().lastBatchLagMillis())
+                                        .description("Enqueue-to-write time of the oldest operation in the last batch")
+                                        .baseUnit("milliseconds").register(registry);
+                };
+        }
+
+        @Bean
+        public MeterBinder idempotencyMetrics(IdempotencyService idempotency) {
+                return registry -> {
+                        FunctionCounter.builder("idempotency.requests", idempotency, i -> i.stats().executed())
+                                        .tag("result", "executed").register(registry);
+                        FunctionCounter.builder("idempotency.requests", idempotency, i -> i.stats().replayed())
+                                        .tag("result", "replayed").register(registry);
+                        FunctionCounter.builder("idempotency.requests", idempotency, i -> i.stats().awaited())
+                                        .tag("result", "awaited").register(registry);
+                        FunctionCounter.builder("idempotency.requests", idempotency, i -> i.stats().mismatched())
+                                        .tag("result", "mismatched").register(registry);
+                        FunctionCounter.builder("idempotency.requests", idempotency, i -> i.stats().timedOut())
+                                        .tag("result", "timed-out").register(registry);
+                };
+        }
+
+        @Bean
+        public MeterBinder tokenMetrics(TokenService tokens) {
+                return registry -> {
+                        FunctionCounter.builder("auth.tokens.issued", tokens, t -> t.stats().issued())
+                                        .register(registry);
+                        FunctionCounter.builder("auth.tokens.rejected", tokens, t -> t.stats().rejected())
+                                        .register(registry);
+                };
+        }
+
+        @Bean
+        public MeterBinder threadMetrics(ExecutionThreads threads) {
+                return registry -> FunctionCounter.builder("threads.virtual.pinned", threads,
+                                t -> t.stats().pinnedEvents()).register(registry);
+        }
+
+        @Bean
+        public MeterBinder writeBehindMetrics(ObjectProvider<OrderWriteBehind> writeBehind) {
+                return registry -> writeBehind.ifAvailable(w -> {
+                        Gauge.builder("orders.write.behind.pending", w, s -> s.stats().pending()).register(registry);
+                        Gauge.builder("orders.write.behind.lag", w, s -> s.stats().lagMillis())
+                                        .baseUnit("milliseconds").register(registry);
+                        FunctionCounter.builder("orders.write.behind.dead.lettered", w,
+                                        s -> s.stats().deadLettered()).register(registry);
+                });
+        }
+
+        @Bean
+        public MeterBinder rateLimitMetrics(ObjectProvider<RateLimitFilter> rateLimitFilter) {
+                return registry -> rateLimitFilter.ifAvailable(f -> {
+                        FunctionCounter.builder("rate.limit.requests", f, s -> s.stats().allowed())
+                                        .tag("result", "allowed").register(registry);
+                        FunctionCounter.builder("rate.limit.requests", f, s -> s.stats().rejected())
+                                        .tag("result", "rejected").register(registry);
+                });
+        }
+}
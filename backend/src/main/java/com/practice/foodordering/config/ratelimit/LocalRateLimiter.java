@@ -0,0 +1,60 @@
+package com.practice.foodordering.config.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Buckets on this node. Each key holds a single {@link AtomicLong} updated by
+ * compare-and-set, so concurrent requests never block each other. Keys idle
+ * for longer than {@code idleAfter} have a full bucket anyway and are dropped;
+ * at most {@code maxKeys} are tracked.
+ */
+class LocalRateLimiter implements RateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoTime;
+    private final long origin;
+
+    LocalRateLimiter(long maxKeys, Duration idleAfter) {
+        this(maxKeys, idleAfter, System::nanoTime);
+    }
+
+    LocalRateLimiter(long maxKeys, Duration idleAfter, LongSupplier nanoTime) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleAfter)
+                .build();
+        this.nanoTime = nanoTime;
+        // nanoTime has an arbitrary origin; measure from here so a fresh bucket (0) starts full
+        this.origin = nanoTime.getAsLong();
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimitProperties.Limit limit) {
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong());
+        long interval = limit.intervalNanos();
+        long burst = interval * limit.getCapacity();
+        while (true) {
+            long now = nanoTime.getAsLong() - origin;
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long excess = next - now - burst;
+            if (excess > 0) {
+                return Math.max(TimeUnit.NANOSECONDS.toMillis(excess), 1);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public long trackedKeys() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,46 @@
+package com.practice.foodordering.config.ratelimit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+        // Spring Security's filter chain is registered at -100
+        private static final int ORDER = -110;
+
+        @Bean
+        public RateLimitFilter rateLimitFilter(RateLimitProperties properties,
+                        ObjectProvider<StringRedisTemplate> redisTemplate) {
+                // An idle key is as good as a full bucket once the longest period has passed
+                Duration idleAfter = properties.getRules().values().stream()
+                                .flatMap(rule -> Stream.of(rule.getPerIp(), rule.getPerIdentifier()))
+                                .filter(Objects::nonNull)
+                                .map(RateLimitProperties.Limit::getPeriod)
+                                .max(Duration::compareTo)
+                                .orElse(Duration.ofMinutes(10));
+                LocalRateLimiter local = new LocalRateLimiter(properties.getMaxKeys(), idleAfter);
+                RateLimiter limiter = "redis".equals(properties.getStore())
+                                ? new RedisRateLimiter(redisTemplate.getObject(), properties.getKeyPrefix(), local)
+                                : local;
+                return new RateLimitFilter(limiter, properties.getRules());
+        }
+
+        @Bean
+        public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+                FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+                registration.setOrder(ORDER);
+                return registration;
+        }
+}
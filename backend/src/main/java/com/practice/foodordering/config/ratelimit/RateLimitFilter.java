@@ -0,0 +1,114 @@
+package com.practice.foodordering.config.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies {@code app.rate-limit.rules} ahead of Spring Security, so rejected
+ * requests cost neither authentication nor a database or provider call.
+ *
+ * <p>A request matching a rule takes a token from the bucket of its client IP
+ * and, if the rule names an {@code identifier-param} and the request carries
+ * it, from the bucket of that identifier (case-insensitive), so one address
+ * cannot spray many phone numbers and many addresses cannot hammer one. When
+ * either bucket is empty the request is answered with 429 and
+ * {@code Retry-After}.
+ *
+ * <p>The client IP is {@link HttpServletRequest#getRemoteAddr()}; behind a
+ * proxy, {@code server.forward-headers-strategy} must be set for it to be the
+ * caller's address rather than the proxy's.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public record Stats(long allowed, long rejected, Map<String, Long> rejectedByRule, long trackedKeys,
+            long remoteErrors) {
+    }
+
+    private final RateLimiter limiter;
+    private final Map<String, RateLimitProperties.Rule> rules;
+    private final LongAdder allowed = new LongAdder();
+    private final Map<String, LongAdder> rejected = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(RateLimiter limiter, Map<String, RateLimitProperties.Rule> rules) {
+        this.limiter = limiter;
+        this.rules = rules;
+        rules.keySet().forEach(name -> rejected.put(name, new LongAdder()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, RateLimitProperties.Rule> entry : rules.entrySet()) {
+            RateLimitProperties.Rule rule = entry.getValue();
+            if (!rule.getMethod().equalsIgnoreCase(request.getMethod()) || !rule.getPath().equals(path)) {
+                continue;
+            }
+            long wait = check(entry.getKey(), rule, request);
+            if (wait > 0) {
+                rejected.get(entry.getKey()).increment();
+                reject(response, wait);
+                return;
+            }
+        }
+        allowed.increment();
+        chain.doFilter(request, response);
+    }
+
+    public Stats stats() {
+        Map<String, Long> byRule = new ConcurrentHashMap<>();
+        long total = 0;
+        for (Map.Entry<String, LongAdder> entry : rejected.entrySet()) {
+            long count = entry.getValue().sum();
+            byRule.put(entry.getKey(), count);
+            total += count;
+        }
+        return new Stats(allowed.sum(), total, byRule, limiter.trackedKeys(), limiter.remoteErrors());
+    }
+
+    /**
+     * Returns 0 if the request may proceed, otherwise the milliseconds to wait.
+     * The IP bucket is checked first and a rejection there returns at once, so
+     * a throttled client cannot keep draining someone else's identifier bucket.
+     */
+    private long check(String name, RateLimitProperties.Rule rule, HttpServletRequest request) {
+        if (rule.getPerIp() != null) {
+            long wait = limiter.tryAcquire(name + ":ip:" + request.getRemoteAddr(), rule.getPerIp());
+            if (wait > 0) {
+                return wait;
+            }
+        }
+        if (rule.getPerIdentifier() != null && rule.getIdentifierParam() != null) {
+            String identifier = request.getParameter(rule.getIdentifierParam());
+            if (identifier != null && !identifier.isBlank()) {
+                return limiter.tryAcquire(name + ":id:" + identifier.trim().toLowerCase(Locale.ROOT),
+                        rule.getPerIdentifier());
+            }
+        }
+        return 0;
+    }
+
+    private static void reject(HttpServletResponse response, long waitMillis) throws IOException {
+        // Written directly: sendError would re-dispatch to /error through the security chain
+        long seconds = Math.max(TimeUnit.MILLISECONDS.toSeconds(waitMillis + 999), 1);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(("{\"status\":429,\"error\":\"Too Many Requests\",\"message\":"
+                + "\"Too many requests, try again in " + seconds + " s\"}").getBytes(StandardCharsets.UTF_8));
+    }
+}
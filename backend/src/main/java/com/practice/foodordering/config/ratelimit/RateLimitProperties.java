@@ -0,0 +1,56 @@
+package com.practice.foodordering.config.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code app.rate-limit.*}: the endpoints to limit under {@code rules}, where
+ * buckets are kept ({@code store}: {@code memory} or {@code redis}), and how
+ * many keys a node tracks.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private String store = "memory";
+    private long maxKeys = 100_000;
+    private String keyPrefix = "rate-limit:";
+    private Map<String, Rule> rules = new LinkedHashMap<>();
+
+    /**
+     * Requests with this method and exact path draw one token from the
+     * caller's IP bucket and, when {@code identifier-param} is present in the
+     * request, from that identifier's bucket.
+     */
+    @Getter
+    @Setter
+    public static class Rule {
+        private String method = "POST";
+        private String path;
+        private String identifierParam;
+        private Limit perIp;
+        private Limit perIdentifier;
+    }
+
+    /**
+     * A bucket of {@code capacity} tokens that refills completely over
+     * {@code period}, one token at a time.
+     */
+    @Getter
+    @Setter
+    public static class Limit {
+        private int capacity = 10;
+        private Duration period = Duration.ofMinutes(1);
+
+        long intervalNanos() {
+            return Math.max(period.toNanos() / capacity, 1);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.practice.foodordering.config.ratelimit;
+
+/**
+ * Token buckets by key, in the GCRA form: each key stores only the time at
+ * which its bucket will be full again, and a request is allowed if taking one
+ * token would not push that time more than a full period ahead. Selected with
+ * {@code app.rate-limit.store}.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes a token from the bucket of {@code key}. Returns 0 if one was
+     * available, otherwise the milliseconds until one will be.
+     */
+    long tryAcquire(String key, RateLimitProperties.Limit limit);
+
+    long trackedKeys();
+
+    /**
+     * Failed calls to a shared store, if there is one.
+     */
+    default long remoteErrors() {
+        return 0;
+    }
+}
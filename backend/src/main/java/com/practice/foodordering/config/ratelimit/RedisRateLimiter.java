@@ -0,0 +1,70 @@
+package com.practice.foodordering.config.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buckets shared by all replicas. Each key is one Redis string holding the
+ * time (Redis server clock, ms) at which the bucket is full again, updated by
+ * a Lua script in a single round trip and expiring once the bucket is full.
+ * If Redis cannot be reached the request is judged by this node's own
+ * buckets instead, so limits keep working per node.
+ */
+@Slf4j
+class RedisRateLimiter implements RateLimiter {
+
+    private static final RedisScript<Long> ACQUIRE = RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local interval = tonumber(ARGV[1])
+            local burst = tonumber(ARGV[2])
+            local full_at = tonumber(redis.call('GET', KEYS[1]) or now)
+            local next = math.max(full_at, now) + interval
+            local excess = next - now - burst
+            if excess > 0 then
+              return excess
+            end
+            redis.call('SET', KEYS[1], next, 'PX', next - now)
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final LocalRateLimiter fallback;
+    private final AtomicLong remoteErrors = new AtomicLong();
+
+    RedisRateLimiter(StringRedisTemplate redisTemplate, String keyPrefix, LocalRateLimiter fallback) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimitProperties.Limit limit) {
+        long interval = Math.max(TimeUnit.NANOSECONDS.toMillis(limit.intervalNanos()), 1);
+        try {
+            Long wait = redisTemplate.execute(ACQUIRE, List.of(keyPrefix + key),
+                    Long.toString(interval), Long.toString(interval * limit.getCapacity()));
+            return wait != null ? wait : 0;
+        } catch (RuntimeException e) {
+            remoteErrors.incrementAndGet();
+            log.warn("Rate limit check in Redis failed, using local buckets: {}", e.getMessage());
+            return fallback.tryAcquire(key, limit);
+        }
+    }
+
+    @Override
+    public long trackedKeys() {
+        return fallback.trackedKeys();
+    }
+
+    @Override
+    public long remoteErrors() {
+        return remoteErrors.get();
+    }
+}
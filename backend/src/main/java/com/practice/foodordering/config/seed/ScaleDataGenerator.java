@@ -0,0 +1,367 @@
+package com.practice.foodordering.config.seed;
+
+import com.practice.foodordering.model.ItemType;
+import com.practice.foodordering.model.OrderStatus;
+import com.practice.foodordering.model.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.id.uuid.UuidVersion7Strategy;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Bulk-loads a synthetic marketplace with JDBC batches: cities, restaurants,
+ * menus with variants and addons, customers and their order history.
+ * Popularity is Zipf-distributed at every level (a few cities hold most
+ * restaurants, a few restaurants and dishes take most orders, and a few
+ * customers place most of them) so caches, indexes and hot rows see the skew
+ * of real traffic rather than a uniform spread. Orders are placed over the
+ * last {@code history-days} days, mostly around lunch and dinner, and are all
+ * COMPLETED or CANCELLED.
+ *
+ * <p>Customer {@code i} signs in with the phone number {@link #customerPhone},
+ * which is how the load driver logs them in. Rows go in without JPA, so the
+ * search index and caches only see them once rebuilt or first loaded.
+ */
+@Slf4j
+public class ScaleDataGenerator {
+
+    public record Summary(int cities, int restaurants, int items, int variants, int addons, int users, int orders,
+            long orderLines, long elapsedMillis) {
+    }
+
+    private static final long FIRST_PHONE = 7_000_000_000L;
+    private static final int PROGRESS_EVERY = 100_000;
+
+    // None of these are seeded by DataSeeder or seed_data.ps1, so city names stay unique
+    private static final String[] CITY_NAMES = {"Hyderabad", "Kolkata", "Ahmedabad", "Jaipur", "Lucknow", "Surat",
+            "Kanpur", "Nagpur", "Visakhapatnam", "Patna", "Vadodara", "Ludhiana", "Agra", "Nashik", "Coimbatore",
+            "Kochi", "Madurai", "Mysuru", "Chandigarh", "Guwahati", "Bhubaneswar", "Dehradun", "Amritsar",
+            "Varanasi", "Raipur", "Ranchi", "Goa", "Thiruvananthapuram", "Vijayawada", "Jodhpur"};
+
+    // A cuisine's name followed by its dishes
+    private static final String[][] CUISINES = {
+            {"Punjabi", "Butter Chicken", "Dal Makhani", "Paneer Tikka", "Garlic Naan", "Chole Bhature",
+                    "Rajma Chawal", "Kadai Paneer", "Tandoori Roti"},
+            {"Udupi", "Masala Dosa", "Idli Sambar", "Medu Vada", "Onion Uttapam", "Ven Pongal", "Rava Dosa",
+                    "Filter Coffee", "Appam Stew"},
+            {"Biryani", "Chicken Biryani", "Mutton Biryani", "Veg Biryani", "Egg Biryani", "Hyderabadi Biryani",
+                    "Boondi Raita", "Mirchi Ka Salan", "Double Ka Meetha"},
+            {"Chinese", "Hakka Noodles", "Fried Rice", "Chilli Paneer", "Veg Manchurian", "Spring Roll", "Momos",
+                    "Schezwan Noodles", "Hot and Sour Soup"},
+            {"Pizza", "Margherita Pizza", "Farmhouse Pizza", "Pepperoni Pizza", "Garlic Bread", "Pasta Alfredo",
+                    "Veggie Supreme", "Cheese Burst Pizza", "Tiramisu"},
+            {"Burger", "Classic Burger", "Chicken Burger", "Aloo Tikki Burger", "French Fries", "Loaded Fries",
+                    "Cold Coffee", "Crispy Wings", "Onion Rings"},
+            {"Chaat", "Pav Bhaji", "Vada Pav", "Pani Puri", "Bhel Puri", "Kathi Roll", "Samosa", "Dahi Puri",
+                    "Pyaaz Kachori"},
+            {"Sweets", "Gulab Jamun", "Rasmalai", "Kulfi", "Walnut Brownie", "Cheesecake", "Jalebi", "Sundae",
+                    "Gajar Halwa"}};
+    private static final String[] RESTAURANT_WORDS = {"Royal", "Spice", "Urban", "Grand", "Golden", "Little",
+            "Hungry", "Coastal", "Saffron", "Green Leaf", "Old Town", "Midnight", "Rasoi", "Namma", "Desi"};
+    private static final String[] RESTAURANT_KINDS = {"Kitchen", "House", "Cafe", "Dhaba", "Express", "Bistro",
+            "Corner", "Junction"};
+    private static final String[] STREETS = {"MG Road", "Station Road", "Park Street", "Ring Road", "Mall Road",
+            "Civil Lines", "Market Yard", "Lake Road", "Temple Street", "College Road"};
+    private static final String[] STYLES = {"", "Special ", "Classic ", "Spicy ", "Jumbo ", "Homestyle "};
+    private static final String[] VARIANTS = {"Regular", "Large", "Family Pack"};
+    private static final String[] ADDONS = {"Extra Cheese", "Extra Gravy", "Butter", "Raita", "Green Salad",
+            "Masala Papad", "Dip", "Extra Sauce"};
+
+    // Orders per hour of the day, peaking at lunch and dinner
+    private static final int[] HOUR_WEIGHTS = {2, 1, 0, 0, 0, 0, 1, 2, 3, 3, 3, 4, 8, 10, 7, 3, 2, 3, 5, 8, 11, 10,
+            6, 3};
+    // One order in ten has four lines, most have one or two
+    private static final int[] LINE_COUNTS = {1, 1, 1, 1, 2, 2, 2, 3, 3, 4};
+    private static final int CANCELLED_PERCENT = 6;
+
+    private final JdbcTemplate jdbc;
+    private final ScaleSeedProperties properties;
+    private final long deliveryFeeCents;
+
+    public ScaleDataGenerator(JdbcTemplate jdbc, ScaleSeedProperties properties, BigDecimal deliveryFee) {
+        this.jdbc = jdbc;
+        this.properties = properties;
+        this.deliveryFeeCents = deliveryFee.movePointRight(2).longValueExact();
+    }
+
+    public static String customerPhone(int index) {
+        return "+91" + (FIRST_PHONE + index);
+    }
+
+    /**
+     * Whether a previous run already loaded the data; the first customer is
+     * written after the catalog, so its presence means the catalog is complete.
+     */
+    public boolean isSeeded() {
+        Integer count = jdbc.queryForObject("SELECT COUNT(*) FROM users WHERE phone_or_email = ?", Integer.class,
+                customerPhone(0));
+        return count != null && count > 0;
+    }
+
+    public Summary generate() {
+        long started = System.currentTimeMillis();
+        Random random = new Random(properties.getRandomSeed());
+        Instant now = Instant.now();
+
+        // Cities
+        int cityCount = properties.getCities();
+        UUID[] cities = new UUID[cityCount];
+        Batch cityRows = new Batch("INSERT INTO cities (id, name) VALUES (?, ?)");
+        for (int i = 0; i < cityCount; i++) {
+            cities[i] = UUID.randomUUID();
+            String name = CITY_NAMES[i % CITY_NAMES.length];
+            cityRows.add(cities[i], i < CITY_NAMES.length ? name : name + " " + (i / CITY_NAMES.length + 1));
+            flushIfFull(cityRows);
+        }
+        flush(cityRows);
+
+        // Restaurants; every city gets one, the rest follow city popularity
+        int restaurantCount = properties.getRestaurants();
+        ZipfDistribution cityPopularity = new ZipfDistribution(cityCount, properties.getSkew());
+        UUID[] restaurants = new UUID[restaurantCount];
+        int[] cuisines = new int[restaurantCount];
+        int[] firstItem = new int[restaurantCount + 1];
+        int menuSize = properties.getItemsPerRestaurant();
+        Batch restaurantRows = new Batch("INSERT INTO restaurants (id, city_id, name, address, rating, "
+                + "delivery_time, cost_for_two) VALUES (?, ?, ?, ?, ?, ?, ?)");
+        for (int r = 0; r < restaurantCount; r++) {
+            restaurants[r] = UUID.randomUUID();
+            cuisines[r] = random.nextInt(CUISINES.length);
+            firstItem[r + 1] = firstItem[r] + Math.max(1, menuSize / 2 + random.nextInt(menuSize + 1));
+            UUID city = cities[r < cityCount ? r : cityPopularity.sample(random)];
+            String name = pick(random, RESTAURANT_WORDS) + " " + CUISINES[cuisines[r]][0] + " "
+                    + pick(random, RESTAURANT_KINDS);
+            restaurantRows.add(restaurants[r], city, name, (1 + random.nextInt(300)) + ", " + pick(random, STREETS),
+                    (30 + random.nextInt(21)) / 10f, 15 + 5 * random.nextInt(9), 200 + 50 * random.nextInt(37));
+            flushIfFull(restaurantRows);
+        }
+        flush(restaurantRows);
+
+        // Menus: item i of restaurant r is firstItem[r] + i; a restaurant's
+        // variants and addons sit in the flat arrays from firstVariant[item]
+        // and firstAddon[item] onwards
+        int itemCount = firstItem[restaurantCount];
+        UUID[] items = new UUID[itemCount];
+        int[] itemCents = new int[itemCount];
+        int[] firstVariant = new int[itemCount + 1];
+        int[] firstAddon = new int[itemCount + 1];
+        UUID[] variants = new UUID[itemCount * VARIANTS.length];
+        int[] variantCents = new int[variants.length];
+        UUID[] addons = new UUID[itemCount * 3];
+        int[] addonCents = new int[addons.length];
+        Batch itemRows = new Batch("INSERT INTO food_items (id, restaurant_id, name, price, item_type) "
+                + "VALUES (?, ?, ?, ?, ?)");
+        Batch variantRows = new Batch("INSERT INTO variants (id, item_id, name, price_modifier) VALUES (?, ?, ?, ?)");
+        Batch addonRows = new Batch("INSERT INTO addons (id, item_id, name, price) VALUES (?, ?, ?, ?)");
+        for (int r = 0; r < restaurantCount; r++) {
+            String[] cuisine = CUISINES[cuisines[r]];
+            int dishCount = cuisine.length - 1;
+            for (int item = firstItem[r]; item < firstItem[r + 1]; item++) {
+                int position = item - firstItem[r];
+                int round = position / dishCount;
+                String name = STYLES[round % STYLES.length] + cuisine[1 + position % dishCount]
+                        + (round >= STYLES.length ? " " + (round / STYLES.length + 1) : "");
+                ItemType type = itemType(random);
+                items[item] = UUID.randomUUID();
+                itemCents[item] = 100 * (80 + 10 * random.nextInt(42));
+                itemRows.add(items[item], restaurants[r], name, cents(itemCents[item]), type.name());
+
+                firstVariant[item + 1] = firstVariant[item];
+                if (type == ItemType.VARIANT_NO_ADDON || type == ItemType.VARIANT_AND_ADDON) {
+                    int count = 2 + random.nextInt(VARIANTS.length - 1);
+                    for (int v = 0; v < count; v++) {
+                        int index = firstVariant[item + 1]++;
+                        variants[index] = UUID.randomUUID();
+                        variantCents[index] = v == 0 ? 0 : 100 * (v * 80 + 10 * random.nextInt(8));
+                        variantRows.add(variants[index], items[item], VARIANTS[v], cents(variantCents[index]));
+                    }
+                }
+
+                firstAddon[item + 1] = firstAddon[item];
+                if (type == ItemType.ADDON_NO_VARIANT || type == ItemType.VARIANT_AND_ADDON) {
+                    int count = 1 + random.nextInt(3);
+                    int start = random.nextInt(ADDONS.length);
+                    for (int a = 0; a < count; a++) {
+                        int index = firstAddon[item + 1]++;
+                        addons[index] = UUID.randomUUID();
+                        addonCents[index] = 100 * (20 + 10 * random.nextInt(8));
+                        addonRows.add(addons[index], items[item], ADDONS[(start + a) % ADDONS.length],
+                                cents(addonCents[index]));
+                    }
+                }
+
+                // Items first: variants and addons reference them
+                if (itemRows.isFull() || variantRows.isFull() || addonRows.isFull()) {
+                    flush(itemRows, variantRows, addonRows);
+                }
+            }
+        }
+        flush(itemRows, variantRows, addonRows);
+        log.info("Seeded {} cities, {} restaurants and {} items", cityCount, restaurantCount, itemCount);
+
+        // Customers, signed up over the history window
+        int userCount = properties.getUsers();
+        long historyMillis = Duration.ofDays(properties.getHistoryDays()).toMillis();
+        UUID[] users = new UUID[userCount];
+        Batch userRows = new Batch("INSERT INTO users (id, phone_or_email, role, created_at) VALUES (?, ?, ?, ?)");
+        for (int i = 0; i < userCount; i++) {
+            users[i] = UUID.randomUUID();
+            userRows.add(users[i], customerPhone(i), Role.CUSTOMER.name(),
+                    Timestamp.from(now.minusMillis((long) (random.nextDouble() * historyMillis))));
+            flushIfFull(userRows);
+        }
+        flush(userRows);
+
+        // Order history
+        int orderCount = properties.getOrders();
+        ZipfDistribution restaurantPopularity = new ZipfDistribution(restaurantCount, properties.getSkew());
+        ZipfDistribution customerActivity = new ZipfDistribution(userCount, properties.getUserSkew());
+        Map<Integer, ZipfDistribution> dishPopularity = new HashMap<>();
+        Instant today = now.truncatedTo(ChronoUnit.DAYS);
+        int hourTotal = 0;
+        for (int weight : HOUR_WEIGHTS) {
+            hourTotal += weight;
+        }
+
+        long lineCount = 0;
+        Batch orderRows = new Batch("INSERT INTO orders (id, user_id, restaurant_id, status, version, total_price, "
+                + "placed_at) VALUES (?, ?, ?, ?, ?, ?, ?)");
+        Batch lineRows = new Batch("INSERT INTO order_items (id, order_id, item_id, variant_id, quantity) "
+                + "VALUES (?, ?, ?, ?, ?)");
+        Batch lineAddonRows = new Batch("INSERT INTO order_item_addons (id, order_item_id, addon_id) "
+                + "VALUES (?, ?, ?)");
+        for (int o = 0; o < orderCount; o++) {
+            int r = restaurantPopularity.sample(random);
+            int size = firstItem[r + 1] - firstItem[r];
+            ZipfDistribution dishes = dishPopularity.computeIfAbsent(size,
+                    n -> new ZipfDistribution(n, properties.getSkew()));
+
+            UUID order = UuidVersion7Strategy.INSTANCE.generateUuid(null);
+            long totalCents = deliveryFeeCents;
+            int lines = LINE_COUNTS[random.nextInt(LINE_COUNTS.length)];
+            for (int line = 0; line < lines; line++) {
+                int item = firstItem[r] + dishes.sample(random);
+                int quantity = random.nextInt(10) < 7 ? 1 : 2 + random.nextInt(2);
+                long unitCents = itemCents[item];
+
+                UUID variant = null;
+                int variantOptions = firstVariant[item + 1] - firstVariant[item];
+                if (variantOptions > 0) {
+                    int index = firstVariant[item] + random.nextInt(variantOptions);
+                    variant = variants[index];
+                    unitCents += variantCents[index];
+                }
+
+                UUID orderItem = UuidVersion7Strategy.INSTANCE.generateUuid(null);
+                lineRows.add(orderItem, order, items[item], variant, quantity);
+                int addonOptions = firstAddon[item + 1] - firstAddon[item];
+                if (addonOptions > 0 && random.nextBoolean()) {
+                    int index = firstAddon[item] + random.nextInt(addonOptions);
+                    lineAddonRows.add(UuidVersion7Strategy.INSTANCE.generateUuid(null), orderItem, addons[index]);
+                    unitCents += addonCents[index];
+                }
+                totalCents += unitCents * quantity;
+                lineCount++;
+            }
+
+            // COMPLETED went through PREPARING and OUT_FOR_DELIVERY; CANCELLED straight from PLACED
+            boolean cancelled = random.nextInt(100) < CANCELLED_PERCENT;
+            Instant placedAt = today.minus(1 + random.nextInt(properties.getHistoryDays()), ChronoUnit.DAYS)
+                    .plus(hour(random, hourTotal), ChronoUnit.HOURS)
+                    .plusSeconds(random.nextInt(3600));
+            orderRows.add(order, users[customerActivity.sample(random)], restaurants[r],
+                    (cancelled ? OrderStatus.CANCELLED : OrderStatus.COMPLETED).name(), cancelled ? 1 : 3,
+                    cents(totalCents), Timestamp.from(placedAt));
+
+            // Orders first: lines and their addons reference them
+            if (orderRows.isFull() || lineRows.isFull() || lineAddonRows.isFull()) {
+                flush(orderRows, lineRows, lineAddonRows);
+            }
+            if ((o + 1) % PROGRESS_EVERY == 0) {
+                log.info("Seeded {} of {} orders", o + 1, orderCount);
+            }
+        }
+        flush(orderRows, lineRows, lineAddonRows);
+
+        return new Summary(cityCount, restaurantCount, itemCount, firstVariant[itemCount], firstAddon[itemCount],
+                userCount, orderCount, lineCount, System.currentTimeMillis() - started);
+    }
+
+    private static ItemType itemType(Random random) {
+        int roll = random.nextInt(10);
+        if (roll < 4) {
+            return ItemType.NO_ADDON_NO_VARIANT;
+        }
+        if (roll < 6) {
+            return ItemType.ADDON_NO_VARIANT;
+        }
+        return roll < 8 ? ItemType.VARIANT_NO_ADDON : ItemType.VARIANT_AND_ADDON;
+    }
+
+    private static int hour(Random random, int hourTotal) {
+        int roll = random.nextInt(hourTotal);
+        for (int hour = 0; hour < HOUR_WEIGHTS.length; hour++) {
+            roll -= HOUR_WEIGHTS[hour];
+            if (roll < 0) {
+                return hour;
+            }
+        }
+        return HOUR_WEIGHTS.length - 1;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static BigDecimal cents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private void flushIfFull(Batch batch) {
+        if (batch.isFull()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(Batch... batches) {
+        for (Batch batch : batches) {
+            if (!batch.rows.isEmpty()) {
+                jdbc.batchUpdate(batch.sql, batch.rows);
+                batch.rows.clear();
+            }
+        }
+    }
+
+    /**
+     * Rows waiting to be sent as one JDBC batch.
+     */
+    private final class Batch {
+
+        private final String sql;
+        private final List<Object[]> rows;
+
+        private Batch(String sql) {
+            this.sql = sql;
+            this.rows = new ArrayList<>(properties.getBatchSize());
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+        }
+
+        boolean isFull() {
+            return rows.size() >= properties.getBatchSize();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.practice.foodordering.config.seed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+/**
+ * Loads the {@link ScaleDataGenerator} dataset at startup when
+ * {@code app.seed.scale.enabled} is set (the {@code scale-seed} profile), once
+ * per database. Runners finish before the application is ready, so the local
+ * search index, which is built on readiness, already includes the new items.
+ */
+@Configuration
+@EnableConfigurationProperties(ScaleSeedProperties.class)
+@ConditionalOnProperty(name = "app.seed.scale.enabled", havingValue = "true")
+@Slf4j
+public class ScaleSeedConfig {
+
+        @Bean
+        public CommandLineRunner seedAtScale(JdbcTemplate jdbcTemplate, ScaleSeedProperties properties,
+                        @Value("${app.pricing.delivery-fee:2.99}") BigDecimal deliveryFee) {
+                return args -> {
+                        ScaleDataGenerator generator = new ScaleDataGenerator(jdbcTemplate, properties, deliveryFee);
+                        if (generator.isSeeded()) {
+                                log.info("Scale seed data already present, skipping.");
+                                return;
+                        }
+
+                        log.info("Seeding {} restaurants in {} cities, {} customers and {} orders...",
+                                        properties.getRestaurants(), properties.getCities(), properties.getUsers(),
+                                        properties.getOrders());
+                        ScaleDataGenerator.Summary summary = generator.generate();
+                        log.info("Scale seeding completed: {}", summary);
+                        log.info("Rows were written over JDBC; if Elasticsearch is in use, rebuild it with "
+                                        + "POST /api/admin/search/reindex.");
+                };
+        }
+}
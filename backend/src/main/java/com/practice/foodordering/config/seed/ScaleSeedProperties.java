@@ -0,0 +1,31 @@
+package com.practice.foodordering.config.seed;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@code app.seed.scale.*}: how much synthetic data {@link ScaleDataGenerator}
+ * loads at startup, how skewed popularity is, and how many rows go into one
+ * JDBC batch. {@code skew} is the Zipf exponent for cities, restaurants and
+ * dishes (0 is uniform); {@code user-skew} is the one for how many orders each
+ * customer places, kept lower so that no single customer ends up with a
+ * sizeable share of all orders.
+ */
+@ConfigurationProperties(prefix = "app.seed.scale")
+@Getter
+@Setter
+public class ScaleSeedProperties {
+
+    private boolean enabled = false;
+    private int cities = 20;
+    private int restaurants = 1_000;
+    private int itemsPerRestaurant = 25;
+    private int users = 50_000;
+    private int orders = 500_000;
+    private int historyDays = 180;
+    private double skew = 1.07;
+    private double userSkew = 0.5;
+    private int batchSize = 1_000;
+    private long randomSeed = 42;
+}
@@ -0,0 +1,45 @@
+package com.practice.foodordering.config.seed;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Ranks {@code 0..n-1} drawn with probability proportional to
+ * {@code 1 / (rank + 1)^exponent}, so rank 0 is the most popular and an
+ * exponent near 1 gives the long tail seen in restaurant and dish
+ * popularity. Sampling is a binary search over precomputed cumulative
+ * weights; instances are immutable and may be shared between threads.
+ */
+public final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    public ZipfDistribution(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("exponent must not be negative: " + exponent);
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        // Rounding can leave the last cumulative weight a hair under 1
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
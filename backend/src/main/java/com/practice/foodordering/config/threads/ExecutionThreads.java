@@ -0,0 +1,163 @@
+package com.practice.foodordering.config.threads;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Decides whether the app's own background workers run on virtual or platform
+ * threads, and watches for virtual threads getting pinned.
+ *
+ * <p>Virtual threads are used when {@code spring.threads.virtual.enabled} is
+ * set and the JVM is 21 or newer, the same test Spring Boot applies to Tomcat's
+ * request threads and the {@code @Async} executor, so the whole app switches
+ * together. On older JVMs the property is ignored and everything stays on
+ * platform threads.
+ *
+ * <p>In virtual mode a JFR stream records every {@code jdk.VirtualThreadPinned}
+ * event longer than {@code pinned-threshold-ms}: a virtual thread that blocked
+ * while holding a monitor and so kept its carrier thread busy. Events are
+ * counted per call site in the app (or the top frame, if none is ours) and the
+ * first one from each site is logged with its stack.
+ */
+@Component
+@Slf4j
+public class ExecutionThreads {
+
+    public record Stats(boolean virtualThreads, int javaVersion, long pinnedEvents, long pinnedMillis,
+            Map<String, Long> pinnedSites) {
+    }
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.practice.foodordering.";
+    private static final int MAX_SITES = 100;
+    private static final int LOGGED_FRAMES = 8;
+
+    private final boolean virtual;
+
+    @Value("${app.threads.pinning-monitor.enabled:true}")
+    private boolean monitorPinning;
+
+    @Value("${app.threads.pinning-monitor.pinned-threshold-ms:20}")
+    private long pinnedThresholdMs;
+
+    private RecordingStream pinnedEvents;
+
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private final AtomicLong pinnedNanos = new AtomicLong();
+    private final Map<String, LongAdder> pinnedSites = new ConcurrentHashMap<>();
+
+    public ExecutionThreads(Environment environment) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false) && !virtual) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; using platform threads",
+                    Runtime.version().feature());
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        log.info("Request and background work runs on {} threads", virtual ? "virtual" : "platform");
+        if (!virtual || !monitorPinning) {
+            return;
+        }
+        pinnedEvents = new RecordingStream();
+        pinnedEvents.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(pinnedThresholdMs)).withStackTrace();
+        pinnedEvents.onEvent(PINNED_EVENT, this::onPinned);
+        pinnedEvents.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (pinnedEvents != null) {
+            pinnedEvents.close();
+        }
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Thread factory for a worker pool: virtual threads in virtual mode,
+     * otherwise daemon platform threads. Threads are named {@code name-N}.
+     */
+    public ThreadFactory factory(String name) {
+        if (virtual) {
+            return new VirtualThreadTaskExecutor(name + "-").getVirtualThreadFactory();
+        }
+        AtomicInteger index = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public Stats stats() {
+        Map<String, Long> sites = pinnedSites.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+        return new Stats(virtual, Runtime.version().feature(), pinnedCount.get(),
+                Duration.ofNanos(pinnedNanos.get()).toMillis(), sites);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        pinnedNanos.addAndGet(event.getDuration().toNanos());
+
+        String site = site(event);
+        LongAdder count = pinnedSites.get(site);
+        if (count == null) {
+            if (pinnedSites.size() >= MAX_SITES) {
+                return;
+            }
+            count = pinnedSites.computeIfAbsent(site, s -> new LongAdder());
+            log.warn("Virtual thread pinned for {} ms at {}:\n{}", event.getDuration().toMillis(), site,
+                    frames(event));
+        }
+        count.increment();
+    }
+
+    private static String site(RecordedEvent event) {
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return "unknown";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APP_PACKAGE))
+                .findFirst()
+                .map(ExecutionThreads::describe)
+                .orElseGet(() -> describe(event.getStackTrace().getFrames().get(0)));
+    }
+
+    private static String frames(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "    (no stack)";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "    at " + describe(frame))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":"
+                + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,21 @@
+package com.practice.foodordering.controller;
+
+import com.practice.foodordering.service.auth.TokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/auth")
+@RequiredArgsConstructor
+public class AdminAuthController {
+
+    private final TokenService tokenService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<TokenService.Stats> getStats() {
+        return ResponseEntity.ok(tokenService.stats());
+    }
+}
@@ -0,0 +1,34 @@
+package com.practice.foodordering.controller;
+
+import com.practice.foodordering.service.board.OrderBoardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin/boards")
+@RequiredArgsConstructor
+public class AdminBoardController {
+
+    private final OrderBoardService boardService;
+
+    /**
+     * Live board of the restaurant's active orders: a {@code SNAPSHOT} event,
+     * then {@code ORDERS} events with the orders that changed.
+     */
+    @GetMapping("/{restaurantId}")
+    public SseEmitter subscribe(@PathVariable UUID restaurantId) {
+        return boardService.subscribe(restaurantId);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<OrderBoardService.Stats> getStats() {
+        return ResponseEntity.ok(boardService.stats());
+    }
+}
@@ -0,0 +1,24 @@
+package com.practice.foodordering.controller;
+
+import com.practice.foodordering.config.cache.TwoTierCache;
+import com.practice.foodordering.config.cache.TwoTierCacheManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+public class AdminCacheController {
+
+    private final TwoTierCacheManager cacheManager;
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<TwoTierCache.Stats>> getStats() {
+        return ResponseEntity.ok(cacheManager.stats());
+    }
+}
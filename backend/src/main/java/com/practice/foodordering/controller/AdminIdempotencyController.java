@@ -0,0 +1,21 @@
+package com.practice.foodordering.controller;
+
+import com.practice.foodordering.service.idempotency.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/idempotency")
+@RequiredArgsConstructor
+public class AdminIdempotencyController {
+
+    private final IdempotencyService idempotencyService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<IdempotencyService.Stats> getStats() {
+        return ResponseEntity.ok(idempotencyService.stats());
+    }
+}
@@ -0,0 +1,21 @@
+package com.practice.foodordering.controller;
+
+import com.practice.foodordering.service.notification.NotificationHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/notifications")
+@RequiredArgsConstructor
+public class AdminNotificationController {
+
+    private final NotificationHub hub;
+
+    @GetMapping("/stats")
+    public ResponseEntity<NotificationHub.Stats> getStats() {
+        return ResponseEntity.ok(hub.stats());
+    }
+}
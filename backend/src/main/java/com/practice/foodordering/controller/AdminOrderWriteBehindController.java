@@ -0,0 +1,23 @@
+package com.practice.foodordering.controller;
+
+import com.practice.foodordering.service.writebehind.OrderWriteBehind;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/orders/write-behind")
+@ConditionalOnProperty(name = "app.orders.write-behind.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class AdminOrderWriteBehindController {
+
+    private final OrderWriteBehind writeBehind;
+
+    @GetMapping("/stats")
+    public ResponseEntity<OrderWriteBehind.Stats> getStats() {
+        return ResponseEntity.ok(writeBehind.stats());
+    }
+}
@@ -0,0 +1,28 @@
+package com.practice.foodordering.controller;
+
+import com.practice.foodordering.service.otp.OtpDeliveryDispatcher;
+import com.practice.foodordering.service.otp.OtpStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/otp")
+@RequiredArgsConstructor
+public class AdminOtpController {
+
+    private final OtpStore otpStore;
+    private final OtpDeliveryDispatcher deliveryDispatcher;
+
+    @GetMapping("/stats")
+    public ResponseEntity<OtpStore.Stats> getStats() {
+        return ResponseEntity.ok(otpStore.stats());
+    }
+
+    @GetMapping("/delivery/stats")
+    public ResponseEntity<OtpDeliveryDispatcher.Stats> getDeliveryStats() {
+        return ResponseEntity.ok(deliveryDispatcher.stats());
+    }
+}
@@ -0,0 +1,23 @@
+package com.practice.foodordering.controller;
+
+import com.practice.foodordering.config.ratelimit.RateLimitFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/rate-limit")
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class AdminRateLimitController {
+
+    private final RateLimitFilter rateLimitFilter;
+
+    @GetMapping("/stats")
+    public ResponseEntity<RateLimitFilter.Stats> getStats() {
+        return ResponseEntity.ok(rateLimitFilter.stats());
+    }
+}
@@ -0,0 +1,51 @@
+package com.practice.foodordering.controller;
+
+import com.practice.foodordering.service.search.SearchDeadLetterStore;
+import com.practice.foodordering.service.search.SearchIndexingPipeline;
+import com.practice.foodordering.service.search.SearchReindexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/search")
+@RequiredArgsConstructor
+public class AdminSearchController {
+
+    private final SearchIndexingPipeline indexingPipeline;
+    private final SearchDeadLetterStore deadLetterStore;
+    private final SearchReindexService reindexService;
+
+    @GetMapping("/indexing/stats")
+    public ResponseEntity<SearchIndexingPipeline.Stats> getIndexingStats() {
+        return ResponseEntity.ok(indexingPipeline.stats());
+    }
+
+    @GetMapping("/indexing/dead-letters")
+    public ResponseEntity<List<SearchDeadLetterStore.DeadLetter>> getDeadLetters() {
+        return ResponseEntity.ok(deadLetterStore.list());
+    }
+
+    @PostMapping("/indexing/dead-letters/replay")
+    public ResponseEntity<Map<String, Integer>> replayDeadLetters() {
+        return ResponseEntity.ok(Map.of("requeued", indexingPipeline.replayDeadLetters()));
+    }
+
+    @PostMapping("/reindex")
+    public ResponseEntity<SearchReindexService.Progress> startReindex(
+            @RequestParam(defaultValue = "false") boolean resume) {
+        return ResponseEntity.accepted().body(reindexService.start(resume));
+    }
+
+    @GetMapping("/reindex")
+    public ResponseEntity<SearchReindexService.Progress> getReindexProgress() {
+        return ResponseEntity.ok(reindexService.latest());
+    }
+}
@@ -0,0 +1,21 @@
+package com.practice.foodordering.controller;
+
+import com.practice.foodordering.config.threads.ExecutionThreads;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/threads")
+@RequiredArgsConstructor
+public class AdminThreadController {
+
+    private final ExecutionThreads executionThreads;
+
+    @GetMapping("/stats")
+    public ResponseEntity<ExecutionThreads.Stats> getStats() {
+        return ResponseEntity.ok(executionThreads.stats());
+    }
+}
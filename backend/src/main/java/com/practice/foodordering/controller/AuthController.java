@@ -1,8 +1,11 @@
 package com.practice.foodordering.controller;
 
+import com.practice.foodordering.dto.AuthResponse;
 import com.practice.foodordering.model.AppUser;
 import com.practice.foodordering.service.UserService;
+import com.practice.foodordering.service.auth.TokenService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final UserService userService;
+    private final TokenService tokenService;
 
     @PostMapping("/customer/get_otp")
     public ResponseEntity<String> getOtp(@RequestParam String phoneOrEmail) {
@@ -20,16 +24,43 @@ public class AuthController {
     }
 
     @PostMapping("/customer/verify_otp")
-    public ResponseEntity<AppUser> verifyOtp(@RequestParam String phoneOrEmail, @RequestParam String otp) {
+    public ResponseEntity<AuthResponse> verifyOtp(@RequestParam String phoneOrEmail, @RequestParam String otp) {
         return userService.verifyOtpAndLogin(phoneOrEmail, otp)
-                .map(ResponseEntity::ok)
+                .map(user -> ResponseEntity.ok(signedIn(user)))
                 .orElse(ResponseEntity.status(401).build());
     }
 
     @PostMapping("/admin/login")
-    public ResponseEntity<AppUser> loginAdmin(@RequestParam String username, @RequestParam String passwordHash) {
+    public ResponseEntity<AuthResponse> loginAdmin(@RequestParam String username, @RequestParam String passwordHash) {
         return userService.adminLogin(username, passwordHash)
-                .map(ResponseEntity::ok)
+                .map(user -> ResponseEntity.ok(signedIn(user)))
                 .orElse(ResponseEntity.status(401).build());
     }
+
+    /**
+     * Trades a refresh token for a new token pair; the old refresh token stops
+     * working.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenService.Tokens> refresh(@RequestParam String refreshToken) {
+        return ResponseEntity.ok(tokenService.refresh(refreshToken));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam(required = false) String refreshToken) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            tokenService.revoke(authorization.substring("Bearer ".length()).trim());
+        }
+        if (refreshToken != null) {
+            tokenService.revoke(refreshToken);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private AuthResponse signedIn(AppUser user) {
+        TokenService.Tokens tokens = tokenService.issue(user);
+        return new AuthResponse(user, tokens.accessToken(), tokens.accessTokenExpiresAt(), tokens.refreshToken(),
+                tokens.refreshTokenExpiresAt());
+    }
 }
@@ -1,8 +1,12 @@
 package com.practice.foodordering.controller;
 
+import com.practice.foodordering.dto.CatalogDto;
 import com.practice.foodordering.model.City;
 import com.practice.foodordering.service.CityService;
+import com.practice.foodordering.service.catalog.CatalogService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,12 +19,44 @@ import java.util.UUID;
 public class CityController {
 
     private final CityService cityService;
+    private final CatalogService catalogService;
 
     @GetMapping
     public ResponseEntity<List<City>> getAllCities() {
         return ResponseEntity.ok(cityService.getAllCities());
     }
 
+    /**
+     * Every restaurant of the city with its menu. With {@code since} (the
+     * {@code version} of a catalog the client already holds) only the changes
+     * after it are returned, unless that version is too old, in which case the
+     * full catalog comes back with {@code full: true}. The full catalog is sent
+     * gzip-encoded to clients that accept it.
+     */
+    @GetMapping("/{id}/catalog")
+    public ResponseEntity<?> getCatalog(@PathVariable UUID id, @RequestParam(required = false) Long since,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (since != null) {
+            CatalogDto changes = catalogService.changesSince(id, since);
+            if (changes != null) {
+                return ResponseEntity.ok(changes);
+            }
+        }
+
+        // The gzip and identity bodies differ, so each gets its own strong ETag
+        CatalogService.Snapshot snapshot = catalogService.snapshot(id);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String version = Long.toString(snapshot.version());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(gzip ? version + "-gzip" : version)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzippedJson());
+        }
+        return response.body(snapshot.json());
+    }
+
     @PostMapping
     public ResponseEntity<City> createCity(@RequestBody City city) {
         return ResponseEntity.ok(cityService.createCity(city));
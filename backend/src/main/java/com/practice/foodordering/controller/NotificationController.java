@@ -4,6 +4,7 @@ import com.practice.foodordering.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -18,7 +19,8 @@ public class NotificationController {
     private final NotificationService notificationService;
 
     @GetMapping("/subscribe/{userId}")
-    public SseEmitter subscribe(@PathVariable UUID userId) {
-        return notificationService.subscribe(userId);
+    public SseEmitter subscribe(@PathVariable UUID userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return notificationService.subscribe(userId, lastEventId);
     }
 }
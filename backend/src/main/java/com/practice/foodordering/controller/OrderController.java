@@ -1,46 +1,128 @@
 package com.practice.foodordering.controller;
 
+import com.practice.foodordering.dto.OrderCursor;
+import com.practice.foodordering.dto.OrderDto;
+import com.practice.foodordering.dto.OrderFilter;
+import com.practice.foodordering.dto.OrderPageDto;
+import com.practice.foodordering.dto.OrderStatusDto;
+import com.practice.foodordering.model.AppUser;
 import com.practice.foodordering.model.Order;
 import com.practice.foodordering.model.OrderStatus;
+import com.practice.foodordering.service.OrderQueryService;
 import com.practice.foodordering.service.OrderService;
+import com.practice.foodordering.service.idempotency.IdempotencyService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
+@Slf4j
 public class OrderController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final OrderService orderService;
+    private final OrderQueryService orderQueryService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * Places the order. With an {@code Idempotency-Key} header the order is
+     * placed at most once per user and key; retries get the original response.
+     */
     @PostMapping
-    public ResponseEntity<Order> placeOrder(@RequestBody Order order) {
-        System.out.println("Placing order for user: " + (order.getUser() != null ? order.getUser().getId() : "NULL") +
-                " Total: " + order.getTotalPrice());
-        return ResponseEntity.ok(orderService.placeOrder(order));
+    public ResponseEntity<?> placeOrder(@RequestBody Order order, Authentication authentication,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        // Customers order for themselves whatever the body says; admins may order for anyone
+        if (authentication.getAuthorities().stream().noneMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()))) {
+            order.setUser(AppUser.builder().id(UUID.fromString(authentication.getName())).build());
+        }
+        log.atDebug()
+                .setMessage("Placing order")
+                .addKeyValue("userId", order.getUser() != null ? order.getUser().getId() : null)
+                .addKeyValue("idempotent", idempotencyKey != null)
+                .log();
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(orderService.placeOrder(order));
+        }
+
+        UUID userId = order.getUser() != null ? order.getUser().getId() : null;
+        byte[] body = idempotencyService.execute(userId + ":" + idempotencyKey, objectMapper.writeValueAsBytes(order),
+                () -> objectMapper.writeValueAsBytes(orderService.placeOrder(order)));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Order>> getUserOrders(@PathVariable UUID userId) {
-        return ResponseEntity.ok(orderService.getUserOrders(userId));
+    public ResponseEntity<List<OrderDto>> getUserOrders(@PathVariable UUID userId) {
+        return ResponseEntity.ok(orderQueryService.getUserOrderHistory(userId));
     }
 
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        return ResponseEntity.ok(orderService.getAllOrders());
+    public ResponseEntity<OrderPageDto> getOrders(
+            @RequestParam(required = false) Set<OrderStatus> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        OrderCursor after;
+        try {
+            after = cursor != null ? OrderCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return ResponseEntity.ok(orderQueryService.getOrdersPage(new OrderFilter(status, from, to), after, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) Set<OrderStatus> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        OrderFilter filter = new OrderFilter(status, from, to);
+        StreamingResponseBody body = out -> orderQueryService.exportOrders(filter, order -> writeLine(out, order));
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
     }
 
+    /**
+     * Moves the order along its status flow. With {@code version} the change
+     * only applies if the order is still at that version. The response is the
+     * new status and version only, not the order's lines.
+     */
     @PutMapping("/{orderId}/status")
-    public ResponseEntity<Order> updateOrderStatus(@PathVariable UUID orderId, @RequestParam OrderStatus status) {
-        return ResponseEntity.ok(orderService.updateOrderStatus(orderId, status));
+    public ResponseEntity<OrderStatusDto> updateOrderStatus(@PathVariable UUID orderId, @RequestParam OrderStatus status,
+            @RequestParam(required = false) Long version) {
+        return ResponseEntity.ok(orderService.updateOrderStatus(orderId, status, version));
     }
 
     @PostMapping("/{orderId}/cancel")
-    public ResponseEntity<Order> cancelOrder(@PathVariable UUID orderId) {
-        return ResponseEntity.ok(orderService.cancelOrder(orderId));
+    public ResponseEntity<OrderStatusDto> cancelOrder(@PathVariable UUID orderId, Authentication authentication) {
+        return ResponseEntity.ok(orderService.cancelOrder(orderId, authentication));
+    }
+
+    private void writeLine(OutputStream out, OrderDto order) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(order));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
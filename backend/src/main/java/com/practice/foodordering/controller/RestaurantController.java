@@ -2,7 +2,10 @@ package com.practice.foodordering.controller;
 
 import com.practice.foodordering.model.Restaurant;
 import com.practice.foodordering.service.RestaurantService;
+import com.practice.foodordering.service.menu.MenuService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,12 +18,27 @@ import java.util.UUID;
 public class RestaurantController {
 
     private final RestaurantService restaurantService;
+    private final MenuService menuService;
 
     @GetMapping
     public ResponseEntity<List<Restaurant>> getRestaurantsByCity(@RequestParam UUID cityId) {
         return ResponseEntity.ok(restaurantService.getRestaurantsByCity(cityId));
     }
 
+    /**
+     * The restaurant's whole menu. Clients must revalidate ({@code no-cache});
+     * a matching {@code If-None-Match} is answered with 304 and no body.
+     */
+    @GetMapping("/{id}/menu")
+    public ResponseEntity<byte[]> getMenu(@PathVariable UUID id) {
+        MenuService.Snapshot menu = menuService.getMenu(id);
+        return ResponseEntity.ok()
+                .eTag(menu.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(menu.json());
+    }
+
     @PostMapping
     public ResponseEntity<Restaurant> createRestaurant(@RequestBody Restaurant restaurant) {
         return ResponseEntity.ok(restaurantService.createRestaurant(restaurant));
@@ -16,10 +16,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SearchController {
 
+    private static final int MAX_LIMIT = 200;
+
     private final SearchService searchService;
 
     @GetMapping
-    public ResponseEntity<List<FoodItemDocument>> search(@RequestParam String q) {
-        return ResponseEntity.ok(searchService.searchGlobal(q));
+    public ResponseEntity<List<FoodItemDocument>> search(@RequestParam String q,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(searchService.searchGlobal(q, Math.max(1, Math.min(limit, MAX_LIMIT))));
     }
 }
@@ -0,0 +1,17 @@
+package com.practice.foodordering.dto;
+
+import com.practice.foodordering.model.AppUser;
+
+import java.time.Instant;
+
+/**
+ * A signed-in user with the tokens to send as {@code Authorization: Bearer}
+ * and to refresh with at {@code /api/auth/refresh}.
+ */
+public record AuthResponse(
+        AppUser user,
+        String accessToken,
+        Instant accessTokenExpiresAt,
+        String refreshToken,
+        Instant refreshTokenExpiresAt) {
+}
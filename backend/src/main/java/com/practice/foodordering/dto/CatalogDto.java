@@ -0,0 +1,18 @@
+package com.practice.foodordering.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A city's catalog at {@code version}. When {@code full} is true it holds every
+ * restaurant and replaces whatever the client had; otherwise it holds only the
+ * restaurants changed and removed since the version the client asked about.
+ */
+public record CatalogDto(
+        UUID cityId,
+        String cityName,
+        long version,
+        boolean full,
+        List<CatalogRestaurantDto> restaurants,
+        List<UUID> removedRestaurantIds) {
+}
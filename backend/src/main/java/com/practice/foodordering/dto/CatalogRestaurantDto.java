@@ -0,0 +1,21 @@
+package com.practice.foodordering.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A restaurant and its menu inside a city catalog. {@code version} is the
+ * catalog version at which this restaurant last changed.
+ */
+public record CatalogRestaurantDto(
+        UUID id,
+        String name,
+        String address,
+        String landmark,
+        Float rating,
+        Integer deliveryTime,
+        Integer costForTwo,
+        long version,
+        List<MenuItemDto> items) implements Serializable {
+}
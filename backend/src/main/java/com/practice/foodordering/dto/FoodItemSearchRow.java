@@ -0,0 +1,15 @@
+package com.practice.foodordering.dto;
+
+import java.util.UUID;
+
+/**
+ * Everything a search document needs about a food item, read in one joined
+ * projection so indexing never walks lazy {@code restaurant.city} proxies.
+ */
+public record FoodItemSearchRow(
+        UUID id,
+        String name,
+        UUID restaurantId,
+        String restaurantName,
+        String cityName) {
+}
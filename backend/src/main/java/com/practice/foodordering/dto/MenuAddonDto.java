@@ -0,0 +1,8 @@
+package com.practice.foodordering.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record MenuAddonDto(UUID id, String name, BigDecimal price) implements Serializable {
+}
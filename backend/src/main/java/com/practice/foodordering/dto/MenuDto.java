@@ -0,0 +1,13 @@
+package com.practice.foodordering.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A restaurant's whole menu: every item with its variants and addons.
+ */
+public record MenuDto(
+        UUID restaurantId,
+        String restaurantName,
+        List<MenuItemDto> items) {
+}
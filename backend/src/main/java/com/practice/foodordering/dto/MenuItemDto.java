@@ -0,0 +1,17 @@
+package com.practice.foodordering.dto;
+
+import com.practice.foodordering.model.ItemType;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public record MenuItemDto(
+        UUID id,
+        String name,
+        BigDecimal price,
+        ItemType itemType,
+        List<MenuVariantDto> variants,
+        List<MenuAddonDto> addons) implements Serializable {
+}
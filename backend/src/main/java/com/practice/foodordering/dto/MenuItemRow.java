@@ -0,0 +1,12 @@
+package com.practice.foodordering.dto;
+
+import com.practice.foodordering.model.ItemType;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A food item as shown on a restaurant's menu, without its variants and addons.
+ */
+public record MenuItemRow(UUID id, UUID restaurantId, String name, BigDecimal price, ItemType itemType) {
+}
@@ -0,0 +1,11 @@
+package com.practice.foodordering.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A variant or addon of a menu item; for a variant {@code price} is its
+ * price modifier.
+ */
+public record MenuOptionRow(UUID id, UUID itemId, String name, BigDecimal price) {
+}
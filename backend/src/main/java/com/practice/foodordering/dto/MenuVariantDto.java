@@ -0,0 +1,8 @@
+package com.practice.foodordering.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record MenuVariantDto(UUID id, String name, BigDecimal priceModifier) implements Serializable {
+}
@@ -0,0 +1,39 @@
+package com.practice.foodordering.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the {@code (placedAt DESC, id DESC)} ordering, encoded as
+ * an opaque URL-safe token.
+ */
+public record OrderCursor(Instant placedAt, UUID id) {
+
+    private static final UUID MAX_ID = new UUID(-1L, -1L);
+
+    /** Position before the first row of a listing bounded above by {@code to}. */
+    public static OrderCursor start(Instant to) {
+        return new OrderCursor(to, MAX_ID);
+    }
+
+    public static OrderCursor of(OrderRow row) {
+        return new OrderCursor(row.placedAt(), row.id());
+    }
+
+    public String encode() {
+        String raw = placedAt + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('_');
+            return new OrderCursor(Instant.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
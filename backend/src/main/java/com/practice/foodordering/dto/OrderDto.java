@@ -0,0 +1,18 @@
+package com.practice.foodordering.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.practice.foodordering.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record OrderDto(
+        UUID id,
+        UUID userId,
+        OrderStatus status,
+        BigDecimal totalPrice,
+        @JsonProperty("createdAt") Instant placedAt,
+        List<OrderItemDto> items) {
+}
@@ -0,0 +1,22 @@
+package com.practice.foodordering.dto;
+
+import com.practice.foodordering.model.OrderStatus;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Admin listing filter. Absent values are widened to "everything" so the
+ * repository queries never need null checks on their parameters.
+ */
+public record OrderFilter(Set<OrderStatus> statuses, Instant from, Instant to) {
+
+    private static final Instant MAX_PLACED_AT = Instant.parse("9999-12-31T23:59:59Z");
+
+    public OrderFilter {
+        statuses = statuses == null || statuses.isEmpty() ? EnumSet.allOf(OrderStatus.class) : statuses;
+        from = from == null ? Instant.EPOCH : from;
+        to = to == null ? MAX_PLACED_AT : to;
+    }
+}
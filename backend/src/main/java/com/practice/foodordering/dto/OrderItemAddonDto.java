@@ -0,0 +1,11 @@
+package com.practice.foodordering.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record OrderItemAddonDto(
+        UUID id,
+        UUID addonId,
+        String name,
+        BigDecimal price) {
+}
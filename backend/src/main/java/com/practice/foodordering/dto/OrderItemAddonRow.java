@@ -0,0 +1,15 @@
+package com.practice.foodordering.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Scalar projection of an {@code order_item_addons} row joined with its addon.
+ */
+public record OrderItemAddonRow(
+        UUID orderItemId,
+        UUID id,
+        UUID addonId,
+        String name,
+        BigDecimal price) {
+}
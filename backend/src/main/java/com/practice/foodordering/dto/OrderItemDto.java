@@ -0,0 +1,17 @@
+package com.practice.foodordering.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public record OrderItemDto(
+        UUID id,
+        UUID foodItemId,
+        String name,
+        BigDecimal price,
+        UUID variantId,
+        String variantName,
+        BigDecimal variantPriceModifier,
+        Integer quantity,
+        List<OrderItemAddonDto> addons) {
+}
@@ -0,0 +1,20 @@
+package com.practice.foodordering.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Scalar projection of an {@code order_items} row joined with its food item and
+ * (optional) variant.
+ */
+public record OrderItemRow(
+        UUID orderId,
+        UUID id,
+        UUID foodItemId,
+        String foodItemName,
+        BigDecimal price,
+        UUID variantId,
+        String variantName,
+        BigDecimal variantPriceModifier,
+        Integer quantity) {
+}
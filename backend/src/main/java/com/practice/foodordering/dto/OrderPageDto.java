@@ -0,0 +1,9 @@
+package com.practice.foodordering.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of orders. {@code nextCursor} is null on the last page.
+ */
+public record OrderPageDto(List<OrderDto> items, String nextCursor) {
+}
@@ -0,0 +1,18 @@
+package com.practice.foodordering.dto;
+
+import com.practice.foodordering.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Scalar projection of an {@code orders} row; never a managed entity.
+ */
+public record OrderRow(
+        UUID id,
+        UUID userId,
+        OrderStatus status,
+        BigDecimal totalPrice,
+        Instant placedAt) {
+}
@@ -0,0 +1,21 @@
+package com.practice.foodordering.dto;
+
+import com.practice.foodordering.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The columns a status change checks and publishes, read without loading the
+ * order or its items.
+ */
+public record OrderStateRow(
+        UUID id,
+        UUID userId,
+        UUID restaurantId,
+        OrderStatus status,
+        long version,
+        BigDecimal totalPrice,
+        Instant placedAt) {
+}
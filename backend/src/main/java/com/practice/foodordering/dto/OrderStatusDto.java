@@ -0,0 +1,19 @@
+package com.practice.foodordering.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.practice.foodordering.model.OrderStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * What a status change returns: the order's new status and version, without
+ * its lines. Clients that need the lines read the order again.
+ */
+public record OrderStatusDto(
+        UUID id,
+        UUID userId,
+        OrderStatus status,
+        long version,
+        @JsonProperty("createdAt") Instant placedAt) {
+}
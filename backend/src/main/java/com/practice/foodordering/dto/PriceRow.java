@@ -0,0 +1,11 @@
+package com.practice.foodordering.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Price of a food item, variant or addon together with the food item it
+ * belongs to (for a food item, {@code itemId == id}).
+ */
+public record PriceRow(UUID id, UUID itemId, BigDecimal price) {
+}
@@ -3,6 +3,7 @@ package com.practice.foodordering.model;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.io.Serializable;
 import java.util.UUID;
 
 @Entity
@@ -12,7 +13,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class City {
+public class City implements Serializable {
     
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
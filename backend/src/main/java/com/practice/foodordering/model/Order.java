@@ -2,14 +2,15 @@ package com.practice.foodordering.model;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_restaurant_status", columnList = "restaurant_id, status"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,17 +19,28 @@ import java.util.UUID;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private AppUser user;
 
+    // Copied from the items when the order is placed; scopes the restaurant's live board
+    @Column(name = "restaurant_id")
+    private UUID restaurantId;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private OrderStatus status;
 
+    // Bumped by every status change; see OrderRepository#transition
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @com.fasterxml.jackson.annotation.JsonProperty(access = com.fasterxml.jackson.annotation.JsonProperty.Access.READ_ONLY)
+    private long version;
+
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal totalPrice;
 
@@ -37,7 +49,14 @@ public class Order {
     private java.util.List<OrderItem> items;
 
     @com.fasterxml.jackson.annotation.JsonProperty("createdAt")
-    @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private Instant placedAt;
+
+    // Orders taken through the write-behind journal keep the time they were accepted
+    @PrePersist
+    void onPersist() {
+        if (placedAt == null) {
+            placedAt = Instant.now();
+        }
+    }
 }
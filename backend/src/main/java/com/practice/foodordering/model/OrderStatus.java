@@ -1,9 +1,42 @@
 package com.practice.foodordering.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     PLACED,
     PREPARING,
     OUT_FOR_DELIVERY,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * The statuses an order in this status may move to. COMPLETED and
+     * CANCELLED are final.
+     */
+    public Set<OrderStatus> next() {
+        return switch (this) {
+            case PLACED -> EnumSet.of(PREPARING, CANCELLED);
+            case PREPARING -> EnumSet.of(OUT_FOR_DELIVERY, CANCELLED);
+            case OUT_FOR_DELIVERY -> EnumSet.of(COMPLETED);
+            case COMPLETED, CANCELLED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+
+    public boolean canMoveTo(OrderStatus target) {
+        return next().contains(target);
+    }
+
+    /**
+     * The statuses an order may be in to move to {@code target}.
+     */
+    public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+        Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.canMoveTo(target)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
 }
@@ -0,0 +1,7 @@
+package com.practice.foodordering.model;
+
+public enum ReindexStatus {
+    RUNNING,
+    FAILED,
+    COMPLETED
+}
@@ -0,0 +1,46 @@
+package com.practice.foodordering.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Checkpoint of a full rebuild of the search index. {@code lastItemId} is the
+ * keyset position the job has durably written up to, so a failed or
+ * interrupted job can resume from there.
+ */
+@Entity
+@Table(name = "search_reindex_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchReindexJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String indexName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReindexStatus status;
+
+    private UUID lastItemId;
+
+    @Column(nullable = false)
+    private long indexedCount;
+
+    @Column(nullable = false)
+    private Instant startedAt;
+
+    private Instant updatedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+}
@@ -6,6 +6,7 @@ import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
 
+// "food_items" is an alias once SearchReindexService has run; it points at the current food_items_v<timestamp> index
 @Document(indexName = "food_items")
 @Getter
 @Setter
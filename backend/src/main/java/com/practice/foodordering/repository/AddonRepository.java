@@ -1,7 +1,11 @@
 package com.practice.foodordering.repository;
 
+import com.practice.foodordering.dto.MenuOptionRow;
+import com.practice.foodordering.dto.PriceRow;
 import com.practice.foodordering.model.Addon;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +14,16 @@ import java.util.UUID;
 @Repository
 public interface AddonRepository extends JpaRepository<Addon, UUID> {
     List<Addon> findByFoodItemId(UUID foodItemId);
+
+    @Query("SELECT new com.practice.foodordering.dto.PriceRow(a.id, a.foodItem.id, a.price) " +
+            "FROM Addon a WHERE a.foodItem.restaurant.id = :restaurantId")
+    List<PriceRow> findPricesByRestaurantId(@Param("restaurantId") UUID restaurantId);
+
+    @Query("SELECT new com.practice.foodordering.dto.MenuOptionRow(a.id, a.foodItem.id, a.name, a.price) " +
+            "FROM Addon a WHERE a.foodItem.restaurant.id = :restaurantId ORDER BY a.price, a.name, a.id")
+    List<MenuOptionRow> findMenuRowsByRestaurantId(@Param("restaurantId") UUID restaurantId);
+
+    @Query("SELECT new com.practice.foodordering.dto.MenuOptionRow(a.id, a.foodItem.id, a.name, a.price) " +
+            "FROM Addon a WHERE a.foodItem.restaurant.city.id = :cityId ORDER BY a.price, a.name, a.id")
+    List<MenuOptionRow> findMenuRowsByCityId(@Param("cityId") UUID cityId);
 }
@@ -1,19 +1,63 @@
 package com.practice.foodordering.repository;
 
+import com.practice.foodordering.dto.FoodItemSearchRow;
+import com.practice.foodordering.dto.MenuItemRow;
+import com.practice.foodordering.dto.PriceRow;
 import com.practice.foodordering.model.FoodItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface FoodItemRepository extends JpaRepository<FoodItem, UUID> {
     List<FoodItem> findByRestaurantId(UUID restaurantId);
 
-    @org.springframework.data.jpa.repository.Query("SELECT f FROM FoodItem f WHERE " +
+    @org.springframework.data.jpa.repository.Query("SELECT new com.practice.foodordering.dto.FoodItemSearchRow(" +
+            "f.id, f.name, r.id, r.name, c.name) FROM FoodItem f JOIN f.restaurant r JOIN r.city c WHERE " +
             "LOWER(f.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(f.restaurant.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(f.restaurant.city.name) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<FoodItem> searchGlobal(@org.springframework.data.repository.query.Param("keyword") String keyword);
+            "LOWER(r.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    List<FoodItemSearchRow> searchGlobal(@org.springframework.data.repository.query.Param("keyword") String keyword,
+            Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query("SELECT f.id FROM FoodItem f WHERE f.restaurant.id = :restaurantId")
+    List<UUID> findIdsByRestaurantId(@org.springframework.data.repository.query.Param("restaurantId") UUID restaurantId);
+
+    @org.springframework.data.jpa.repository.Query("SELECT f.id FROM FoodItem f WHERE f.restaurant.city.id = :cityId")
+    List<UUID> findIdsByCityId(@org.springframework.data.repository.query.Param("cityId") UUID cityId);
+
+    @org.springframework.data.jpa.repository.Query("SELECT f.restaurant.id FROM FoodItem f WHERE f.id = :id")
+    Optional<UUID> findRestaurantIdById(@org.springframework.data.repository.query.Param("id") UUID id);
+
+    @org.springframework.data.jpa.repository.Query("SELECT new com.practice.foodordering.dto.PriceRow(f.id, f.id, f.price) " +
+            "FROM FoodItem f WHERE f.restaurant.id = :restaurantId")
+    List<PriceRow> findPricesByRestaurantId(
+            @org.springframework.data.repository.query.Param("restaurantId") UUID restaurantId);
+
+    @org.springframework.data.jpa.repository.Query("SELECT new com.practice.foodordering.dto.FoodItemSearchRow(" +
+            "f.id, f.name, r.id, r.name, c.name) FROM FoodItem f JOIN f.restaurant r JOIN r.city c WHERE f.id IN :ids")
+    List<FoodItemSearchRow> findSearchRowsByIds(
+            @org.springframework.data.repository.query.Param("ids") Collection<UUID> ids);
+
+    @org.springframework.data.jpa.repository.Query("SELECT new com.practice.foodordering.dto.FoodItemSearchRow(" +
+            "f.id, f.name, r.id, r.name, c.name) FROM FoodItem f JOIN f.restaurant r JOIN r.city c " +
+            "WHERE f.id > :afterId ORDER BY f.id")
+    List<FoodItemSearchRow> findSearchRowsAfter(
+            @org.springframework.data.repository.query.Param("afterId") UUID afterId, Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query("SELECT new com.practice.foodordering.dto.MenuItemRow(" +
+            "f.id, f.restaurant.id, f.name, f.price, f.itemType) FROM FoodItem f " +
+            "WHERE f.restaurant.id = :restaurantId ORDER BY f.name, f.id")
+    List<MenuItemRow> findMenuRowsByRestaurantId(
+            @org.springframework.data.repository.query.Param("restaurantId") UUID restaurantId);
+
+    @org.springframework.data.jpa.repository.Query("SELECT new com.practice.foodordering.dto.MenuItemRow(" +
+            "f.id, f.restaurant.id, f.name, f.price, f.itemType) FROM FoodItem f " +
+            "WHERE f.restaurant.city.id = :cityId ORDER BY f.name, f.id")
+    List<MenuItemRow> findMenuRowsByCityId(@org.springframework.data.repository.query.Param("cityId") UUID cityId);
 }
@@ -1,13 +1,21 @@
 package com.practice.foodordering.repository;
 
+import com.practice.foodordering.dto.OrderItemAddonRow;
 import com.practice.foodordering.model.OrderItemAddon;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface OrderItemAddonRepository extends JpaRepository<OrderItemAddon, UUID> {
     List<OrderItemAddon> findByOrderItemId(UUID orderItemId);
+
+    @Query("SELECT new com.practice.foodordering.dto.OrderItemAddonRow(oia.orderItem.id, oia.id, a.id, a.name, a.price) " +
+            "FROM OrderItemAddon oia JOIN oia.addon a JOIN oia.orderItem oi WHERE oi.order.id IN :orderIds")
+    List<OrderItemAddonRow> findRowsByOrderIds(@Param("orderIds") Collection<UUID> orderIds);
 }
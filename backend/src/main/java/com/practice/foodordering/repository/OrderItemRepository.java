@@ -1,13 +1,22 @@
 package com.practice.foodordering.repository;
 
+import com.practice.foodordering.dto.OrderItemRow;
 import com.practice.foodordering.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
     List<OrderItem> findByOrderId(UUID orderId);
+
+    @Query("SELECT new com.practice.foodordering.dto.OrderItemRow(oi.order.id, oi.id, f.id, f.name, f.price, " +
+            "v.id, v.name, v.priceModifier, oi.quantity) " +
+            "FROM OrderItem oi JOIN oi.foodItem f LEFT JOIN oi.variant v WHERE oi.order.id IN :orderIds")
+    List<OrderItemRow> findRowsByOrderIds(@Param("orderIds") Collection<UUID> orderIds);
 }
@@ -1,13 +1,107 @@
 package com.practice.foodordering.repository;
 
+import com.practice.foodordering.dto.OrderRow;
+import com.practice.foodordering.dto.OrderStateRow;
 import com.practice.foodordering.model.Order;
+import com.practice.foodordering.model.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
     List<Order> findByUserIdOrderByPlacedAtDesc(UUID userId);
+
+    @Query("SELECT new com.practice.foodordering.dto.OrderRow(o.id, o.user.id, o.status, o.totalPrice, o.placedAt) " +
+            "FROM Order o WHERE o.user.id = :userId ORDER BY o.placedAt DESC, o.id DESC")
+    List<OrderRow> findRowsByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT new com.practice.foodordering.dto.OrderRow(o.id, o.user.id, o.status, o.totalPrice, o.placedAt) " +
+            "FROM Order o WHERE o.status IN :statuses AND o.placedAt >= :from AND o.placedAt < :to " +
+            "AND (o.placedAt < :afterPlacedAt OR (o.placedAt = :afterPlacedAt AND o.id < :afterId)) " +
+            "ORDER BY o.placedAt DESC, o.id DESC")
+    List<OrderRow> findRowsAfter(@Param("statuses") Collection<OrderStatus> statuses,
+            @Param("from") Instant from,
+            @Param("to") Instant to,
+            @Param("afterPlacedAt") Instant afterPlacedAt,
+            @Param("afterId") UUID afterId,
+            Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.practice.foodordering.dto.OrderRow(o.id, o.user.id, o.status, o.totalPrice, o.placedAt) " +
+            "FROM Order o WHERE o.status IN :statuses AND o.placedAt >= :from AND o.placedAt < :to " +
+            "ORDER BY o.placedAt DESC, o.id DESC")
+    Stream<OrderRow> streamRows(@Param("statuses") Collection<OrderStatus> statuses,
+            @Param("from") Instant from,
+            @Param("to") Instant to);
+
+    @Query("SELECT new com.practice.foodordering.dto.OrderRow(o.id, o.user.id, o.status, o.totalPrice, o.placedAt) " +
+            "FROM Order o WHERE o.restaurantId = :restaurantId AND o.status IN :statuses " +
+            "ORDER BY o.placedAt ASC, o.id ASC")
+    List<OrderRow> findRowsByRestaurantId(@Param("restaurantId") UUID restaurantId,
+            @Param("statuses") Collection<OrderStatus> statuses,
+            Pageable pageable);
+
+    @Query("SELECT new com.practice.foodordering.dto.OrderStateRow(o.id, o.user.id, o.restaurantId, o.status, " +
+            "o.version, o.totalPrice, o.placedAt) FROM Order o WHERE o.id = :id")
+    Optional<OrderStateRow> findStateById(@Param("id") UUID id);
+
+    /**
+     * Moves the order to {@code to} in one statement if it is in one of
+     * {@code from} and was placed at or after {@code placedFrom}. Returns the
+     * number of rows changed: 0 means the order is missing or no longer
+     * qualifies.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :to, o.version = o.version + 1 " +
+            "WHERE o.id = :id AND o.status IN :from AND o.placedAt >= :placedFrom")
+    int transition(@Param("id") UUID id,
+            @Param("from") Collection<OrderStatus> from,
+            @Param("to") OrderStatus to,
+            @Param("placedFrom") Instant placedFrom);
+
+    /**
+     * {@link #transition} that only applies to an order placed by {@code userId}.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :to, o.version = o.version + 1 " +
+            "WHERE o.id = :id AND o.user.id = :userId AND o.status IN :from AND o.placedAt >= :placedFrom")
+    int transitionOwnedBy(@Param("id") UUID id,
+            @Param("userId") UUID userId,
+            @Param("from") Collection<OrderStatus> from,
+            @Param("to") OrderStatus to,
+            @Param("placedFrom") Instant placedFrom);
+
+    /**
+     * {@link #transition} that also requires the order to still be at
+     * {@code version}.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :to, o.version = o.version + 1 " +
+            "WHERE o.id = :id AND o.status IN :from AND o.placedAt >= :placedFrom AND o.version = :version")
+    int transitionAtVersion(@Param("id") UUID id,
+            @Param("from") Collection<OrderStatus> from,
+            @Param("to") OrderStatus to,
+            @Param("placedFrom") Instant placedFrom,
+            @Param("version") long version);
 }
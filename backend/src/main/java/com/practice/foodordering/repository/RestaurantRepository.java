@@ -1,7 +1,10 @@
 package com.practice.foodordering.repository;
 
 import com.practice.foodordering.model.Restaurant;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,7 +13,15 @@ import java.util.UUID;
 
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, UUID> {
+    // City is fetched with the restaurants so cached lists are complete and serializable
+    @EntityGraph(attributePaths = "city")
     List<Restaurant> findByCityId(UUID cityId);
 
     Optional<Restaurant> findByName(String name);
+
+    @Query("SELECT r.name FROM Restaurant r WHERE r.id = :id")
+    Optional<String> findNameById(@Param("id") UUID id);
+
+    @Query("SELECT r.city.id FROM Restaurant r WHERE r.id = :id")
+    Optional<UUID> findCityIdById(@Param("id") UUID id);
 }
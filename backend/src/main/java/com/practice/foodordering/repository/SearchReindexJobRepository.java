@@ -0,0 +1,16 @@
+package com.practice.foodordering.repository;
+
+import com.practice.foodordering.model.ReindexStatus;
+import com.practice.foodordering.model.SearchReindexJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SearchReindexJobRepository extends JpaRepository<SearchReindexJob, UUID> {
+    Optional<SearchReindexJob> findFirstByOrderByStartedAtDesc();
+
+    Optional<SearchReindexJob> findFirstByStatusNotOrderByStartedAtDesc(ReindexStatus status);
+}
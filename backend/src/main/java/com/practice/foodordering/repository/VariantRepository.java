@@ -1,7 +1,11 @@
 package com.practice.foodordering.repository;
 
+import com.practice.foodordering.dto.MenuOptionRow;
+import com.practice.foodordering.dto.PriceRow;
 import com.practice.foodordering.model.Variant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +14,16 @@ import java.util.UUID;
 @Repository
 public interface VariantRepository extends JpaRepository<Variant, UUID> {
     List<Variant> findByFoodItemId(UUID foodItemId);
+
+    @Query("SELECT new com.practice.foodordering.dto.PriceRow(v.id, v.foodItem.id, v.priceModifier) " +
+            "FROM Variant v WHERE v.foodItem.restaurant.id = :restaurantId")
+    List<PriceRow> findPricesByRestaurantId(@Param("restaurantId") UUID restaurantId);
+
+    @Query("SELECT new com.practice.foodordering.dto.MenuOptionRow(v.id, v.foodItem.id, v.name, v.priceModifier) " +
+            "FROM Variant v WHERE v.foodItem.restaurant.id = :restaurantId ORDER BY v.priceModifier, v.name, v.id")
+    List<MenuOptionRow> findMenuRowsByRestaurantId(@Param("restaurantId") UUID restaurantId);
+
+    @Query("SELECT new com.practice.foodordering.dto.MenuOptionRow(v.id, v.foodItem.id, v.name, v.priceModifier) " +
+            "FROM Variant v WHERE v.foodItem.restaurant.city.id = :cityId ORDER BY v.priceModifier, v.name, v.id")
+    List<MenuOptionRow> findMenuRowsByCityId(@Param("cityId") UUID cityId);
 }
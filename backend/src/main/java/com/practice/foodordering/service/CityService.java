@@ -2,6 +2,7 @@ package com.practice.foodordering.service;
 
 import com.practice.foodordering.model.City;
 import com.practice.foodordering.repository.CityRepository;
+import com.practice.foodordering.service.catalog.CatalogService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
@@ -15,6 +16,8 @@ import java.util.UUID;
 public class CityService {
 
     private final CityRepository cityRepository;
+    private final SearchService searchService;
+    private final CatalogService catalogService;
 
     @Cacheable(value = "cities")
     public List<City> getAllCities() {
@@ -30,12 +33,17 @@ public class CityService {
     public City updateCity(UUID id, City updatedCity) {
         return cityRepository.findById(id).map(city -> {
             city.setName(updatedCity.getName());
-            return cityRepository.save(city);
+            City saved = cityRepository.save(city);
+            // Item documents embed the city name
+            searchService.reindexCity(id);
+            catalogService.cityChanged(id);
+            return saved;
         }).orElseThrow(() -> new RuntimeException("City not found"));
     }
 
     @CacheEvict(value = "cities", allEntries = true)
     public void deleteCity(UUID id) {
         cityRepository.deleteById(id);
+        catalogService.cityRemoved(id);
     }
 }
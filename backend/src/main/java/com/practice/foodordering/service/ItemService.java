@@ -6,10 +6,14 @@ import com.practice.foodordering.model.Variant;
 import com.practice.foodordering.repository.AddonRepository;
 import com.practice.foodordering.repository.FoodItemRepository;
 import com.practice.foodordering.repository.VariantRepository;
+import com.practice.foodordering.service.catalog.CatalogService;
+import com.practice.foodordering.service.menu.MenuService;
+import com.practice.foodordering.service.pricing.PricingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -20,6 +24,9 @@ public class ItemService {
     private final VariantRepository variantRepository;
     private final AddonRepository addonRepository;
     private final SearchService searchService;
+    private final PricingService pricingService;
+    private final MenuService menuService;
+    private final CatalogService catalogService;
 
     public List<FoodItem> getItemsByRestaurant(UUID restaurantId) {
         return foodItemRepository.findByRestaurantId(restaurantId);
@@ -27,23 +34,21 @@ public class ItemService {
 
     public FoodItem createItem(FoodItem item) {
         FoodItem savedItem = foodItemRepository.save(item);
-        // Note: For a real app, ensure restaurant and city are fetched lazily or mapped
-        // before indexing
-        try {
-            searchService.indexFoodItem(savedItem);
-        } catch (Exception e) {
-            // Log error, continue saving to DB even if ES fails
-            System.err.println("Failed to index to Elasticsearch: " + e.getMessage());
-        }
+        menuChanged(savedItem.getRestaurant().getId());
+        searchService.indexFoodItem(savedItem);
         return savedItem;
     }
 
     public Variant createVariant(Variant variant) {
-        return variantRepository.save(variant);
+        Variant saved = variantRepository.save(variant);
+        foodItemRepository.findRestaurantIdById(saved.getFoodItem().getId()).ifPresent(this::menuChanged);
+        return saved;
     }
 
     public Addon createAddon(Addon addon) {
-        return addonRepository.save(addon);
+        Addon saved = addonRepository.save(addon);
+        foodItemRepository.findRestaurantIdById(saved.getFoodItem().getId()).ifPresent(this::menuChanged);
+        return saved;
     }
 
     public List<Variant> getVariantsForItem(UUID itemId) {
@@ -60,16 +65,23 @@ public class ItemService {
             item.setPrice(updatedItem.getPrice());
             item.setItemType(updatedItem.getItemType());
             FoodItem saved = foodItemRepository.save(item);
-            try {
-                searchService.indexFoodItem(saved);
-            } catch (Exception e) {
-                System.err.println("Failed to update index: " + e.getMessage());
-            }
+            menuChanged(saved.getRestaurant().getId());
+            searchService.indexFoodItem(saved);
             return saved;
         }).orElseThrow(() -> new RuntimeException("Item not found"));
     }
 
     public void deleteItem(UUID id) {
+        // Resolved while the item still exists; invalidated once it is gone
+        Optional<UUID> restaurantId = foodItemRepository.findRestaurantIdById(id);
         foodItemRepository.deleteById(id);
+        restaurantId.ifPresent(this::menuChanged);
+        searchService.removeFoodItem(id);
+    }
+
+    private void menuChanged(UUID restaurantId) {
+        pricingService.invalidate(restaurantId);
+        menuService.invalidate(restaurantId);
+        catalogService.restaurantChanged(restaurantId);
     }
 }
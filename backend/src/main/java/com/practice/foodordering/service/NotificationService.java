@@ -1,52 +1,71 @@
 package com.practice.foodordering.service;
 
 import com.practice.foodordering.model.Order;
+import com.practice.foodordering.service.notification.NotificationHub;
+import com.practice.foodordering.service.notification.OrderEvent;
+import com.practice.foodordering.service.notification.OrderEventBus;
+import com.practice.foodordering.service.notification.OrderEventLog;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
+@RequiredArgsConstructor
 public class NotificationService {
 
-    private final Map<UUID, SseEmitter> emitters = new ConcurrentHashMap<>();
+    private final NotificationHub hub;
+    private final OrderEventBus eventBus;
+    private final OrderEventLog eventLog;
 
-    public SseEmitter subscribe(UUID userId) {
-        SseEmitter emitter = new SseEmitter(Long.MAX_VALUE);
+    @PostConstruct
+    void listen() {
+        eventBus.subscribe(this::deliver);
+    }
 
-        emitter.onCompletion(() -> emitters.remove(userId));
-        emitter.onTimeout(() -> emitters.remove(userId));
-        emitter.onError((e) -> emitters.remove(userId));
+    /**
+     * Opens a connection for the user. A client resuming with
+     * {@code Last-Event-ID} is first sent the updates it missed, as far as the
+     * replay buffer reaches.
+     */
+    public SseEmitter subscribe(UUID userId, String lastEventId) {
+        long after = parseEventId(lastEventId);
+        if (after <= 0) {
+            return hub.subscribe(userId);
+        }
+        return hub.subscribe(userId, () -> eventLog.since(userId, after).stream().map(this::toHubEvent).toList());
+    }
 
-        emitters.put(userId, emitter);
+    /**
+     * Publishes the update to every node; each node queues it for the user's
+     * connections it holds. Never blocks on a client socket.
+     */
+    public void sendOrderStatusUpdate(Order order) {
+        eventBus.publish(OrderEvent.of(order));
+    }
 
-        // Send initial connection message
-        try {
-            emitter.send(SseEmitter.event().name("INIT").data("Connected"));
-        } catch (IOException e) {
-            emitters.remove(userId);
-        }
+    private void deliver(OrderEvent event) {
+        eventLog.append(event);
+        hub.send(event.userId(), toHubEvent(event));
+    }
 
-        return emitter;
+    private NotificationHub.Event toHubEvent(OrderEvent event) {
+        return new NotificationHub.Event(event.id(), "ORDER_UPDATE", Map.of(
+                "orderId", event.orderId(),
+                "status", event.status()));
     }
 
-    public void sendOrderStatusUpdate(Order order) {
-        UUID userId = order.getUser().getId();
-        SseEmitter emitter = emitters.get(userId);
-
-        if (emitter != null) {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("ORDER_UPDATE")
-                        .data(Map.of(
-                                "orderId", order.getId(),
-                                "status", order.getStatus())));
-            } catch (IOException e) {
-                emitters.remove(userId);
-            }
+    private static long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return 0;
         }
     }
 }
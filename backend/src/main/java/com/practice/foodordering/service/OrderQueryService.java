@@ -0,0 +1,126 @@
+package com.practice.foodordering.service;
+
+import com.practice.foodordering.dto.OrderCursor;
+import com.practice.foodordering.dto.OrderDto;
+import com.practice.foodordering.dto.OrderFilter;
+import com.practice.foodordering.dto.OrderItemAddonDto;
+import com.practice.foodordering.dto.OrderItemAddonRow;
+import com.practice.foodordering.dto.OrderItemDto;
+import com.practice.foodordering.dto.OrderItemRow;
+import com.practice.foodordering.dto.OrderPageDto;
+import com.practice.foodordering.dto.OrderRow;
+import com.practice.foodordering.repository.OrderItemAddonRepository;
+import com.practice.foodordering.repository.OrderItemRepository;
+import com.practice.foodordering.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Read side for orders. Builds {@link OrderDto} graphs from flat projections so
+ * that a list of orders costs three queries (orders, items, addons) no matter
+ * how many orders, items or addons it contains.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrderQueryService {
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderItemAddonRepository orderItemAddonRepository;
+
+    @Value("${app.orders.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${app.orders.export.batch-size:500}")
+    private int exportBatchSize;
+
+    public List<OrderDto> getUserOrderHistory(UUID userId) {
+        return assemble(orderRepository.findRowsByUserId(userId));
+    }
+
+    public OrderPageDto getOrdersPage(OrderFilter filter, OrderCursor cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        OrderCursor after = cursor != null ? cursor : OrderCursor.start(filter.to());
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<OrderRow> rows = orderRepository.findRowsAfter(filter.statuses(), filter.from(), filter.to(),
+                after.placedAt(), after.id(), PageRequest.of(0, size + 1));
+
+        boolean hasMore = rows.size() > size;
+        List<OrderRow> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? OrderCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new OrderPageDto(assemble(page), nextCursor);
+    }
+
+    /**
+     * Scrolls every order matching the filter through a forward-only cursor and
+     * hands them to {@code sink} in batches of {@code app.orders.export.batch-size}.
+     * Only one batch is ever held in memory.
+     */
+    public void exportOrders(OrderFilter filter, Consumer<OrderDto> sink) {
+        try (Stream<OrderRow> rows = orderRepository.streamRows(filter.statuses(), filter.from(), filter.to())) {
+            List<OrderRow> batch = new ArrayList<>(exportBatchSize);
+            rows.forEach(row -> {
+                batch.add(row);
+                if (batch.size() >= exportBatchSize) {
+                    assemble(batch).forEach(sink);
+                    batch.clear();
+                }
+            });
+            assemble(batch).forEach(sink);
+        }
+    }
+
+    List<OrderDto> assemble(List<OrderRow> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> orderIds = orders.stream().map(OrderRow::id).toList();
+
+        Map<UUID, List<OrderItemAddonDto>> addonsByItem = new HashMap<>();
+        for (OrderItemAddonRow row : orderItemAddonRepository.findRowsByOrderIds(orderIds)) {
+            addonsByItem.computeIfAbsent(row.orderItemId(), k -> new ArrayList<>())
+                    .add(new OrderItemAddonDto(row.id(), row.addonId(), row.name(), row.price()));
+        }
+
+        Map<UUID, List<OrderItemDto>> itemsByOrder = new HashMap<>();
+        for (OrderItemRow row : orderItemRepository.findRowsByOrderIds(orderIds)) {
+            itemsByOrder.computeIfAbsent(row.orderId(), k -> new ArrayList<>())
+                    .add(new OrderItemDto(
+                            row.id(),
+                            row.foodItemId(),
+                            row.foodItemName(),
+                            row.price(),
+                            row.variantId(),
+                            row.variantName(),
+                            row.variantPriceModifier(),
+                            row.quantity(),
+                            addonsByItem.getOrDefault(row.id(), List.of())));
+        }
+
+        List<OrderDto> result = new ArrayList<>(orders.size());
+        for (OrderRow row : orders) {
+            result.add(new OrderDto(
+                    row.id(),
+                    row.userId(),
+                    row.status(),
+                    row.totalPrice(),
+                    row.placedAt(),
+                    itemsByOrder.getOrDefault(row.id(), List.of())));
+        }
+        return result;
+    }
+}
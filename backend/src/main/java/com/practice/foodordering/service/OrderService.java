@@ -1,67 +1,162 @@
 package com.practice.foodordering.service;
 
+import com.practice.foodordering.dto.OrderStateRow;
+import com.practice.foodordering.dto.OrderStatusDto;
+import com.practice.foodordering.model.AppUser;
 import com.practice.foodordering.model.Order;
 import com.practice.foodordering.model.OrderStatus;
 import com.practice.foodordering.repository.OrderRepository;
+import com.practice.foodordering.service.pricing.PricingService;
+import com.practice.foodordering.service.writebehind.OrderWriteBehind;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.List;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
+    static final Duration CANCELLATION_WINDOW = Duration.ofMinutes(1);
+
     private final OrderRepository orderRepository;
     private final NotificationService notificationService;
-
-    public List<Order> getUserOrders(UUID userId) {
-        return orderRepository.findByUserIdOrderByPlacedAtDesc(userId);
-    }
+    private final PricingService pricingService;
+    private final Optional<OrderWriteBehind> writeBehind;
+    private final MeterRegistry meterRegistry;
 
     public Order placeOrder(Order order) {
-        order.setStatus(OrderStatus.PLACED);
-        if (order.getItems() != null) {
-            order.getItems().forEach(item -> {
-                item.setOrder(order);
-                if (item.getAddons() != null) {
-                    item.getAddons().forEach(addon -> addon.setOrderItem(item));
-                }
-            });
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failed";
+        try {
+            Order placed = place(order);
+            outcome = "placed";
+            return placed;
+        } finally {
+            sample.stop(meterRegistry.timer("orders.place",
+                    "path", writeBehind.isPresent() ? "write-behind" : "direct", "outcome", outcome));
         }
-        return orderRepository.save(order);
     }
 
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    /**
+     * Moves the order to {@code status} if its current status allows it (see
+     * {@link OrderStatus#next()}) and, when {@code expectedVersion} is given,
+     * nobody changed it since that version was read. The change is a single
+     * conditional UPDATE, so of two racing changes one wins and the other gets
+     * 409. Nothing moves an order to {@link OrderStatus#PLACED}; asking for it
+     * is a 400.
+     */
+    public OrderStatusDto updateOrderStatus(UUID orderId, OrderStatus status, Long expectedVersion) {
+        Set<OrderStatus> from = allowedSources(status);
+        int changed = expectedVersion != null
+                ? orderRepository.transitionAtVersion(orderId, from, status, Instant.EPOCH, expectedVersion)
+                : orderRepository.transition(orderId, from, status, Instant.EPOCH);
+        return applied(orderId, from, status, Instant.EPOCH, expectedVersion, null, changed);
     }
 
-    public Order updateOrderStatus(UUID orderId, OrderStatus status) {
-        return orderRepository.findById(orderId).map(order -> {
-            order.setStatus(status);
-            Order savedOrder = orderRepository.save(order);
-            notificationService.sendOrderStatusUpdate(savedOrder);
-            return savedOrder;
-        }).orElseThrow(() -> new RuntimeException("Order not found"));
+    /**
+     * Customer cancellation: only before the kitchen has started and within
+     * {@link #CANCELLATION_WINDOW} of placing the order. Customers may only
+     * cancel their own orders (403 otherwise); admins may cancel any.
+     */
+    public OrderStatusDto cancelOrder(UUID orderId, Authentication authentication) {
+        UUID owner = isAdmin(authentication) ? null : UUID.fromString(authentication.getName());
+        Set<OrderStatus> from = EnumSet.of(OrderStatus.PLACED);
+        Instant placedFrom = Instant.now().minus(CANCELLATION_WINDOW);
+        // The owner is part of the WHERE clause, so someone else's order never changes
+        int changed = owner == null
+                ? orderRepository.transition(orderId, from, OrderStatus.CANCELLED, placedFrom)
+                : orderRepository.transitionOwnedBy(orderId, owner, from, OrderStatus.CANCELLED, placedFrom);
+        return applied(orderId, from, OrderStatus.CANCELLED, placedFrom, null, owner, changed);
     }
 
-    public Order cancelOrder(UUID orderId) {
-        return orderRepository.findById(orderId).map(order -> {
-            if (order.getStatus() != OrderStatus.PLACED) {
-                throw new RuntimeException("Cannot cancel order that is already " + order.getStatus());
+    private Order place(Order order) {
+        // Rejects an order without items or mixing restaurants, so every line below has a food item
+        PricingService.Quote quote = pricingService.quote(order);
+        order.setTotalPrice(quote.total());
+        order.setRestaurantId(quote.restaurantId());
+        order.setStatus(OrderStatus.PLACED);
+        order.getItems().forEach(item -> {
+            item.setOrder(order);
+            if (item.getAddons() != null) {
+                item.getAddons().forEach(addon -> addon.setOrderItem(item));
             }
+        });
+        Order placed = writeBehind.isPresent() ? writeBehind.get().accept(order) : orderRepository.save(order);
+        notificationService.sendOrderStatusUpdate(placed);
+        return placed;
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream().anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+    }
 
-            long secondsSincePlaced = java.time.Duration.between(order.getPlacedAt(), Instant.now()).toSeconds();
-            if (secondsSincePlaced > 60) {
-                throw new RuntimeException("Cancellation window of 1 minute has expired.");
+    private static Set<OrderStatus> allowedSources(OrderStatus to) {
+        Set<OrderStatus> from = OrderStatus.sourcesOf(to);
+        if (from.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Orders cannot be moved to " + to);
+        }
+        return from;
+    }
+
+    /**
+     * Follows up the conditional UPDATE that has already run. The order is read
+     * back either way: when the UPDATE matched nothing, to tell a missing order
+     * (404) or someone else's order (403, when {@code owner} is set) from a lost
+     * race (409), and when it applied, because the status
+     * event carries the owner, restaurant, total and placement time that the
+     * UPDATE does not return.
+     */
+    private OrderStatusDto applied(UUID orderId, Set<OrderStatus> from, OrderStatus to, Instant placedFrom,
+            Long expectedVersion, UUID owner, int changed) {
+        OrderStateRow current = orderRepository.findStateById(orderId).orElseThrow(OrderService::notFound);
+        if (changed == 0) {
+            if (owner != null && !owner.equals(current.userId())) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only cancel your own orders");
             }
+            throw rejected(current, from, to, placedFrom, expectedVersion);
+        }
+        meterRegistry.counter("orders.status.transitions", "to", to.name(), "outcome", "applied").increment();
+        notificationService.sendOrderStatusUpdate(Order.builder()
+                .id(orderId)
+                .user(AppUser.builder().id(current.userId()).build())
+                .restaurantId(current.restaurantId())
+                .status(to)
+                .totalPrice(current.totalPrice())
+                .placedAt(current.placedAt())
+                .build());
+        return new OrderStatusDto(orderId, current.userId(), to, current.version(), current.placedAt());
+    }
+
+    private ResponseStatusException rejected(OrderStateRow order, Set<OrderStatus> from, OrderStatus to,
+            Instant placedFrom, Long expectedVersion) {
+        meterRegistry.counter("orders.status.transitions", "to", to.name(), "outcome", "rejected").increment();
+        String reason;
+        if (!from.contains(order.status())) {
+            reason = to == OrderStatus.CANCELLED
+                    ? "Cannot cancel order that is already " + order.status()
+                    : "Cannot move order from " + order.status() + " to " + to;
+        } else if (expectedVersion != null && order.version() != expectedVersion) {
+            reason = "Order was changed by someone else (now at version " + order.version() + ")";
+        } else if (order.placedAt().isBefore(placedFrom)) {
+            reason = "Cancellation window of 1 minute has expired.";
+        } else {
+            reason = "Order was changed by someone else, please retry";
+        }
+        return new ResponseStatusException(HttpStatus.CONFLICT, reason);
+    }
 
-            order.setStatus(OrderStatus.CANCELLED);
-            Order savedOrder = orderRepository.save(order);
-            notificationService.sendOrderStatusUpdate(savedOrder);
-            return savedOrder;
-        }).orElseThrow(() -> new RuntimeException("Order not found"));
+    private static ResponseStatusException notFound() {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found");
     }
 }
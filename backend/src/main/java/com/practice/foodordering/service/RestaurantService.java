@@ -2,10 +2,13 @@ package com.practice.foodordering.service;
 
 import com.practice.foodordering.model.Restaurant;
 import com.practice.foodordering.repository.RestaurantRepository;
+import com.practice.foodordering.service.catalog.CatalogService;
+import com.practice.foodordering.service.menu.MenuService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -13,27 +16,43 @@ import java.util.UUID;
 public class RestaurantService {
 
     private final RestaurantRepository restaurantRepository;
+    private final SearchService searchService;
+    private final MenuService menuService;
+    private final CatalogService catalogService;
 
     @org.springframework.cache.annotation.Cacheable(value = "restaurants", key = "#cityId")
     public List<Restaurant> getRestaurantsByCity(UUID cityId) {
         return restaurantRepository.findByCityId(cityId);
     }
 
+    @org.springframework.cache.annotation.CacheEvict(value = "restaurants", allEntries = true)
     public Restaurant createRestaurant(Restaurant restaurant) {
-        return restaurantRepository.save(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        catalogService.restaurantChanged(saved.getCity().getId(), saved.getId());
+        return saved;
     }
 
+    @org.springframework.cache.annotation.CacheEvict(value = "restaurants", allEntries = true)
     public Restaurant updateRestaurant(UUID id, Restaurant updatedRestaurant) {
         return restaurantRepository.findById(id).map(restaurant -> {
             restaurant.setName(updatedRestaurant.getName());
             restaurant.setAddress(updatedRestaurant.getAddress());
             restaurant.setLandmark(updatedRestaurant.getLandmark());
             restaurant.setRating(updatedRestaurant.getRating());
-            return restaurantRepository.save(restaurant);
+            Restaurant saved = restaurantRepository.save(restaurant);
+            // Item documents embed the restaurant name
+            searchService.reindexRestaurant(id);
+            menuService.invalidate(id);
+            catalogService.restaurantChanged(saved.getCity().getId(), id);
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Restaurant not found"));
     }
 
+    @org.springframework.cache.annotation.CacheEvict(value = "restaurants", allEntries = true)
     public void deleteRestaurant(UUID id) {
+        Optional<UUID> cityId = restaurantRepository.findCityIdById(id);
         restaurantRepository.deleteById(id);
+        menuService.invalidate(id);
+        cityId.ifPresent(city -> catalogService.restaurantRemoved(city, id));
     }
 }
@@ -4,61 +4,101 @@ import com.practice.foodordering.model.FoodItem;
 import com.practice.foodordering.model.search.FoodItemDocument;
 import com.practice.foodordering.repository.search.FoodItemSearchRepository;
 import com.practice.foodordering.repository.FoodItemRepository;
+import com.practice.foodordering.service.search.LocalSearchIndex;
+import com.practice.foodordering.service.search.SearchIndexingPipeline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 public class SearchService {
 
     private final FoodItemSearchRepository searchRepository;
     private final FoodItemRepository foodItemRepository;
+    private final SearchIndexingPipeline indexingPipeline;
+    private final LocalSearchIndex localSearchIndex;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
     public SearchService(
             @Autowired(required = false) FoodItemSearchRepository searchRepository,
-            FoodItemRepository foodItemRepository) {
+            FoodItemRepository foodItemRepository,
+            SearchIndexingPipeline indexingPipeline,
+            LocalSearchIndex localSearchIndex,
+            MeterRegistry meterRegistry) {
         this.searchRepository = searchRepository;
         this.foodItemRepository = foodItemRepository;
+        this.indexingPipeline = indexingPipeline;
+        this.localSearchIndex = localSearchIndex;
+        this.meterRegistry = meterRegistry;
     }
 
+    /**
+     * Queues the item for (re)indexing. The document is built and written in the
+     * background by {@link SearchIndexingPipeline}.
+     */
     public void indexFoodItem(FoodItem item) {
-        if (searchRepository == null)
-            return;
-        try {
-            FoodItemDocument doc = FoodItemDocument.builder()
-                    .id(item.getId().toString())
-                    .name(item.getName())
-                    .restaurantName(item.getRestaurant().getName())
-                    .cityName(item.getRestaurant().getCity().getName())
-                    .build();
-            searchRepository.save(doc);
-        } catch (Exception e) {
-            System.err.println("Failed to index food item: " + e.getMessage());
-        }
+        indexingPipeline.enqueueIndex(item.getId());
+    }
+
+    public void removeFoodItem(UUID itemId) {
+        indexingPipeline.enqueueDelete(itemId);
+    }
+
+    /**
+     * Re-indexes every item of a restaurant, e.g. after it was renamed.
+     */
+    public void reindexRestaurant(UUID restaurantId) {
+        foodItemRepository.findIdsByRestaurantId(restaurantId).forEach(indexingPipeline::enqueueIndex);
     }
 
-    public List<FoodItemDocument> searchGlobal(String keyword) {
+    /**
+     * Re-indexes every item in a city, e.g. after it was renamed.
+     */
+    public void reindexCity(UUID cityId) {
+        foodItemRepository.findIdsByCityId(cityId).forEach(indexingPipeline::enqueueIndex);
+    }
+
+    /**
+     * Searches Elasticsearch, falling back to the in-process index and, while
+     * that is still loading, to the database. Latency is recorded as
+     * {@code search.latency} tagged with the backend that answered.
+     */
+    public List<FoodItemDocument> searchGlobal(String keyword, int limit) {
         if (searchRepository != null) {
+            Timer.Sample sample = Timer.start(meterRegistry);
             try {
-                return searchRepository.findByNameContainingOrRestaurantNameContainingOrCityNameContaining(
-                        keyword, keyword, keyword);
+                List<FoodItemDocument> results = searchRepository
+                        .findByNameContainingOrRestaurantNameContainingOrCityNameContaining(keyword, keyword, keyword)
+                        .stream().limit(limit).collect(Collectors.toList());
+                sample.stop(meterRegistry.timer("search.latency", "backend", "elasticsearch"));
+                return results;
             } catch (Exception e) {
-                System.err.println("Elasticsearch search failed, falling back to JPA: " + e.getMessage());
+                sample.stop(meterRegistry.timer("search.latency", "backend", "elasticsearch-failed"));
+                log.warn("Elasticsearch search failed, falling back to local index: {}", e.getMessage());
             }
         }
 
-        // JPA Fallback
-        return foodItemRepository.searchGlobal(keyword).stream()
-                .map(item -> FoodItemDocument.builder()
-                        .id(item.getId().toString())
-                        .name(item.getName())
-                        .restaurantName(item.getRestaurant().getName())
-                        .cityName(item.getRestaurant().getCity().getName())
-                        .build())
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (localSearchIndex.isReady()) {
+            List<FoodItemDocument> results = localSearchIndex.search(keyword, limit);
+            sample.stop(meterRegistry.timer("search.latency", "backend", "local"));
+            return results;
+        }
+
+        // JPA Fallback while the local index is still loading
+        List<FoodItemDocument> results = foodItemRepository.searchGlobal(keyword, PageRequest.of(0, limit)).stream()
+                .map(SearchIndexingPipeline::toDocument)
                 .collect(Collectors.toList());
+        sample.stop(meterRegistry.timer("search.latency", "backend", "jpa"));
+        return results;
     }
 }
@@ -0,0 +1,19 @@
+package com.practice.foodordering.service.auth;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.practice.foodordering.model.Role;
+
+import java.util.UUID;
+
+/**
+ * The payload of a token, using the registered JWT claim names. Times are
+ * epoch seconds.
+ */
+public record TokenClaims(
+        @JsonProperty("sub") UUID userId,
+        @JsonProperty("role") Role role,
+        @JsonProperty("typ") TokenType type,
+        @JsonProperty("jti") String id,
+        @JsonProperty("iat") long issuedAt,
+        @JsonProperty("exp") long expiresAt) {
+}
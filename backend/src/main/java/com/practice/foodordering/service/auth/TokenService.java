@@ -0,0 +1,306 @@
+package com.practice.foodordering.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.practice.foodordering.model.AppUser;
+import com.practice.foodordering.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Issues and verifies signed, stateless tokens in the JWT compact form:
+ * {@code header.payload.signature}, base64url-encoded, signed with
+ * HMAC-SHA256 under {@code token-secret}.
+ *
+ * <p>Verifying an access token needs no database, session store or network
+ * call: it checks the signature, the expiry (allowing {@code clock-skew}) and
+ * a local cache of revoked token ids. Access tokens live {@code access-ttl}.
+ * Refresh tokens live {@code refresh-ttl} and are only accepted by
+ * {@link #refresh}, which re-reads the user so that a changed role takes
+ * effect, and spends the refresh token so that it cannot be used twice.
+ *
+ * <p>A revoked id is remembered until its token would have expired, for at
+ * most {@code revoked-max-entries} ids. With {@code revoked.redis.enabled}
+ * every revocation and spent refresh token is also recorded in Redis with
+ * {@code SET NX}, so a refresh token works once across all replicas and a
+ * logged-out refresh token cannot be used on another one. Access tokens are
+ * still only checked against the local ids, to keep verification free of
+ * network calls: on other replicas a logged-out access token stays valid
+ * until it expires, which {@code access-ttl} keeps short. If Redis cannot be
+ * reached the local ids are used alone.
+ *
+ * <p>Without a configured secret a random one is generated at startup;
+ * tokens then stop working on restart and are not accepted by other
+ * replicas. With {@code require-secret} (set in the prod profile) a missing
+ * secret fails startup instead.
+ */
+@Service
+@Slf4j
+public class TokenService {
+
+    public record Tokens(String accessToken, Instant accessTokenExpiresAt, String refreshToken,
+            Instant refreshTokenExpiresAt) {
+    }
+
+    public record Stats(long issued, long verified, long rejected, long revoked, long revokedEntries,
+            long remoteErrors) {
+    }
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+    private final long clockSkewSeconds;
+    private final Clock clock;
+    // Token id -> expiry (epoch seconds)
+    private final Cache<String, Long> revoked;
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong verified = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong revocations = new AtomicLong();
+    private final AtomicLong remoteErrors = new AtomicLong();
+
+    public TokenService(
+            UserRepository userRepository,
+            ObjectMapper objectMapper,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            @Value("${app.auth.token-secret:}") String secret,
+            @Value("${app.auth.require-secret:false}") boolean requireSecret,
+            @Value("${app.auth.access-ttl:15m}") Duration accessTtl,
+            @Value("${app.auth.refresh-ttl:14d}") Duration refreshTtl,
+            @Value("${app.auth.clock-skew:30s}") Duration clockSkew,
+            @Value("${app.auth.revoked-max-entries:100000}") long revokedMaxEntries,
+            @Value("${app.auth.revoked.redis.enabled:false}") boolean redisEnabled,
+            @Value("${app.auth.revoked.redis.key-prefix:revoked-token:}") String keyPrefix) {
+        this(userRepository, objectMapper, secretBytes(secret, requireSecret), accessTtl, refreshTtl, clockSkew,
+                revokedMaxEntries, redisEnabled ? redisTemplate.getObject() : null, keyPrefix, Clock.systemUTC());
+    }
+
+    /**
+     * @param redisTemplate where revocations are shared, or {@code null} to keep them on this node
+     */
+    TokenService(UserRepository userRepository, ObjectMapper objectMapper, byte[] secret, Duration accessTtl,
+            Duration refreshTtl, Duration clockSkew, long revokedMaxEntries, StringRedisTemplate redisTemplate,
+            String keyPrefix, Clock clock) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.accessTtl = accessTtl;
+        this.refreshTtl = refreshTtl;
+        this.clockSkewSeconds = clockSkew.toSeconds();
+        this.clock = clock;
+        this.revoked = Caffeine.newBuilder()
+                .maximumSize(revokedMaxEntries)
+                .expireAfter(new Expiry<String, Long>() {
+                    @Override
+                    public long expireAfterCreate(String id, Long expiresAt, long currentTime) {
+                        long seconds = Math.max(expiresAt + clockSkewSeconds - now(), 0);
+                        return TimeUnit.SECONDS.toNanos(seconds);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String id, Long expiresAt, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String id, Long expiresAt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public Tokens issue(AppUser user) {
+        long now = now();
+        long accessExpiresAt = now + accessTtl.toSeconds();
+        long refreshExpiresAt = now + refreshTtl.toSeconds();
+        String access = sign(new TokenClaims(user.getId(), user.getRole(), TokenType.ACCESS,
+                UUID.randomUUID().toString(), now, accessExpiresAt));
+        String refresh = sign(new TokenClaims(user.getId(), user.getRole(), TokenType.REFRESH,
+                UUID.randomUUID().toString(), now, refreshExpiresAt));
+        issued.incrementAndGet();
+        return new Tokens(access, Instant.ofEpochSecond(accessExpiresAt), refresh,
+                Instant.ofEpochSecond(refreshExpiresAt));
+    }
+
+    /**
+     * The claims of {@code token} if it is a well-formed {@code type} token
+     * with a valid signature that has neither expired nor been revoked.
+     */
+    public Optional<TokenClaims> verify(String token, TokenType type) {
+        TokenClaims claims = parse(token);
+        if (claims == null || claims.type() != type || revoked.getIfPresent(claims.id()) != null) {
+            rejected.incrementAndGet();
+            return Optional.empty();
+        }
+        verified.incrementAndGet();
+        return Optional.of(claims);
+    }
+
+    /**
+     * Exchanges a refresh token for a new pair. Each refresh token works once.
+     */
+    public Tokens refresh(String refreshToken) {
+        TokenClaims claims = verify(refreshToken, TokenType.REFRESH)
+                .orElseThrow(TokenService::unauthorized);
+        // Of two concurrent refreshes with the same token, on any replica, only the first gets here
+        if (!spend(claims)) {
+            throw unauthorized();
+        }
+        revocations.incrementAndGet();
+        AppUser user = userRepository.findById(claims.userId()).orElseThrow(TokenService::unauthorized);
+        return issue(user);
+    }
+
+    /**
+     * Revokes the token if it is one of ours and still valid; anything else is
+     * ignored.
+     */
+    public void revoke(String token) {
+        TokenClaims claims = parse(token);
+        if (claims != null && spend(claims)) {
+            revocations.incrementAndGet();
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(issued.get(), verified.get(), rejected.get(), revocations.get(), revoked.estimatedSize(),
+                remoteErrors.get());
+    }
+
+    /**
+     * Records the token's id as revoked until the token expires. Returns
+     * {@code false} if it already was, on this node or (with Redis) any other.
+     */
+    private boolean spend(TokenClaims claims) {
+        if (revoked.asMap().putIfAbsent(claims.id(), claims.expiresAt()) != null) {
+            return false;
+        }
+        if (redisTemplate == null) {
+            return true;
+        }
+        Duration ttl = Duration.ofSeconds(Math.max(claims.expiresAt() + clockSkewSeconds - now(), 1));
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(keyPrefix + claims.id(), "1", ttl));
+        } catch (RuntimeException e) {
+            remoteErrors.incrementAndGet();
+            log.warn("Could not record revoked token {} in Redis, keeping it on this node only: {}", claims.id(),
+                    e.getMessage());
+            return true;
+        }
+    }
+
+    private String sign(TokenClaims claims) {
+        String signed = HEADER + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+        return signed + "." + ENCODER.encodeToString(mac(signed));
+    }
+
+    /**
+     * Checks the signature and expiry and returns the claims, or {@code null}.
+     */
+    private TokenClaims parse(String token) {
+        if (token == null) {
+            return null;
+        }
+        int first = token.indexOf('.');
+        int second = token.indexOf('.', first + 1);
+        if (first < 0 || second < 0 || token.indexOf('.', second + 1) >= 0
+                || !token.regionMatches(0, HEADER, 0, first) || first != HEADER.length()) {
+            return null;
+        }
+
+        try {
+            byte[] signature = DECODER.decode(token.substring(second + 1));
+            if (!MessageDigest.isEqual(signature, mac(token.substring(0, second)))) {
+                return null;
+            }
+            TokenClaims claims = objectMapper.readValue(DECODER.decode(token.substring(first + 1, second)),
+                    TokenClaims.class);
+            if (claims.userId() == null || claims.type() == null || claims.id() == null
+                    || claims.expiresAt() + clockSkewSeconds < now()) {
+                return null;
+            }
+            return claims;
+        } catch (IllegalArgumentException | JacksonException e) {
+            return null;
+        }
+    }
+
+    private byte[] mac(String signed) {
+        return macs.get().doFinal(signed.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        }
+    }
+
+    private long now() {
+        return clock.instant().getEpochSecond();
+    }
+
+    static byte[] secretBytes(String secret, boolean required) {
+        if ((secret == null || secret.isBlank()) && required) {
+            throw new IllegalStateException("app.auth.token-secret must be set (AUTH_TOKEN_SECRET)");
+        }
+        if (secret == null || secret.isBlank()) {
+            log.warn("app.auth.token-secret is not set; using a random key, tokens will not survive a restart");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            throw new IllegalStateException("app.auth.token-secret must be at least 32 bytes");
+        }
+        return bytes;
+    }
+
+    private static ResponseStatusException unauthorized() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired refresh token");
+    }
+}
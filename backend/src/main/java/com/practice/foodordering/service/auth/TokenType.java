@@ -0,0 +1,6 @@
+package com.practice.foodordering.service.auth;
+
+public enum TokenType {
+    ACCESS,
+    REFRESH
+}
@@ -0,0 +1,147 @@
+package com.practice.foodordering.service.board;
+
+import com.practice.foodordering.dto.OrderRow;
+import com.practice.foodordering.model.OrderStatus;
+import com.practice.foodordering.repository.OrderRepository;
+import com.practice.foodordering.service.notification.NotificationHub;
+import com.practice.foodordering.service.notification.OrderEvent;
+import com.practice.foodordering.service.notification.OrderEventBus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live order board per restaurant, for kitchen and admin screens.
+ *
+ * <p>A board connection first receives a {@code SNAPSHOT} of the restaurant's
+ * active orders, oldest first, and from then on {@code ORDERS} events holding
+ * only the orders that changed. Changes are collected per restaurant for
+ * {@code coalesce-ms} and sent as one event carrying the latest state of each
+ * order, so a busy restaurant costs its boards at most one event per window.
+ * An order leaving the active statuses is sent once more with its final
+ * status so the board can drop it; a board applies both events as upserts by
+ * order id.
+ *
+ * <p>Changes arrive over the {@link OrderEventBus}, so a board sees orders
+ * placed or updated on any node. Connections are held by the
+ * {@link NotificationHub} under the restaurant's id and share its per-key and
+ * per-node limits. The snapshot is read on the hub's sender thread after the
+ * connection is registered, so no change can fall between the snapshot and
+ * the first delta.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderBoardService {
+
+    public record Stats(long changes, long coalesced, long flushes, int restaurantsPending) {
+    }
+
+    public static final Set<OrderStatus> ACTIVE = EnumSet.of(
+            OrderStatus.PLACED, OrderStatus.PREPARING, OrderStatus.OUT_FOR_DELIVERY);
+
+    private record Change(long eventId, OrderRow order) {
+    }
+
+    private final NotificationHub hub;
+    private final OrderEventBus eventBus;
+    private final OrderRepository orderRepository;
+
+    @Value("${app.board.coalesce-ms:250}")
+    private long coalesceMs;
+
+    @Value("${app.board.snapshot-limit:500}")
+    private int snapshotLimit;
+
+    // Restaurant -> order -> latest change; each inner map is only touched inside compute/remove
+    private final Map<UUID, Map<UUID, Change>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong changes = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    void start() {
+        eventBus.subscribe(this::onEvent);
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "order-board-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, coalesceMs, coalesceMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+    }
+
+    public SseEmitter subscribe(UUID restaurantId) {
+        return hub.subscribe(restaurantId,
+                () -> List.of(new NotificationHub.Event(0, "SNAPSHOT", snapshot(restaurantId))));
+    }
+
+    public Stats stats() {
+        return new Stats(changes.get(), coalesced.get(), flushes.get(), pending.size());
+    }
+
+    List<OrderRow> snapshot(UUID restaurantId) {
+        return orderRepository.findRowsByRestaurantId(restaurantId, ACTIVE, PageRequest.of(0, snapshotLimit));
+    }
+
+    void onEvent(OrderEvent event) {
+        // Nobody on this node is watching the restaurant: nothing to hold on to
+        if (event.restaurantId() == null || !hub.isConnected(event.restaurantId())) {
+            return;
+        }
+        Change change = new Change(event.id(), new OrderRow(event.orderId(), event.userId(), event.status(),
+                event.totalPrice(), event.placedAt()));
+        changes.incrementAndGet();
+        pending.compute(event.restaurantId(), (id, orders) -> {
+            Map<UUID, Change> updated = orders != null ? orders : new HashMap<>();
+            Change previous = updated.get(event.orderId());
+            if (previous != null) {
+                coalesced.incrementAndGet();
+                if (previous.eventId() > change.eventId()) {
+                    return updated;
+                }
+            }
+            updated.put(event.orderId(), change);
+            return updated;
+        });
+    }
+
+    void flush() {
+        for (UUID restaurantId : pending.keySet()) {
+            Map<UUID, Change> orders = pending.remove(restaurantId);
+            if (orders == null || orders.isEmpty()) {
+                continue;
+            }
+            List<OrderRow> rows = orders.values().stream()
+                    .sorted(Comparator.comparingLong(Change::eventId))
+                    .map(Change::order)
+                    .toList();
+            hub.send(restaurantId, new NotificationHub.Event(0, "ORDERS", rows));
+            flushes.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.practice.foodordering.service.catalog;
+
+import com.practice.foodordering.dto.CatalogDto;
+import com.practice.foodordering.dto.CatalogRestaurantDto;
+import com.practice.foodordering.dto.MenuItemDto;
+import com.practice.foodordering.model.City;
+import com.practice.foodordering.model.Restaurant;
+import com.practice.foodordering.repository.AddonRepository;
+import com.practice.foodordering.repository.CityRepository;
+import com.practice.foodordering.repository.FoodItemRepository;
+import com.practice.foodordering.repository.RestaurantRepository;
+import com.practice.foodordering.repository.VariantRepository;
+import com.practice.foodordering.service.menu.MenuAssembler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps a versioned catalog per city (every restaurant with its full menu) in
+ * the {@code catalogs} cache so a client can browse a city after one request
+ * and afterwards fetch only what changed since the version it holds.
+ *
+ * <p>A city's catalog is built on first request with five queries. After
+ * that, {@code CityService}, {@code RestaurantService} and {@code ItemService}
+ * report each change and only the affected restaurant is reloaded and
+ * patched in under a new version; catalogs that are not cached are left
+ * alone and built fresh when next requested. The full catalog is served
+ * gzip-compressed; the compressed bytes are computed once per version.
+ *
+ * <p>With the Redis tier on ({@code app.cache.remote.enabled}) nodes share one
+ * copy, and two nodes patching it at the same time would each write back their
+ * own version, losing the other's change. There a change evicts the catalog
+ * instead, and the next request rebuilds it from the database; clients then
+ * get the full catalog once instead of a delta.
+ */
+@Service
+@Slf4j
+public class CatalogService {
+
+    /**
+     * The full catalog of a city as gzip-compressed JSON.
+     */
+    public record Snapshot(long version, byte[] gzippedJson) {
+
+        public byte[] json() {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzippedJson))) {
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    static final String CACHE = "catalogs";
+
+    private final CityRepository cityRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final FoodItemRepository foodItemRepository;
+    private final VariantRepository variantRepository;
+    private final AddonRepository addonRepository;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.catalog.max-tombstones:500}")
+    private int maxTombstones;
+
+    @Value("${app.cache.remote.enabled:false}")
+    private boolean sharedCache;
+
+    // Patches of one city are applied one at a time; only used while the cache is not shared
+    private final ReentrantLock[] locks = new ReentrantLock[64];
+
+    // Bumped by changes to uncached catalogs so a build that raced with one is not left cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public CatalogService(CityRepository cityRepository, RestaurantRepository restaurantRepository,
+            FoodItemRepository foodItemRepository, VariantRepository variantRepository,
+            AddonRepository addonRepository, CacheManager cacheManager, ObjectMapper objectMapper) {
+        this.cityRepository = cityRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.foodItemRepository = foodItemRepository;
+        this.variantRepository = variantRepository;
+        this.addonRepository = addonRepository;
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public Snapshot snapshot(UUID cityId) {
+        CityCatalog catalog = catalog(cityId);
+        byte[] gzipped = catalog.gzipped();
+        if (gzipped == null) {
+            gzipped = gzip(objectMapper.writeValueAsBytes(catalog.full()));
+            catalog.gzipped(gzipped);
+        }
+        return new Snapshot(catalog.version(), gzipped);
+    }
+
+    /**
+     * Restaurants changed and removed after version {@code since}, or
+     * {@code null} if that version is too old (or unknown) and the client needs
+     * the full {@link #snapshot}.
+     */
+    public CatalogDto changesSince(UUID cityId, long since) {
+        return catalog(cityId).since(since);
+    }
+
+    public void cityChanged(UUID cityId) {
+        Optional<String> name = cityRepository.findById(cityId).map(City::getName);
+        if (name.isEmpty()) {
+            cityRemoved(cityId);
+            return;
+        }
+        update(cityId, current -> current.withCityName(name.get(), current.nextVersion()));
+    }
+
+    public void cityRemoved(UUID cityId) {
+        generation.incrementAndGet();
+        cache().evict(cityId);
+    }
+
+    /**
+     * Reloads a restaurant whose details or menu changed.
+     */
+    public void restaurantChanged(UUID restaurantId) {
+        restaurantRepository.findCityIdById(restaurantId).ifPresent(cityId -> restaurantChanged(cityId, restaurantId));
+    }
+
+    public void restaurantChanged(UUID cityId, UUID restaurantId) {
+        update(cityId, current -> {
+            Optional<Restaurant> restaurant = restaurantRepository.findById(restaurantId);
+            if (restaurant.isEmpty()) {
+                return current.withoutRestaurant(restaurantId, current.nextVersion(), maxTombstones);
+            }
+            List<MenuItemDto> items = MenuAssembler.itemsByRestaurant(
+                    foodItemRepository.findMenuRowsByRestaurantId(restaurantId),
+                    variantRepository.findMenuRowsByRestaurantId(restaurantId),
+                    addonRepository.findMenuRowsByRestaurantId(restaurantId))
+                    .getOrDefault(restaurantId, List.of());
+            return current.withRestaurant(toDto(restaurant.get(), current.nextVersion(), items));
+        });
+    }
+
+    public void restaurantRemoved(UUID cityId, UUID restaurantId) {
+        update(cityId, current -> current.withoutRestaurant(restaurantId, current.nextVersion(), maxTombstones));
+    }
+
+    CityCatalog build(UUID cityId) {
+        String cityName = cityRepository.findById(cityId).map(City::getName)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "City not found"));
+        Map<UUID, List<MenuItemDto>> menus = MenuAssembler.itemsByRestaurant(
+                foodItemRepository.findMenuRowsByCityId(cityId),
+                variantRepository.findMenuRowsByCityId(cityId),
+                addonRepository.findMenuRowsByCityId(cityId));
+
+        long version = System.currentTimeMillis();
+        List<CatalogRestaurantDto> restaurants = restaurantRepository.findByCityId(cityId).stream()
+                .map(restaurant -> toDto(restaurant, version, menus.getOrDefault(restaurant.getId(), List.of())))
+                .toList();
+        log.debug("Built catalog of city {} with {} restaurants", cityId, restaurants.size());
+        return CityCatalog.full(cityId, cityName, version, restaurants);
+    }
+
+    private CityCatalog catalog(UUID cityId) {
+        Cache cache = cache();
+        long observed = generation.get();
+        CityCatalog catalog;
+        try {
+            catalog = cache.get(cityId, () -> build(cityId));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        if (generation.get() != observed) {
+            cache.evict(cityId);
+        }
+        return catalog;
+    }
+
+    private void update(UUID cityId, UnaryOperator<CityCatalog> change) {
+        if (sharedCache) {
+            generation.incrementAndGet();
+            cache().evict(cityId);
+            log.debug("Evicted catalog of city {} to be rebuilt", cityId);
+            return;
+        }
+        ReentrantLock lock = locks[Math.floorMod(cityId.hashCode(), locks.length)];
+        lock.lock();
+        try {
+            Cache cache = cache();
+            Cache.ValueWrapper current = cache.get(cityId);
+            if (current == null) {
+                // Nothing to patch, but a build may be reading the old data right now
+                generation.incrementAndGet();
+                return;
+            }
+            CityCatalog updated = change.apply((CityCatalog) current.get());
+            cache.put(cityId, updated);
+            log.debug("Catalog of city {} is now at version {}", cityId, updated.version());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CACHE);
+    }
+
+    private static CatalogRestaurantDto toDto(Restaurant restaurant, long version, List<MenuItemDto> items) {
+        return new CatalogRestaurantDto(restaurant.getId(), restaurant.getName(), restaurant.getAddress(),
+                restaurant.getLandmark(), restaurant.getRating(), restaurant.getDeliveryTime(),
+                restaurant.getCostForTwo(), version, items);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,125 @@
+package com.practice.foodordering.service.catalog;
+
+import com.practice.foodordering.dto.CatalogDto;
+import com.practice.foodordering.dto.CatalogRestaurantDto;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable catalog of one city: its restaurants with their menus, the
+ * version each restaurant last changed at, and tombstones for restaurants
+ * removed since {@code baseVersion}. Every change produces a new instance
+ * with a higher version.
+ */
+final class CityCatalog implements Serializable {
+
+    private static final Comparator<CatalogRestaurantDto> BY_NAME =
+            Comparator.comparing(CatalogRestaurantDto::name).thenComparing(CatalogRestaurantDto::id);
+
+    private final UUID cityId;
+    private final String cityName;
+    private final long version;
+    // Deltas can only be computed from this version on; older clients get the full catalog
+    private final long baseVersion;
+    private final Map<UUID, CatalogRestaurantDto> restaurants;
+    private final Map<UUID, Long> removed;
+
+    // Compressed full catalog, computed on first request for this version
+    private transient volatile byte[] gzipped;
+
+    private CityCatalog(UUID cityId, String cityName, long version, long baseVersion,
+            Map<UUID, CatalogRestaurantDto> restaurants, Map<UUID, Long> removed) {
+        this.cityId = cityId;
+        this.cityName = cityName;
+        this.version = version;
+        this.baseVersion = baseVersion;
+        this.restaurants = restaurants;
+        this.removed = removed;
+    }
+
+    static CityCatalog full(UUID cityId, String cityName, long version,
+            Collection<CatalogRestaurantDto> restaurants) {
+        Map<UUID, CatalogRestaurantDto> byId = new HashMap<>();
+        restaurants.forEach(restaurant -> byId.put(restaurant.id(), restaurant));
+        return new CityCatalog(cityId, cityName, version, version, byId, new HashMap<>());
+    }
+
+    long version() {
+        return version;
+    }
+
+    /**
+     * The version for the next change: at least the wall clock in millis, so a
+     * catalog rebuilt from scratch later never reuses a version already handed
+     * out to clients.
+     */
+    long nextVersion() {
+        return Math.max(version + 1, System.currentTimeMillis());
+    }
+
+    CityCatalog withRestaurant(CatalogRestaurantDto restaurant) {
+        Map<UUID, CatalogRestaurantDto> updated = new HashMap<>(restaurants);
+        updated.put(restaurant.id(), restaurant);
+        Map<UUID, Long> tombstones = new HashMap<>(removed);
+        tombstones.remove(restaurant.id());
+        return new CityCatalog(cityId, cityName, restaurant.version(), baseVersion, updated, tombstones);
+    }
+
+    /**
+     * Removes the restaurant. Past {@code maxTombstones} removals the
+     * tombstones are dropped and every client older than this version is sent
+     * the full catalog instead.
+     */
+    CityCatalog withoutRestaurant(UUID restaurantId, long newVersion, int maxTombstones) {
+        Map<UUID, CatalogRestaurantDto> updated = new HashMap<>(restaurants);
+        updated.remove(restaurantId);
+        Map<UUID, Long> tombstones = new HashMap<>(removed);
+        tombstones.put(restaurantId, newVersion);
+        if (tombstones.size() > maxTombstones) {
+            return new CityCatalog(cityId, cityName, newVersion, newVersion, updated, new HashMap<>());
+        }
+        return new CityCatalog(cityId, cityName, newVersion, baseVersion, updated, tombstones);
+    }
+
+    CityCatalog withCityName(String name, long newVersion) {
+        return new CityCatalog(cityId, name, newVersion, baseVersion, restaurants, removed);
+    }
+
+    CatalogDto full() {
+        return new CatalogDto(cityId, cityName, version, true,
+                restaurants.values().stream().sorted(BY_NAME).toList(), List.of());
+    }
+
+    /**
+     * What changed after {@code since}, or {@code null} when the client has to
+     * start over from the full catalog.
+     */
+    CatalogDto since(long since) {
+        if (since < baseVersion || since > version) {
+            return null;
+        }
+        List<CatalogRestaurantDto> changed = restaurants.values().stream()
+                .filter(restaurant -> restaurant.version() > since)
+                .sorted(BY_NAME)
+                .toList();
+        List<UUID> gone = removed.entrySet().stream()
+                .filter(entry -> entry.getValue() > since)
+                .map(Map.Entry::getKey)
+                .toList();
+        return new CatalogDto(cityId, cityName, version, false, changed, gone);
+    }
+
+    byte[] gzipped() {
+        return gzipped;
+    }
+
+    void gzipped(byte[] bytes) {
+        this.gzipped = bytes;
+    }
+}
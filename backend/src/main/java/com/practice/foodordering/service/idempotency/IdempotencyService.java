@@ -0,0 +1,274 @@
+package com.practice.foodordering.service.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per idempotency key and replays its response to
+ * every retry.
+ *
+ * <p>Keys live in a bounded local cache ({@code max-entries}, expiring after
+ * {@code ttl}) as futures of the stored response. The first request for a key
+ * installs the future and runs; concurrent duplicates on this node wait on
+ * that future for up to {@code wait-timeout-ms} instead of running again, and
+ * later retries get the completed response straight from the cache. Only
+ * successful responses are kept: when the request fails its key is released
+ * and the waiting duplicates fail the same way.
+ *
+ * <p>With {@code redis.enabled} responses are also stored in Redis so that a
+ * retry landing on another node is replayed too, and the first node to see a
+ * key claims it with {@code SET NX} for {@code claim-ttl-ms}; a node that
+ * loses the claim polls Redis for the response instead of running the
+ * request. Redis failures are logged and the service falls back to the local
+ * cache.
+ *
+ * <p>Each key remembers a fingerprint of the request it was first used with;
+ * reusing a key for a different request is rejected with 422.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public record Stats(long entries, long executed, long replayed, long awaited, long mismatched, long timedOut,
+            long remoteErrors) {
+    }
+
+    private record StoredResponse(String fingerprint, byte[] body) {
+    }
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long REMOTE_POLL_MS = 50;
+
+    private final Cache<String, CompletableFuture<StoredResponse>> local;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final long waitTimeoutMs;
+    private final Duration claimTtl;
+    private final String keyPrefix;
+
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong awaited = new AtomicLong();
+    private final AtomicLong mismatched = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong remoteErrors = new AtomicLong();
+
+    public IdempotencyService(
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            @Value("${app.idempotency.max-entries:100000}") long maxEntries,
+            @Value("${app.idempotency.ttl:24h}") Duration ttl,
+            @Value("${app.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs,
+            @Value("${app.idempotency.redis.enabled:false}") boolean redisEnabled,
+            @Value("${app.idempotency.redis.claim-ttl-ms:30000}") long claimTtlMs,
+            @Value("${app.idempotency.redis.key-prefix:idempotency:}") String keyPrefix) {
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+        this.redisTemplate = redisEnabled ? redisTemplate.getObject() : null;
+        this.ttl = ttl;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.claimTtl = Duration.ofMillis(claimTtlMs);
+        this.keyPrefix = keyPrefix;
+    }
+
+    /**
+     * Returns the stored response for {@code key}, or runs {@code action} and
+     * stores what it returns.
+     *
+     * @param request the request as sent, used to detect a key reused for a different request
+     */
+    public byte[] execute(String key, byte[] request, Supplier<byte[]> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String fingerprint = fingerprint(request);
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> existing = local.asMap().putIfAbsent(key, mine);
+        if (existing != null) {
+            (existing.isDone() ? replayed : awaited).incrementAndGet();
+            return replay(await(existing), fingerprint).body();
+        }
+
+        StoredResponse response;
+        try {
+            response = runOnce(key, fingerprint, action);
+        } catch (RuntimeException e) {
+            local.asMap().remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        mine.complete(response);
+        return replay(response, fingerprint).body();
+    }
+
+    public Stats stats() {
+        return new Stats(local.estimatedSize(), executed.get(), replayed.get(), awaited.get(), mismatched.get(),
+                timedOut.get(), remoteErrors.get());
+    }
+
+    private StoredResponse runOnce(String key, String fingerprint, Supplier<byte[]> action) {
+        StoredResponse stored = remoteFind(key);
+        if (stored != null) {
+            replayed.incrementAndGet();
+            return stored;
+        }
+        if (!remoteClaim(key)) {
+            awaited.incrementAndGet();
+            return remoteAwait(key);
+        }
+
+        byte[] body;
+        try {
+            body = action.get();
+        } catch (RuntimeException e) {
+            remoteRelease(key);
+            throw e;
+        }
+        executed.incrementAndGet();
+        StoredResponse response = new StoredResponse(fingerprint, body);
+        remoteStore(key, response);
+        return response;
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> inFlight) {
+        try {
+            return inFlight.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw stillRunning();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw stillRunning();
+        }
+    }
+
+    private StoredResponse replay(StoredResponse response, String fingerprint) {
+        if (!response.fingerprint().equals(fingerprint)) {
+            mismatched.incrementAndGet();
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a different request");
+        }
+        return response;
+    }
+
+    private ResponseStatusException stillRunning() {
+        timedOut.incrementAndGet();
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "A request with this Idempotency-Key is still being processed; retry shortly");
+    }
+
+    private StoredResponse remoteFind(String key) {
+        if (redisTemplate == null) {
+            return null;
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(keyPrefix + key);
+            if (value == null) {
+                return null;
+            }
+            int separator = value.indexOf('\n');
+            return new StoredResponse(value.substring(0, separator),
+                    value.substring(separator + 1).getBytes(StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            remoteFailure("read", e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns {@code false} only if another node holds the key.
+     */
+    private boolean remoteClaim(String key) {
+        if (redisTemplate == null) {
+            return true;
+        }
+        try {
+            Boolean claimed = redisTemplate.opsForValue()
+                    .setIfAbsent(keyPrefix + key + ":claim", "1", claimTtl);
+            return !Boolean.FALSE.equals(claimed);
+        } catch (RuntimeException e) {
+            remoteFailure("claim", e);
+            return true;
+        }
+    }
+
+    private StoredResponse remoteAwait(String key) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            StoredResponse stored = remoteFind(key);
+            if (stored != null) {
+                return stored;
+            }
+            try {
+                Thread.sleep(REMOTE_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw stillRunning();
+    }
+
+    private void remoteStore(String key, StoredResponse response) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            String body = new String(response.body(), StandardCharsets.UTF_8);
+            redisTemplate.opsForValue().set(keyPrefix + key, response.fingerprint() + "\n" + body, ttl);
+            redisTemplate.delete(keyPrefix + key + ":claim");
+        } catch (RuntimeException e) {
+            remoteFailure("write", e);
+        }
+    }
+
+    private void remoteRelease(String key) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.delete(keyPrefix + key + ":claim");
+        } catch (RuntimeException e) {
+            remoteFailure("release", e);
+        }
+    }
+
+    private void remoteFailure(String operation, RuntimeException e) {
+        remoteErrors.incrementAndGet();
+        log.warn("Idempotency store {} in Redis failed: {}", operation, e.getMessage());
+    }
+
+    private static String fingerprint(byte[] request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(request));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.practice.foodordering.service.menu;
+
+import com.practice.foodordering.dto.MenuAddonDto;
+import com.practice.foodordering.dto.MenuItemDto;
+import com.practice.foodordering.dto.MenuItemRow;
+import com.practice.foodordering.dto.MenuOptionRow;
+import com.practice.foodordering.dto.MenuVariantDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Joins flat item, variant and addon rows (for one restaurant or a whole city)
+ * into menu items, grouped by restaurant. Rows keep the order they were
+ * queried in.
+ */
+public final class MenuAssembler {
+
+    private MenuAssembler() {
+    }
+
+    public static Map<UUID, List<MenuItemDto>> itemsByRestaurant(List<MenuItemRow> items,
+            List<MenuOptionRow> variantRows, List<MenuOptionRow> addonRows) {
+        Map<UUID, List<MenuVariantDto>> variants = new HashMap<>();
+        for (MenuOptionRow row : variantRows) {
+            variants.computeIfAbsent(row.itemId(), id -> new ArrayList<>())
+                    .add(new MenuVariantDto(row.id(), row.name(), row.price()));
+        }
+        Map<UUID, List<MenuAddonDto>> addons = new HashMap<>();
+        for (MenuOptionRow row : addonRows) {
+            addons.computeIfAbsent(row.itemId(), id -> new ArrayList<>())
+                    .add(new MenuAddonDto(row.id(), row.name(), row.price()));
+        }
+
+        Map<UUID, List<MenuItemDto>> byRestaurant = new LinkedHashMap<>();
+        for (MenuItemRow row : items) {
+            byRestaurant.computeIfAbsent(row.restaurantId(), id -> new ArrayList<>())
+                    .add(new MenuItemDto(row.id(), row.name(), row.price(), row.itemType(),
+                            variants.getOrDefault(row.id(), List.of()), addons.getOrDefault(row.id(), List.of())));
+        }
+        return byRestaurant;
+    }
+}
@@ -0,0 +1,119 @@
+package com.practice.foodordering.service.menu;
+
+import com.practice.foodordering.dto.MenuDto;
+import com.practice.foodordering.dto.MenuItemDto;
+import com.practice.foodordering.repository.AddonRepository;
+import com.practice.foodordering.repository.FoodItemRepository;
+import com.practice.foodordering.repository.RestaurantRepository;
+import com.practice.foodordering.repository.VariantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.Serializable;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves each restaurant's aggregated menu (items with their variants and
+ * addons) from the {@code menus} cache.
+ *
+ * <p>A menu is assembled with four queries regardless of its size, serialized
+ * once, and cached as JSON bytes together with an ETag derived from those
+ * bytes. The ETag therefore only changes when the menu does, and every node
+ * computes the same one, so clients can revalidate against any node.
+ * {@code ItemService} and {@code RestaurantService} call {@link #invalidate}
+ * after every change to a restaurant or its menu.
+ */
+@Service
+@Slf4j
+public class MenuService {
+
+    /**
+     * A serialized menu and its (quoted) ETag.
+     */
+    public record Snapshot(String etag, byte[] json) implements Serializable {
+    }
+
+    static final String CACHE = "menus";
+
+    private final FoodItemRepository foodItemRepository;
+    private final VariantRepository variantRepository;
+    private final AddonRepository addonRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    // Bumped on every invalidation so a build that raced with one is not left cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public MenuService(FoodItemRepository foodItemRepository, VariantRepository variantRepository,
+            AddonRepository addonRepository, RestaurantRepository restaurantRepository, CacheManager cacheManager,
+            ObjectMapper objectMapper) {
+        this.foodItemRepository = foodItemRepository;
+        this.variantRepository = variantRepository;
+        this.addonRepository = addonRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+    }
+
+    public Snapshot getMenu(UUID restaurantId) {
+        Cache cache = cache();
+        long observed = generation.get();
+        Snapshot snapshot;
+        try {
+            snapshot = cache.get(restaurantId, () -> build(restaurantId));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        if (generation.get() != observed) {
+            cache.evict(restaurantId);
+        }
+        return snapshot;
+    }
+
+    public void invalidate(UUID restaurantId) {
+        generation.incrementAndGet();
+        cache().evict(restaurantId);
+        log.debug("Invalidated menu of restaurant {}", restaurantId);
+    }
+
+    Snapshot build(UUID restaurantId) {
+        String restaurantName = restaurantRepository.findNameById(restaurantId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Restaurant not found"));
+
+        List<MenuItemDto> items = MenuAssembler.itemsByRestaurant(
+                foodItemRepository.findMenuRowsByRestaurantId(restaurantId),
+                variantRepository.findMenuRowsByRestaurantId(restaurantId),
+                addonRepository.findMenuRowsByRestaurantId(restaurantId))
+                .getOrDefault(restaurantId, List.of());
+
+        byte[] json = objectMapper.writeValueAsBytes(new MenuDto(restaurantId, restaurantName, items));
+        return new Snapshot(etag(json), json);
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CACHE);
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
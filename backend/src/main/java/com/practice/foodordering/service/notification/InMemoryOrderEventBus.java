@@ -0,0 +1,34 @@
+package com.practice.foodordering.service.notification;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Single-node bus: events go straight to the local listeners. Used for
+ * development, tests and single-replica deployments.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.bus", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOrderEventBus implements OrderEventBus {
+
+    private final List<Consumer<OrderEvent>> listeners = new CopyOnWriteArrayList<>();
+    // Seeded from the clock so ids keep increasing across restarts
+    private final AtomicLong sequence = new AtomicLong(TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis()));
+
+    @Override
+    public void publish(OrderEvent event) {
+        OrderEvent numbered = event.withId(sequence.incrementAndGet());
+        listeners.forEach(listener -> listener.accept(numbered));
+    }
+
+    @Override
+    public void subscribe(Consumer<OrderEvent> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,350 @@
+package com.practice.foodordering.service.notification;
+
+import com.practice.foodordering.config.threads.ExecutionThreads;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Holds this node's SSE connections and delivers events to them.
+ *
+ * <p>Users are spread over {@code shards} by id. Each shard owns its users'
+ * connections and a single sender thread with a bounded queue, so events for
+ * one user stay in order, callers never write to a socket themselves, and a
+ * slow client can only delay its own shard. A user may hold up to
+ * {@code max-connections-per-user} connections (tabs, devices); the oldest is
+ * closed when another one opens. The node accepts at most
+ * {@code max-connections} in total and answers 503 beyond that.
+ *
+ * <p>Every {@code heartbeat-interval-ms} each shard writes an SSE comment to all
+ * of its connections; connections whose write fails are closed and dropped.
+ *
+ * <p>Sender threads come from {@link ExecutionThreads}, so in virtual-thread
+ * mode a sender blocked on a slow socket gives its carrier back.
+ */
+@Component
+@Slf4j
+public class NotificationHub {
+
+    public record Stats(int connections, int users, int queuedSends, long delivered, long dropped, long reaped) {
+    }
+
+    /**
+     * An event to deliver. A positive {@code id} is sent as the SSE event id;
+     * ids need not arrive in increasing order (they are assigned per publishing
+     * batch, and a retried batch keeps its ids). {@code 0} means the event has
+     * no id.
+     */
+    public record Event(long id, String name, Object data) {
+    }
+
+    private static final String HEARTBEAT = "heartbeat";
+
+    @Value("${app.notifications.shards:16}")
+    private int shardCount;
+
+    @Value("${app.notifications.shard-queue-capacity:10000}")
+    private int shardQueueCapacity;
+
+    @Value("${app.notifications.max-connections:10000}")
+    private int maxConnections;
+
+    @Value("${app.notifications.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${app.notifications.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMs;
+
+    @Value("${app.notifications.dedupe-window:128}")
+    private int dedupeWindow;
+
+    @Value("${app.notifications.emitter-timeout-ms:0}")
+    private long emitterTimeoutMs;
+
+    private final ExecutionThreads threads;
+
+    private Shard[] shards;
+    private ScheduledExecutorService heartbeat;
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong reaped = new AtomicLong();
+
+    public NotificationHub(ExecutionThreads threads) {
+        this.threads = threads;
+    }
+
+    @PostConstruct
+    void start() {
+        shards = IntStream.range(0, shardCount).mapToObj(Shard::new).toArray(Shard[]::new);
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMs, heartbeatIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeat.shutdownNow();
+        for (Shard shard : shards) {
+            shard.sender.shutdownNow();
+            shard.users.values().forEach(list -> list.forEach(connection -> connection.emitter().complete()));
+        }
+    }
+
+    public SseEmitter subscribe(UUID userId) {
+        return subscribe(userId, List::of);
+    }
+
+    /**
+     * Opens a new connection for {@code userId}. On the shard's sender thread the
+     * connection first gets an {@code INIT} event and then whatever
+     * {@code missed} returns at that moment. An event that overlaps between the
+     * replay and the live stream is delivered once: each connection remembers
+     * the ids of its last {@code dedupe-window} events and skips repeats,
+     * whatever order the ids arrive in.
+     */
+    public SseEmitter subscribe(UUID userId, Supplier<List<Event>> missed) {
+        // 0 means "container default" to Spring; the heartbeat is what reaps idle connections
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs > 0 ? emitterTimeoutMs : Long.MAX_VALUE);
+        open(userId, emitter, missed);
+        return emitter;
+    }
+
+    Connection open(UUID userId, SseEmitter emitter, Supplier<List<Event>> missed) {
+        Connection connection = register(userId, emitter);
+        Shard shard = shardOf(userId);
+        shard.submit(() -> {
+            if (deliver(shard, connection, new Event(0, "INIT", "Connected"))) {
+                for (Event event : missed.get()) {
+                    if (!deliver(shard, connection, event)) {
+                        return;
+                    }
+                }
+            }
+        });
+        return connection;
+    }
+
+    public void send(UUID userId, String name, Object data) {
+        send(userId, new Event(0, name, data));
+    }
+
+    /**
+     * Queues an event for every connection of {@code userId} on this node and
+     * returns immediately.
+     */
+    public void send(UUID userId, Event event) {
+        Shard shard = shardOf(userId);
+        if (!shard.users.containsKey(userId)) {
+            return;
+        }
+        shard.submit(() -> {
+            List<Connection> userConnections = shard.users.get(userId);
+            if (userConnections == null) {
+                return;
+            }
+            for (Connection connection : userConnections) {
+                deliver(shard, connection, event);
+            }
+        });
+    }
+
+    public boolean isConnected(UUID userId) {
+        return shardOf(userId).users.containsKey(userId);
+    }
+
+    public Stats stats() {
+        int users = 0;
+        int queued = 0;
+        for (Shard shard : shards) {
+            users += shard.users.size();
+            queued += shard.sender.getQueue().size();
+        }
+        return new Stats(connections.get(), users, queued, delivered.get(), dropped.get(), reaped.get());
+    }
+
+    Connection register(UUID userId, SseEmitter emitter) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many notification connections");
+        }
+
+        Shard shard = shardOf(userId);
+        Connection connection = new Connection(userId, emitter, dedupeWindow);
+        Connection evicted = shard.add(connection, maxConnectionsPerUser);
+        if (evicted != null) {
+            evicted.emitter().complete();
+        }
+
+        emitter.onCompletion(() -> shard.remove(connection));
+        emitter.onTimeout(() -> shard.remove(connection));
+        emitter.onError(e -> shard.remove(connection));
+        return connection;
+    }
+
+    private void heartbeat() {
+        for (Shard shard : shards) {
+            if (shard.users.isEmpty()) {
+                continue;
+            }
+            shard.submit(() -> shard.users.values().forEach(list -> list.forEach(connection -> {
+                if (!write(shard, connection, SseEmitter.event().comment(HEARTBEAT))) {
+                    reaped.incrementAndGet();
+                }
+            })));
+        }
+    }
+
+    /**
+     * Writes the event unless the connection already got it; returns false
+     * only if the connection is gone.
+     */
+    private boolean deliver(Shard shard, Connection connection, Event event) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name()).data(event.data());
+        if (event.id() > 0) {
+            if (!connection.firstSighting(event.id())) {
+                return true;
+            }
+            builder.id(Long.toString(event.id()));
+        }
+        if (write(shard, connection, builder)) {
+            delivered.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean write(Shard shard, Connection connection, SseEmitter.SseEventBuilder event) {
+        try {
+            connection.emitter().send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away: IOException from the socket, IllegalStateException if already completed
+            shard.remove(connection);
+            try {
+                connection.emitter().complete();
+            } catch (RuntimeException ignored) {
+                // Already completed
+            }
+            return false;
+        }
+    }
+
+    private Shard shardOf(UUID userId) {
+        return shards[Math.floorMod(userId.hashCode(), shards.length)];
+    }
+
+    static final class Connection {
+
+        private final UUID userId;
+        private final SseEmitter emitter;
+        // Ids of the last events written, oldest overwritten first; only touched on the shard's sender thread
+        private final long[] recentIds;
+        private int nextRecent;
+
+        Connection(UUID userId, SseEmitter emitter, int dedupeWindow) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.recentIds = new long[Math.max(1, dedupeWindow)];
+        }
+
+        /**
+         * Records {@code id} and returns true unless it is among the recent ids
+         * already written to this connection.
+         */
+        boolean firstSighting(long id) {
+            for (long recent : recentIds) {
+                if (recent == id) {
+                    return false;
+                }
+            }
+            recentIds[nextRecent] = id;
+            nextRecent = (nextRecent + 1) % recentIds.length;
+            return true;
+        }
+
+        UUID userId() {
+            return userId;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+    }
+
+    private final class Shard {
+
+        private final Map<UUID, List<Connection>> users = new ConcurrentHashMap<>();
+        private final ThreadPoolExecutor sender;
+
+        Shard(int index) {
+            sender = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(shardQueueCapacity), threads.factory("sse-sender-" + index));
+        }
+
+        void submit(Runnable task) {
+            try {
+                sender.execute(task);
+            } catch (RejectedExecutionException e) {
+                dropped.incrementAndGet();
+                log.warn("Notification shard queue full; dropping event");
+            }
+        }
+
+        /**
+         * Adds the connection and returns the user's oldest connection if that
+         * pushed them over the per-user limit.
+         */
+        Connection add(Connection connection, int perUserLimit) {
+            Connection[] evicted = new Connection[1];
+            users.compute(connection.userId(), (id, list) -> {
+                List<Connection> updated = list != null ? list : new CopyOnWriteArrayList<>();
+                updated.add(connection);
+                if (updated.size() > perUserLimit) {
+                    evicted[0] = updated.remove(0);
+                    connections.decrementAndGet();
+                }
+                return updated;
+            });
+            return evicted[0];
+        }
+
+        void remove(Connection connection) {
+            boolean[] removed = new boolean[1];
+            users.computeIfPresent(connection.userId(), (id, list) -> {
+                removed[0] = list.remove(connection);
+                return list.isEmpty() ? null : list;
+            });
+            if (removed[0]) {
+                connections.decrementAndGet();
+            }
+        }
+    }
+}
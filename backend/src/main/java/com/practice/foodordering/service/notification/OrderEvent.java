@@ -0,0 +1,26 @@
+package com.practice.foodordering.service.notification;
+
+import com.practice.foodordering.model.Order;
+import com.practice.foodordering.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An order status change, as carried between nodes by {@link OrderEventBus}.
+ * {@code id} is assigned by the bus when the event is published, increases
+ * over time, and doubles as the SSE event id and the deduplication key.
+ */
+public record OrderEvent(long id, UUID userId, UUID orderId, UUID restaurantId, OrderStatus status,
+        BigDecimal totalPrice, Instant placedAt, Instant occurredAt) {
+
+    public static OrderEvent of(Order order) {
+        return new OrderEvent(0, order.getUser().getId(), order.getId(), order.getRestaurantId(), order.getStatus(),
+                order.getTotalPrice(), order.getPlacedAt(), Instant.now());
+    }
+
+    public OrderEvent withId(long id) {
+        return new OrderEvent(id, userId, orderId, restaurantId, status, totalPrice, placedAt, occurredAt);
+    }
+}
@@ -0,0 +1,22 @@
+package com.practice.foodordering.service.notification;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries order events to every node, so that each node can deliver them to the
+ * SSE connections it holds. Selected with {@code app.notifications.bus}
+ * ({@code memory} or {@code redis}).
+ */
+public interface OrderEventBus {
+
+    /**
+     * Hands the event to the bus without blocking on remote I/O.
+     */
+    void publish(OrderEvent event);
+
+    /**
+     * Registers a listener that receives every event published on any node,
+     * including this one, at most once per event id.
+     */
+    void subscribe(Consumer<OrderEvent> listener);
+}
@@ -0,0 +1,92 @@
+package com.practice.foodordering.service.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Recent order events per user, kept so a reconnecting SSE client can be sent
+ * what it missed instead of reloading its order history.
+ *
+ * <p>Each user has a ring buffer of the last {@code buffer-size} events. Buffers
+ * of users who have not received an event for a while are dropped once more
+ * than {@code max-users} users are tracked (least recently used first).
+ */
+@Component
+public class OrderEventLog {
+
+    @Value("${app.notifications.replay.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.notifications.replay.max-users:100000}")
+    private int maxUsers;
+
+    private final Map<UUID, Ring> rings = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Ring> eldest) {
+            return size() > maxUsers;
+        }
+    };
+
+    public void append(OrderEvent event) {
+        Ring ring;
+        synchronized (rings) {
+            ring = rings.computeIfAbsent(event.userId(), id -> new Ring(bufferSize));
+        }
+        ring.add(event);
+    }
+
+    /**
+     * Returns the buffered events that follow {@code lastEventId}, oldest first.
+     * If that id is still buffered, everything after it is returned; otherwise
+     * every buffered event with a larger id.
+     */
+    public List<OrderEvent> since(UUID userId, long lastEventId) {
+        Ring ring;
+        synchronized (rings) {
+            ring = rings.get(userId);
+        }
+        return ring == null ? List.of() : ring.since(lastEventId);
+    }
+
+    private static final class Ring {
+
+        private final OrderEvent[] events;
+        private int next;
+        private int size;
+
+        Ring(int capacity) {
+            events = new OrderEvent[capacity];
+        }
+
+        synchronized void add(OrderEvent event) {
+            events[next] = event;
+            next = (next + 1) % events.length;
+            size = Math.min(size + 1, events.length);
+        }
+
+        synchronized List<OrderEvent> since(long lastEventId) {
+            int oldest = (next - size + events.length) % events.length;
+            int start = -1;
+            for (int i = 0; i < size; i++) {
+                if (events[(oldest + i) % events.length].id() == lastEventId) {
+                    start = i + 1;
+                }
+            }
+
+            List<OrderEvent> missed = new ArrayList<>();
+            for (int i = Math.max(start, 0); i < size; i++) {
+                OrderEvent event = events[(oldest + i) % events.length];
+                if (start >= 0 || event.id() > lastEventId) {
+                    missed.add(event);
+                }
+            }
+            return missed;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.practice.foodordering.service.notification;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Cross-node bus over a Redis pub/sub channel.
+ *
+ * <p>Publishing only appends to a local queue. A background thread drains it
+ * every {@code flush-interval-ms}, or as soon as {@code batch-size} events are
+ * waiting, and publishes them as one JSON array per message. Each batch reserves
+ * a contiguous block of event ids with one {@code INCRBY} on {@code sequence-key}
+ * before it is sent, so ids increase across all nodes. A batch that fails
+ * to publish is put back and retried on the next flush; past
+ * {@code max-pending} queued events the oldest are dropped. Every node,
+ * including the publisher, receives the batch on its subscription and hands
+ * each event to the local listeners. The last {@code dedup-window} event ids
+ * are remembered, so an event seen twice (e.g. a retried publish that had in
+ * fact gone through) is delivered only once.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.bus", havingValue = "redis")
+@Slf4j
+public class RedisOrderEventBus implements OrderEventBus {
+
+    private static final TypeReference<List<OrderEvent>> BATCH = new TypeReference<>() {
+    };
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.notifications.redis.channel:order-events}")
+    private String channel;
+
+    @Value("${app.notifications.redis.sequence-key:order-events:sequence}")
+    private String sequenceKey;
+
+    @Value("${app.notifications.redis.batch-size:256}")
+    private int batchSize;
+
+    @Value("${app.notifications.redis.flush-interval-ms:10}")
+    private long flushIntervalMs;
+
+    @Value("${app.notifications.redis.max-pending:50000}")
+    private int maxPending;
+
+    @Value("${app.notifications.redis.dedup-window:10000}")
+    private int dedupWindow;
+
+    private final List<Consumer<OrderEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedDeque<OrderEvent> pending = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Map<Long, Boolean> recentIds = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > dedupWindow;
+        }
+    };
+
+    private ScheduledExecutorService publisher;
+    private RedisMessageListenerContainer container;
+
+    public RedisOrderEventBus(StringRedisTemplate redisTemplate, RedisConnectionFactory connectionFactory,
+            ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void start() {
+        publisher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "order-event-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        publisher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) ->
+                receive(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(channel));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @PreDestroy
+    void stop() throws Exception {
+        publisher.shutdown();
+        publisher.awaitTermination(2, TimeUnit.SECONDS);
+        flush();
+        container.destroy();
+    }
+
+    @Override
+    public void publish(OrderEvent event) {
+        pending.addLast(event);
+        if (pendingCount.incrementAndGet() > maxPending && pending.pollFirst() != null) {
+            pendingCount.decrementAndGet();
+            log.warn("Order event publish queue full; dropped the oldest event");
+        }
+        if (pendingCount.get() >= batchSize && flushRequested.compareAndSet(false, true)
+                && !publisher.isShutdown()) {
+            publisher.execute(this::flush);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<OrderEvent> listener) {
+        listeners.add(listener);
+    }
+
+    private void flush() {
+        flushRequested.set(false);
+        List<OrderEvent> batch = new ArrayList<>(batchSize);
+        while (true) {
+            batch.clear();
+            OrderEvent event;
+            while (batch.size() < batchSize && (event = pending.pollFirst()) != null) {
+                batch.add(event);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            pendingCount.addAndGet(-batch.size());
+
+            try {
+                assignIds(batch);
+                redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(batch));
+            } catch (RuntimeException e) {
+                log.warn("Publishing {} order events failed, will retry: {}", batch.size(), e.getMessage());
+                for (int i = batch.size() - 1; i >= 0; i--) {
+                    pending.addFirst(batch.get(i));
+                }
+                pendingCount.addAndGet(batch.size());
+                return;
+            }
+        }
+    }
+
+    private void assignIds(List<OrderEvent> batch) {
+        int unnumbered = (int) batch.stream().filter(event -> event.id() == 0).count();
+        if (unnumbered == 0) {
+            // A retried batch keeps the ids it was given the first time
+            return;
+        }
+        Long last = redisTemplate.opsForValue().increment(sequenceKey, unnumbered);
+        long next = last - unnumbered + 1;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i).id() == 0) {
+                batch.set(i, batch.get(i).withId(next++));
+            }
+        }
+    }
+
+    void receive(String payload) {
+        List<OrderEvent> events;
+        try {
+            events = objectMapper.readValue(payload, BATCH);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed order event message: {}", e.getMessage());
+            return;
+        }
+
+        for (OrderEvent event : events) {
+            if (firstSighting(event.id())) {
+                listeners.forEach(listener -> listener.accept(event));
+            }
+        }
+    }
+
+    private synchronized boolean firstSighting(long eventId) {
+        return recentIds.putIfAbsent(eventId, Boolean.TRUE) == null;
+    }
+}
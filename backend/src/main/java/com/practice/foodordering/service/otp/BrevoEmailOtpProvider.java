@@ -0,0 +1,73 @@
+package com.practice.foodordering.service.otp;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends OTP emails through Brevo's transactional email API. One
+ * {@link HttpClient} is built at startup and reused, so connections to Brevo
+ * are kept alive and pooled across sends.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.delivery.provider", havingValue = "live", matchIfMissing = true)
+public class BrevoEmailOtpProvider implements EmailOtpProvider {
+
+    private static final String SEND_EMAIL_URL = "https://api.brevo.com/v3/smtp/email";
+
+    private final RestClient restClient;
+    private final String apiKey;
+    private final String fromEmail;
+
+    public BrevoEmailOtpProvider(
+            @Value("${brevo.api.key:}") String apiKey,
+            @Value("${spring.mail.from:harshbohra2208@gmail.com}") String fromEmail,
+            @Value("${app.otp.delivery.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${app.otp.delivery.http.read-timeout-ms:5000}") long readTimeoutMs) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.apiKey = apiKey;
+        this.fromEmail = fromEmail;
+    }
+
+    @Override
+    public String name() {
+        return "brevo";
+    }
+
+    @Override
+    public void sendCode(String email, String code, int expiresInMinutes) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            throw new IllegalStateException("Brevo API key is not configured");
+        }
+
+        Map<String, Object> body = Map.of(
+                "sender", Map.of("name", "FoodDash", "email", fromEmail),
+                "to", List.of(Map.of("email", email)),
+                "subject", "Your FoodDash OTP",
+                "textContent", "Your OTP for FoodDash login is: " + code + ". This code expires in "
+                        + expiresInMinutes + " minutes.");
+
+        // Non-2xx responses throw and count as a failure
+        restClient.post()
+                .uri(SEND_EMAIL_URL)
+                .header("api-key", apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
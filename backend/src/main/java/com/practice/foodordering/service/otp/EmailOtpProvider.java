@@ -0,0 +1,11 @@
+package com.practice.foodordering.service.otp;
+
+/**
+ * Sends a code that this application generated to an email address.
+ */
+public interface EmailOtpProvider {
+
+    String name();
+
+    void sendCode(String email, String code, int expiresInMinutes);
+}
@@ -0,0 +1,63 @@
+package com.practice.foodordering.service.otp;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stand-in for Brevo and Twilio when load testing the login flow. Each send
+ * sleeps for a random time up to {@code max-latency-ms} and fails with
+ * probability {@code failure-rate}; SMS checks accept {@code sms-code}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.delivery.provider", havingValue = "fake")
+@Slf4j
+public class FakeOtpProvider implements EmailOtpProvider, SmsOtpProvider {
+
+    @Value("${app.otp.delivery.fake.max-latency-ms:200}")
+    private long maxLatencyMs;
+
+    @Value("${app.otp.delivery.fake.failure-rate:0.0}")
+    private double failureRate;
+
+    @Value("${app.otp.delivery.fake.sms-code:000000}")
+    private String smsCode;
+
+    @Override
+    public String name() {
+        return "fake";
+    }
+
+    @Override
+    public void sendCode(String email, String code, int expiresInMinutes) {
+        simulateCall();
+        log.debug("Fake email OTP for {} is {}", email, code);
+    }
+
+    @Override
+    public void startVerification(String phone) {
+        simulateCall();
+        log.debug("Fake SMS OTP for {} is {}", phone, smsCode);
+    }
+
+    @Override
+    public boolean checkVerification(String phone, String code) {
+        simulateCall();
+        return smsCode.equals(code);
+    }
+
+    private void simulateCall() {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxLatencyMs + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new IllegalStateException("Simulated provider failure");
+        }
+    }
+}
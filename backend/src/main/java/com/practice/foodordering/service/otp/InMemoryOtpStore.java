@@ -0,0 +1,141 @@
+package com.practice.foodordering.service.otp;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-node OTP store holding at most {@code max-entries} codes.
+ *
+ * <p>Codes are also queued in issue order. Since every code gets the same TTL,
+ * the head of the queue is always the next to expire: a sweeper drops expired
+ * codes from the head every {@code sweep-interval-ms}, and when the store is
+ * full the head is evicted to make room. Queue entries for codes that were
+ * since consumed or replaced are skipped, and purged once the queue grows past
+ * twice the cap.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.store.type", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryOtpStore implements OtpStore {
+
+    private record Entry(String identifier, String code, long expiresAt) {
+    }
+
+    @Value("${app.otp.store.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${app.otp.store.sweep-interval-ms:30000}")
+    private long sweepIntervalMs;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> issueOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private Clock clock = Clock.systemUTC();
+
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    void start() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "otp-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * Synchronized so the capacity check and the insert are one step; otherwise
+     * concurrent saves could each see room and push the store past the cap.
+     * Consuming stays lock-free, since it only ever shrinks the store.
+     */
+    @Override
+    public synchronized void save(String identifier, String code, Duration ttl) {
+        Entry entry = new Entry(identifier, code, clock.millis() + ttl.toMillis());
+        if (entries.size() >= maxEntries && !entries.containsKey(identifier)) {
+            makeRoom();
+        }
+        entries.put(identifier, entry);
+        issueOrder.add(entry);
+        if (queued.incrementAndGet() > 2 * maxEntries) {
+            // Repeated requests for the same identifier leave superseded entries behind
+            dropSuperseded();
+        }
+    }
+
+    @Override
+    public boolean consume(String identifier, String code) {
+        Entry entry = entries.get(identifier);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.expiresAt() <= clock.millis()) {
+            if (entries.remove(identifier, entry)) {
+                expired.incrementAndGet();
+            }
+            return false;
+        }
+        // Remove only the entry that was checked, so a concurrently issued new code survives
+        return entry.code().equals(code) && entries.remove(identifier, entry);
+    }
+
+    @Override
+    public Stats stats() {
+        return new Stats(entries.size(), expired.get(), evicted.get());
+    }
+
+    synchronized void sweep() {
+        long now = clock.millis();
+        Entry head;
+        while ((head = issueOrder.peek()) != null) {
+            boolean live = entries.get(head.identifier()) == head;
+            if (live && head.expiresAt() > now) {
+                return;
+            }
+            issueOrder.poll();
+            queued.decrementAndGet();
+            if (live && entries.remove(head.identifier(), head)) {
+                expired.incrementAndGet();
+            }
+        }
+    }
+
+    private synchronized void makeRoom() {
+        sweep();
+        Entry oldest;
+        while (entries.size() >= maxEntries && (oldest = issueOrder.poll()) != null) {
+            queued.decrementAndGet();
+            if (entries.get(oldest.identifier()) == oldest && entries.remove(oldest.identifier(), oldest)) {
+                evicted.incrementAndGet();
+            }
+        }
+    }
+
+    private synchronized void dropSuperseded() {
+        issueOrder.removeIf(entry -> entries.get(entry.identifier()) != entry);
+        queued.set(issueOrder.size());
+    }
+}
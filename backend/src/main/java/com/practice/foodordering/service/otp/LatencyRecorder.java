@@ -0,0 +1,28 @@
+package com.practice.foodordering.service.otp;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count, mean and max of a stream of durations.
+ */
+public final class LatencyRecorder {
+
+    public record Snapshot(long count, double meanMillis, double maxMillis) {
+    }
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    void record(long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    Snapshot snapshot() {
+        long n = count.sum();
+        return new Snapshot(n, n == 0 ? 0 : totalNanos.sum() / 1e6 / n, maxNanos.get() / 1e6);
+    }
+}
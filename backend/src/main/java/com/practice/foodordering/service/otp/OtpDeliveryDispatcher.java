@@ -0,0 +1,130 @@
+package com.practice.foodordering.service.otp;
+
+import com.practice.foodordering.config.threads.ExecutionThreads;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers OTPs on a dedicated pool of {@code workers} threads fed by a queue of
+ * {@code queue-capacity} sends, so slow providers never hold up request threads
+ * or Spring's shared {@code @Async} executor. When the queue is full the
+ * request is rejected with 503 rather than piling up. Every provider call goes
+ * through a {@link ProviderGuard} (rate limit plus circuit breaker); queue wait
+ * and provider latency are recorded for {@link #stats()}. The workers are
+ * virtual threads in virtual-thread mode (see {@link ExecutionThreads}), but
+ * there are still only {@code workers} of them, since their number is what
+ * bounds the concurrent calls to each provider.
+ */
+@Component
+@Slf4j
+public class OtpDeliveryDispatcher {
+
+    public record Stats(int queueDepth, long rejected, LatencyRecorder.Snapshot queueWait,
+            List<ProviderGuard.Stats> providers) {
+    }
+
+    private final EmailOtpProvider emailProvider;
+    private final SmsOtpProvider smsProvider;
+    private final ProviderGuard emailGuard;
+    private final ProviderGuard smsGuard;
+    private final ThreadPoolExecutor workers;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final LatencyRecorder queueWait = new LatencyRecorder();
+
+    public OtpDeliveryDispatcher(
+            EmailOtpProvider emailProvider,
+            SmsOtpProvider smsProvider,
+            ExecutionThreads threads,
+            MeterRegistry meterRegistry,
+            @Value("${app.otp.delivery.workers:8}") int workerCount,
+            @Value("${app.otp.delivery.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.otp.delivery.email.rate-per-second:10}") double emailRate,
+            @Value("${app.otp.delivery.sms.rate-per-second:5}") double smsRate,
+            @Value("${app.otp.delivery.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${app.otp.delivery.circuit.open-ms:30000}") long openMs) {
+        this.emailProvider = emailProvider;
+        this.smsProvider = smsProvider;
+        this.emailGuard = new ProviderGuard(emailProvider.name(), emailRate, failureThreshold, openMs, meterRegistry);
+        this.smsGuard = new ProviderGuard(smsProvider.name(), smsRate, failureThreshold, openMs, meterRegistry);
+
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threads.factory("otp-delivery"));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    public void sendEmail(String email, String code, int expiresInMinutes) {
+        submit(() -> {
+            try {
+                emailGuard.run(() -> emailProvider.sendCode(email, code, expiresInMinutes));
+                log.info("Successfully sent email OTP to {} via {}", email, emailProvider.name());
+            } catch (RuntimeException e) {
+                log.error("CRITICAL: Failed to send email OTP to {}. Reason: {}", email, e.getMessage());
+                log.warn("DEVELOPMENT MODE FALLBACK: OTP for {} is {}", email, code);
+            }
+        });
+    }
+
+    public void startSms(String phone) {
+        submit(() -> {
+            try {
+                smsGuard.run(() -> smsProvider.startVerification(phone));
+                log.info("Successfully initiated SMS verification for {} via {}", phone, smsProvider.name());
+            } catch (RuntimeException e) {
+                log.error("CRITICAL: Failed to send SMS OTP to {}. Reason: {}", phone, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Checks an SMS code on the calling thread; the caller needs the answer.
+     */
+    public boolean checkSms(String phone, String code) {
+        try {
+            boolean approved = smsGuard.call(() -> smsProvider.checkVerification(phone, code));
+            if (!approved) {
+                log.warn("SMS OTP verification failed for {}", phone);
+            }
+            return approved;
+        } catch (RuntimeException e) {
+            log.error("Error during SMS OTP verification for {}: {}", phone, e.getMessage());
+            return false;
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(workers.getQueue().size(), rejected.get(), queueWait.snapshot(),
+                List.of(emailGuard.stats(), smsGuard.stats()));
+    }
+
+    private void submit(Runnable send) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            workers.execute(() -> {
+                queueWait.record(System.nanoTime() - enqueuedAt);
+                send.run();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "OTP delivery is busy, please try again shortly");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.practice.foodordering.service.otp;
+
+import java.time.Duration;
+
+/**
+ * Storage for one-time codes issued by {@code OtpService}. Selected with
+ * {@code app.otp.store.type} ({@code memory} or {@code redis}).
+ */
+public interface OtpStore {
+
+    /**
+     * @param liveEntries codes currently stored, or {@code -1} if the backend cannot tell cheaply
+     * @param expired     codes dropped because their TTL passed
+     * @param evicted     codes dropped early because the store was full
+     */
+    record Stats(long liveEntries, long expired, long evicted) {
+    }
+
+    /**
+     * Stores {@code code} for {@code identifier}, replacing any earlier code.
+     */
+    void save(String identifier, String code, Duration ttl);
+
+    /**
+     * Removes the code and returns {@code true} if {@code code} matches an
+     * unexpired entry. A wrong code leaves the entry in place.
+     */
+    boolean consume(String identifier, String code);
+
+    Stats stats();
+}
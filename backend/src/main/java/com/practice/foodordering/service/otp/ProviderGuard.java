@@ -0,0 +1,161 @@
+package com.practice.foodordering.service.otp;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Rate limit and circuit breaker around one OTP provider.
+ *
+ * <p>Calls are spaced at least {@code 1 / permitsPerSecond} apart; a caller
+ * sleeps until its slot. After {@code failureThreshold} consecutive failures
+ * the circuit opens and calls fail fast with {@link CircuitOpenException} for
+ * {@code openMillis}. The first call after that is a trial: success closes the
+ * circuit, failure opens it again. Provider call latency is recorded as
+ * {@code otp.provider.latency}, tagged with the provider and the outcome.
+ */
+public final class ProviderGuard {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    public record Stats(String provider, State state, long calls, long failures, long shortCircuited,
+            LatencyRecorder.Snapshot latency) {
+    }
+
+    static final class CircuitOpenException extends RuntimeException {
+
+        CircuitOpenException(String provider) {
+            super("Circuit for " + provider + " is open");
+        }
+    }
+
+    private final String provider;
+    private final long intervalNanos;
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private long nextPermitAt = System.nanoTime();
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean trialInFlight;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+    private final LatencyRecorder latency = new LatencyRecorder();
+    private final Timer succeeded;
+    private final Timer failed;
+
+    ProviderGuard(String provider, double permitsPerSecond, int failureThreshold, long openMillis,
+            MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.succeeded = meterRegistry.timer("otp.provider.latency", "provider", provider, "outcome", "success");
+        this.failed = meterRegistry.timer("otp.provider.latency", "provider", provider, "outcome", "failure");
+    }
+
+    <T> T call(Supplier<T> call) {
+        if (!allow()) {
+            shortCircuited.incrementAndGet();
+            throw new CircuitOpenException(provider);
+        }
+        try {
+            awaitPermit();
+        } catch (RuntimeException e) {
+            releaseTrial();
+            throw e;
+        }
+
+        calls.incrementAndGet();
+        long started = System.nanoTime();
+        Timer outcome = failed;
+        try {
+            T result = call.get();
+            onSuccess();
+            outcome = succeeded;
+            return result;
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            onFailure();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            latency.record(elapsed);
+            outcome.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void run(Runnable call) {
+        call(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    synchronized Stats stats() {
+        return new Stats(provider, state, calls.get(), failures.get(), shortCircuited.get(), latency.snapshot());
+    }
+
+    private synchronized boolean allow() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openUntil < 0) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    private synchronized void releaseTrial() {
+        trialInFlight = false;
+    }
+
+    private synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    private synchronized void onFailure() {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openUntil = System.nanoTime() + openNanos;
+        }
+    }
+
+    private void awaitPermit() {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextPermitAt);
+            nextPermitAt = slot + intervalNanos;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for " + provider + " rate limit", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.practice.foodordering.service.otp;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * OTP store shared by all replicas. Each code is a plain key
+ * ({@code <key-prefix><identifier>}) written with a native TTL, so Redis
+ * expires abandoned codes itself and its {@code maxmemory} policy bounds the
+ * total. Consuming compares and deletes in one Lua script, so a code can only
+ * be used once even when two replicas verify it at the same time.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.store.type", havingValue = "redis")
+public class RedisOtpStore implements OtpStore {
+
+    private static final RedisScript<Long> CONSUME = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${app.otp.store.key-prefix:otp:}")
+    private String keyPrefix;
+
+    public RedisOtpStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void save(String identifier, String code, Duration ttl) {
+        redisTemplate.opsForValue().set(keyPrefix + identifier, code, ttl);
+    }
+
+    @Override
+    public boolean consume(String identifier, String code) {
+        Long deleted = redisTemplate.execute(CONSUME, List.of(keyPrefix + identifier), code);
+        return deleted != null && deleted > 0;
+    }
+
+    /**
+     * Live codes are not counted: that would take a SCAN over the whole
+     * keyspace on every metrics scrape. Expiry and eviction happen inside Redis
+     * and show up in its own {@code INFO} statistics.
+     */
+    @Override
+    public Stats stats() {
+        return new Stats(-1, 0, 0);
+    }
+}
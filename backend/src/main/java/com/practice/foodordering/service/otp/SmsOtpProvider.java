@@ -0,0 +1,13 @@
+package com.practice.foodordering.service.otp;
+
+/**
+ * Phone verification where the provider generates, sends and checks the code.
+ */
+public interface SmsOtpProvider {
+
+    String name();
+
+    void startVerification(String phone);
+
+    boolean checkVerification(String phone, String code);
+}
@@ -0,0 +1,60 @@
+package com.practice.foodordering.service.otp;
+
+import com.twilio.http.TwilioRestClient;
+import com.twilio.rest.verify.v2.service.Verification;
+import com.twilio.rest.verify.v2.service.VerificationCheck;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Phone verification through Twilio Verify. The Twilio client (and its pooled
+ * HTTP connections) is created once and shared by every call, instead of
+ * re-initialising the SDK per request.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.delivery.provider", havingValue = "live", matchIfMissing = true)
+public class TwilioSmsOtpProvider implements SmsOtpProvider {
+
+    private final TwilioRestClient client;
+    private final String verifyServiceSid;
+
+    public TwilioSmsOtpProvider(
+            @Value("${twilio.account.sid:}") String accountSid,
+            @Value("${twilio.auth.token:}") String authToken,
+            @Value("${twilio.verify.service.sid:}") String verifyServiceSid) {
+        boolean configured = !accountSid.isEmpty() && !authToken.isEmpty() && !verifyServiceSid.isEmpty();
+        this.client = configured ? new TwilioRestClient.Builder(accountSid, authToken).build() : null;
+        this.verifyServiceSid = verifyServiceSid;
+    }
+
+    @Override
+    public String name() {
+        return "twilio";
+    }
+
+    @Override
+    public void startVerification(String phone) {
+        Verification.creator(verifyServiceSid, format(phone), "sms").create(client());
+    }
+
+    @Override
+    public boolean checkVerification(String phone, String code) {
+        VerificationCheck check = VerificationCheck.creator(verifyServiceSid)
+                .setTo(format(phone))
+                .setCode(code)
+                .create(client());
+        return "approved".equals(check.getStatus());
+    }
+
+    private TwilioRestClient client() {
+        if (client == null) {
+            throw new IllegalStateException("Twilio Verify not fully configured (SID, Token, or Service SID missing)");
+        }
+        return client;
+    }
+
+    private static String format(String phone) {
+        return phone.startsWith("+") ? phone : "+" + phone;
+    }
+}
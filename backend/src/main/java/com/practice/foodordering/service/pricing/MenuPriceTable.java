@@ -0,0 +1,79 @@
+package com.practice.foodordering.service.pricing;
+
+import com.practice.foodordering.dto.PriceRow;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of one restaurant's menu prices in minor units (cents).
+ * Variants and addons remember which food item they belong to so a cart line
+ * can be checked for consistency without touching the database.
+ * Serializable so it can sit in the Redis tier of the {@code price-tables}
+ * cache.
+ */
+public final class MenuPriceTable implements Serializable {
+
+    public record Option(UUID itemId, long cents) implements Serializable {
+    }
+
+    private final UUID restaurantId;
+    private final Map<UUID, Long> items;
+    private final Map<UUID, Option> variants;
+    private final Map<UUID, Option> addons;
+
+    private MenuPriceTable(UUID restaurantId, Map<UUID, Long> items, Map<UUID, Option> variants,
+            Map<UUID, Option> addons) {
+        this.restaurantId = restaurantId;
+        this.items = items;
+        this.variants = variants;
+        this.addons = addons;
+    }
+
+    public static MenuPriceTable of(UUID restaurantId, List<PriceRow> items, List<PriceRow> variants,
+            List<PriceRow> addons) {
+        Map<UUID, Long> itemPrices = new HashMap<>(items.size() * 2);
+        items.forEach(row -> itemPrices.put(row.id(), toCents(row.price())));
+        return new MenuPriceTable(restaurantId, Map.copyOf(itemPrices), options(variants), options(addons));
+    }
+
+    private static Map<UUID, Option> options(List<PriceRow> rows) {
+        Map<UUID, Option> options = new HashMap<>(rows.size() * 2);
+        rows.forEach(row -> options.put(row.id(), new Option(row.itemId(), toCents(row.price()))));
+        return Map.copyOf(options);
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    public UUID restaurantId() {
+        return restaurantId;
+    }
+
+    public Set<UUID> itemIds() {
+        return items.keySet();
+    }
+
+    public Long itemCents(UUID itemId) {
+        return items.get(itemId);
+    }
+
+    public Option variant(UUID variantId) {
+        return variants.get(variantId);
+    }
+
+    public Option addon(UUID addonId) {
+        return addons.get(addonId);
+    }
+}
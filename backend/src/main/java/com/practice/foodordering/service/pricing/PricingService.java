@@ -0,0 +1,190 @@
+package com.practice.foodordering.service.pricing;
+
+import com.practice.foodordering.model.Order;
+import com.practice.foodordering.model.OrderItem;
+import com.practice.foodordering.model.OrderItemAddon;
+import com.practice.foodordering.repository.AddonRepository;
+import com.practice.foodordering.repository.FoodItemRepository;
+import com.practice.foodordering.repository.VariantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Computes order totals on the server from {@code FoodItem.price +
+ * Variant.priceModifier + sum(Addon.price)} per line, times quantity, plus the
+ * delivery fee.
+ *
+ * <p>Prices are served from per-restaurant {@link MenuPriceTable}s kept in the
+ * {@code price-tables} cache. A table is loaded on first use (three queries)
+ * and evicted by {@link #invalidate} whenever {@code ItemService} changes that
+ * restaurant's menu; the cache carries the eviction to the Redis tier and to
+ * the other nodes. An order is served by one restaurant, so pricing a cart
+ * costs one primary-key lookup of its first item's restaurant; every line is
+ * then priced and checked against that restaurant's table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PricingService {
+
+    static final String CACHE = "price-tables";
+
+    private static final int GENERATION_STRIPES = 256;
+
+    /**
+     * The restaurant serving every line of an order and the order's total.
+     */
+    public record Quote(UUID restaurantId, BigDecimal total) {
+    }
+
+    private final FoodItemRepository foodItemRepository;
+    private final VariantRepository variantRepository;
+    private final AddonRepository addonRepository;
+    private final CacheManager cacheManager;
+
+    @Value("${app.pricing.delivery-fee:2.99}")
+    private BigDecimal deliveryFee;
+
+    // Bumped when a restaurant is invalidated, so a load that raced with it is not
+    // cached. Striped by restaurant id: bounded, and a shared stripe only costs an
+    // extra reload.
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /**
+     * Prices the order and finds the restaurant serving it. If the client sent a
+     * total it must match the computed one to the cent, otherwise the order is
+     * rejected with 409 so the client can refresh its menu. A cart that mixes
+     * restaurants is a 400.
+     */
+    public Quote quote(Order order) {
+        if (order.getItems() == null || order.getItems().isEmpty()) {
+            throw badRequest("Order has no items");
+        }
+        order.getItems().forEach(PricingService::checkLine);
+
+        UUID firstItemId = order.getItems().get(0).getFoodItem().getId();
+        UUID restaurantId = foodItemRepository.findRestaurantIdById(firstItemId)
+                .orElseThrow(() -> badRequest("Unknown food item " + firstItemId));
+        MenuPriceTable table = table(restaurantId, order);
+
+        long totalCents = MenuPriceTable.toCents(deliveryFee);
+        for (OrderItem line : order.getItems()) {
+            totalCents = Math.addExact(totalCents, priceLine(table, line));
+        }
+
+        BigDecimal total = MenuPriceTable.fromCents(totalCents);
+        if (order.getTotalPrice() != null
+                && order.getTotalPrice().setScale(2, RoundingMode.HALF_UP).compareTo(total) != 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Order total " + order.getTotalPrice() + " does not match current menu prices (" + total + ")");
+        }
+        return new Quote(restaurantId, total);
+    }
+
+    public void invalidate(UUID restaurantId) {
+        generations.incrementAndGet(stripe(restaurantId));
+        cache().evict(restaurantId);
+        log.debug("Invalidated price table for restaurant {}", restaurantId);
+    }
+
+    private static void checkLine(OrderItem line) {
+        if (line.getFoodItem() == null || line.getFoodItem().getId() == null) {
+            throw badRequest("Order item is missing its food item");
+        }
+        if (line.getQuantity() == null || line.getQuantity() <= 0) {
+            throw badRequest("Order item quantity must be positive");
+        }
+    }
+
+    private long priceLine(MenuPriceTable table, OrderItem line) {
+        UUID itemId = line.getFoodItem().getId();
+        Long itemCents = table.itemCents(itemId);
+        if (itemCents == null) {
+            throw badRequest("Unknown food item " + itemId);
+        }
+        long unitCents = itemCents;
+
+        if (line.getVariant() != null) {
+            MenuPriceTable.Option variant = table.variant(line.getVariant().getId());
+            if (variant == null || !variant.itemId().equals(itemId)) {
+                throw badRequest("Variant " + line.getVariant().getId() + " is not offered for item " + itemId);
+            }
+            unitCents += variant.cents();
+        }
+
+        if (line.getAddons() != null) {
+            for (OrderItemAddon selected : line.getAddons()) {
+                UUID addonId = selected.getAddon() != null ? selected.getAddon().getId() : null;
+                MenuPriceTable.Option addon = addonId != null ? table.addon(addonId) : null;
+                if (addon == null || !addon.itemId().equals(itemId)) {
+                    throw badRequest("Addon " + addonId + " is not offered for item " + itemId);
+                }
+                unitCents += addon.cents();
+            }
+        }
+
+        return Math.multiplyExact(unitCents, line.getQuantity().longValue());
+    }
+
+    /**
+     * The restaurant's table. An item of the order that the table lacks is
+     * looked up: another restaurant's item is a 400, while one of this
+     * restaurant's is newer than the cached table, which is then reloaded.
+     */
+    private MenuPriceTable table(UUID restaurantId, Order order) {
+        Cache cache = cache();
+        int stripe = stripe(restaurantId);
+        long observed = generations.get(stripe);
+        MenuPriceTable table = cache.get(restaurantId, () -> load(restaurantId));
+        boolean stale = false;
+        for (OrderItem line : order.getItems()) {
+            UUID itemId = line.getFoodItem().getId();
+            if (table.itemCents(itemId) == null) {
+                UUID servedBy = foodItemRepository.findRestaurantIdById(itemId)
+                        .orElseThrow(() -> badRequest("Unknown food item " + itemId));
+                if (!servedBy.equals(restaurantId)) {
+                    throw badRequest("All items of an order must come from the same restaurant");
+                }
+                stale = true;
+            }
+        }
+        if (stale) {
+            cache.evict(restaurantId);
+            table = cache.get(restaurantId, () -> load(restaurantId));
+        }
+        if (generations.get(stripe) != observed) {
+            cache.evict(restaurantId);
+        }
+        return table;
+    }
+
+    private MenuPriceTable load(UUID restaurantId) {
+        return MenuPriceTable.of(restaurantId,
+                foodItemRepository.findPricesByRestaurantId(restaurantId),
+                variantRepository.findPricesByRestaurantId(restaurantId),
+                addonRepository.findPricesByRestaurantId(restaurantId));
+    }
+
+    private static int stripe(UUID restaurantId) {
+        return restaurantId.hashCode() & (GENERATION_STRIPES - 1);
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CACHE);
+    }
+
+    private static ResponseStatusException badRequest(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+}
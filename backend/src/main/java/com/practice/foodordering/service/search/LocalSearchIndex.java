@@ -0,0 +1,419 @@
+package com.practice.foodordering.service.search;
+
+import com.practice.foodordering.dto.FoodItemSearchRow;
+import com.practice.foodordering.model.search.FoodItemDocument;
+import com.practice.foodordering.repository.FoodItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process inverted index over item name, restaurant name and city name,
+ * used when Elasticsearch is unavailable instead of the {@code LIKE '%kw%'}
+ * table scan.
+ *
+ * <p>Every field is indexed by its character trigrams and bigrams. A query of
+ * three or more characters intersects the posting lists of its trigrams, a
+ * two-character query uses its bigram list, and a one-character query checks
+ * every item, since nearly all of them would be candidates anyway. Candidates
+ * are verified with a substring check, so results match the JPA query's
+ * substring semantics, infixes included. They are then ranked: name matches
+ * beat restaurant matches beat city matches, and prefix matches beat infix
+ * ones.
+ *
+ * <p>Documents live in append-only slots, so posting lists stay sorted without
+ * any insertion cost. Updates and deletes tombstone the old slot, and the
+ * index compacts itself once half the slots are dead. The index is built from
+ * the database at startup and kept current by {@link SearchIndexingPipeline}.
+ * Items changed while a rebuild scans the table are read again before the
+ * rebuilt segment is swapped in, so an older row never replaces a newer one.
+ */
+@Component
+@Slf4j
+public class LocalSearchIndex {
+
+    private static final int MIN_COMPACTION_SLOTS = 1024;
+    // Rounds of re-reading items changed during a rebuild before the last one runs under the lock
+    private static final int MAX_REFRESH_ROUNDS = 3;
+
+    private record Entry(UUID id, String name, String restaurantName, String cityName,
+            String nameKey, String restaurantKey, String cityKey) {
+    }
+
+    private record Hit(Entry entry, int score) {
+    }
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score)
+            .thenComparing(hit -> hit.entry().name(), Comparator.reverseOrder());
+
+    private final FoodItemRepository foodItemRepository;
+
+    @Value("${app.search.local-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.local-index.page-size:5000}")
+    private int pageSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    // Ids changed while a rebuild is loading, read again into the rebuilt segment
+    private Set<UUID> touchedDuringRebuild;
+    private volatile boolean ready;
+
+    public LocalSearchIndex(FoodItemRepository foodItemRepository) {
+        this.foodItemRepository = foodItemRepository;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.liveCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void bootstrap() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::rebuild, "local-search-bootstrap");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Reloads every item from the database into a fresh segment and swaps it in.
+     * Searches keep using the previous segment until the swap. Items changed
+     * during the scan are read again rather than replayed: the change may carry
+     * an older row than the one the scan read.
+     */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            touchedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment fresh = new Segment();
+        try {
+            UUID after = new UUID(0L, 0L);
+            List<FoodItemSearchRow> page;
+            do {
+                page = foodItemRepository.findSearchRowsAfter(after, PageRequest.of(0, pageSize));
+                page.forEach(fresh::add);
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1).id();
+                }
+            } while (page.size() == pageSize);
+
+            // The fresh segment is private to this thread until the swap, so it is refreshed
+            // outside the lock; the last round holds the lock so no change slips in before the swap
+            for (int round = 1; ; round++) {
+                Set<UUID> touched;
+                lock.writeLock().lock();
+                try {
+                    touched = touchedDuringRebuild;
+                    if (touched.isEmpty() || round >= MAX_REFRESH_ROUNDS) {
+                        refresh(fresh, touched);
+                        touchedDuringRebuild = null;
+                        segment = fresh;
+                        ready = true;
+                        break;
+                    }
+                    touchedDuringRebuild = new HashSet<>();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                refresh(fresh, touched);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to build local search index", e);
+            lock.writeLock().lock();
+            try {
+                touchedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        log.info("Local search index built with {} items in {} ms", fresh.liveCount(),
+                System.currentTimeMillis() - started);
+    }
+
+    public void upsert(Collection<FoodItemSearchRow> rows) {
+        if (!enabled || rows.isEmpty()) {
+            return;
+        }
+        mutate(rows.stream().map(FoodItemSearchRow::id).toList(), target -> rows.forEach(target::add));
+    }
+
+    public void remove(Collection<UUID> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        mutate(ids, target -> ids.forEach(target::remove));
+    }
+
+    /**
+     * Returns up to {@code limit} best-ranked items whose name, restaurant name or
+     * city name contains {@code query} (case-insensitive).
+     */
+    public List<FoodItemDocument> search(String query, int limit) {
+        String key = normalize(query);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return segment.search(key, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void mutate(Collection<UUID> ids, Consumer<Segment> mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.accept(segment);
+            if (touchedDuringRebuild != null) {
+                touchedDuringRebuild.addAll(ids);
+            }
+            if (segment.needsCompaction()) {
+                segment = segment.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets {@code ids} in {@code target} to what the database holds now.
+     */
+    private void refresh(Segment target, Set<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<UUID> missing = new HashSet<>(ids);
+        for (FoodItemSearchRow row : foodItemRepository.findSearchRowsByIds(ids)) {
+            target.add(row);
+            missing.remove(row.id());
+        }
+        missing.forEach(target::remove);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Slot storage plus posting lists. Not thread-safe; guarded by the enclosing
+     * index's lock.
+     */
+    private static final class Segment {
+
+        private Entry[] entries = new Entry[1024];
+        private int slots;
+        private int tombstones;
+        private final Map<UUID, Integer> slotById = new HashMap<>();
+        private final Map<String, IntList> postings = new HashMap<>();
+
+        int liveCount() {
+            return slots - tombstones;
+        }
+
+        void add(FoodItemSearchRow row) {
+            remove(row.id());
+            Entry entry = new Entry(row.id(), row.name(), row.restaurantName(), row.cityName(),
+                    normalize(row.name()), normalize(row.restaurantName()), normalize(row.cityName()));
+            place(entry);
+        }
+
+        private void place(Entry entry) {
+            if (slots == entries.length) {
+                entries = Arrays.copyOf(entries, slots * 2);
+            }
+            int slot = slots++;
+            entries[slot] = entry;
+            slotById.put(entry.id(), slot);
+
+            Consumer<String> post = gram -> postings.computeIfAbsent(gram, g -> new IntList()).appendIfAbsent(slot);
+            grams(entry.nameKey(), post);
+            grams(entry.restaurantKey(), post);
+            grams(entry.cityKey(), post);
+        }
+
+        void remove(UUID id) {
+            Integer slot = slotById.remove(id);
+            if (slot != null) {
+                entries[slot] = null;
+                tombstones++;
+            }
+        }
+
+        boolean needsCompaction() {
+            return slots >= MIN_COMPACTION_SLOTS && tombstones * 2 > slots;
+        }
+
+        Segment compact() {
+            Segment compacted = new Segment();
+            for (int slot = 0; slot < slots; slot++) {
+                if (entries[slot] != null) {
+                    compacted.place(entries[slot]);
+                }
+            }
+            return compacted;
+        }
+
+        List<FoodItemDocument> search(String key, int limit) {
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANKING);
+            if (key.length() == 1) {
+                for (int slot = 0; slot < slots; slot++) {
+                    consider(top, entries[slot], key, limit);
+                }
+                return ranked(top);
+            }
+
+            List<IntList> lists = new ArrayList<>();
+            int gram = Math.min(key.length(), 3);
+            for (int i = 0; i + gram <= key.length(); i++) {
+                IntList list = postings.get(key.substring(i, i + gram));
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(IntList::size));
+
+            IntList smallest = lists.get(0);
+            candidates:
+            for (int i = 0; i < smallest.size(); i++) {
+                int slot = smallest.get(i);
+                for (int l = 1; l < lists.size(); l++) {
+                    if (!lists.get(l).contains(slot)) {
+                        continue candidates;
+                    }
+                }
+                consider(top, entries[slot], key, limit);
+            }
+            return ranked(top);
+        }
+
+        private static void consider(PriorityQueue<Hit> top, Entry entry, String key, int limit) {
+            if (entry == null) {
+                return;
+            }
+            int score = score(entry, key);
+            if (score > 0) {
+                top.add(new Hit(entry, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+
+        private static List<FoodItemDocument> ranked(PriorityQueue<Hit> top) {
+            List<FoodItemDocument> results = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Entry entry = top.poll().entry();
+                results.add(FoodItemDocument.builder()
+                        .id(entry.id().toString())
+                        .name(entry.name())
+                        .restaurantName(entry.restaurantName())
+                        .cityName(entry.cityName())
+                        .build());
+            }
+            Collections.reverse(results);
+            return results;
+        }
+
+        private static int score(Entry entry, String key) {
+            int score = 0;
+            if (entry.nameKey().startsWith(key)) {
+                score += 6;
+            } else if (entry.nameKey().contains(" " + key)) {
+                score += 5;
+            } else if (entry.nameKey().contains(key)) {
+                score += 4;
+            }
+            if (entry.restaurantKey().contains(key)) {
+                score += 2;
+            }
+            if (entry.cityKey().contains(key)) {
+                score += 1;
+            }
+            return score;
+        }
+
+        private static void grams(String text, Consumer<String> sink) {
+            for (int i = 0; i + 2 <= text.length(); i++) {
+                sink.accept(text.substring(i, i + 2));
+                if (i + 3 <= text.length()) {
+                    sink.accept(text.substring(i, i + 3));
+                }
+            }
+        }
+    }
+
+    /**
+     * Growable sorted int array. Slots are only ever appended in increasing order.
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        void appendIfAbsent(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.practice.foodordering.service.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded holding area for index operations that exhausted their retries.
+ * When full, the oldest entry is dropped and counted.
+ */
+@Component
+public class SearchDeadLetterStore {
+
+    public record DeadLetter(UUID itemId, SearchIndexingPipeline.Operation operation, int attempts, String error,
+            Instant failedAt) {
+    }
+
+    private final int capacity;
+    private final Deque<DeadLetter> letters = new ArrayDeque<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public SearchDeadLetterStore(@Value("${app.search.indexing.dead-letter-capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    public synchronized void add(DeadLetter letter) {
+        if (letters.size() >= capacity) {
+            letters.pollFirst();
+            dropped.incrementAndGet();
+        }
+        letters.addLast(letter);
+    }
+
+    public synchronized List<DeadLetter> list() {
+        return new ArrayList<>(letters);
+    }
+
+    public synchronized List<DeadLetter> drain() {
+        List<DeadLetter> drained = new ArrayList<>(letters);
+        letters.clear();
+        return drained;
+    }
+
+    public synchronized int size() {
+        return letters.size();
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,333 @@
+package com.practice.foodordering.service.search;
+
+import com.practice.foodordering.dto.FoodItemSearchRow;
+import com.practice.foodordering.model.search.FoodItemDocument;
+import com.practice.foodordering.repository.FoodItemRepository;
+import com.practice.foodordering.repository.search.FoodItemSearchRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asynchronous, coalescing writer for the {@code food_items} search index and
+ * the in-process {@link LocalSearchIndex}.
+ *
+ * <p>Callers enqueue item ids; repeated operations on the same id collapse into
+ * the latest one. A single background thread flushes up to {@code batch-size}
+ * operations at a time, either when that many are pending or every
+ * {@code flush-interval-ms}. Document data is read in one joined projection per
+ * batch and written with bulk requests. Failed operations are retried with
+ * exponential backoff and parked in {@link SearchDeadLetterStore} after
+ * {@code max-attempts}. When {@code queue-capacity} distinct ids are pending,
+ * producers wait up to {@code offer-timeout-ms} before the operation is
+ * dead-lettered instead.
+ */
+@Component
+@Slf4j
+public class SearchIndexingPipeline {
+
+    public enum Operation {
+        INDEX,
+        DELETE
+    }
+
+    public record Stats(int queueDepth, long oldestPendingMillis, long lastBatchLagMillis, long indexed,
+            long deleted, long failedBatches, int deadLetters) {
+    }
+
+    private record PendingOp(UUID itemId, Operation operation, long enqueuedAt, int attempts, long notBefore) {
+    }
+
+    private final FoodItemSearchRepository searchRepository;
+    private final FoodItemRepository foodItemRepository;
+    private final SearchDeadLetterStore deadLetters;
+    private final LocalSearchIndex localIndex;
+
+    @Value("${app.search.indexing.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.search.indexing.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${app.search.indexing.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.search.indexing.offer-timeout-ms:2000}")
+    private long offerTimeoutMs;
+
+    @Value("${app.search.indexing.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.search.indexing.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    private final Map<UUID, PendingOp> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock capacityLock = new ReentrantLock();
+    private final Condition notFull = capacityLock.newCondition();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    // Ids touched while a full reindex is running, replayed once its alias swap is done
+    private final Set<UUID> captured = ConcurrentHashMap.newKeySet();
+    private volatile boolean capturing;
+
+    private final AtomicLong indexed = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private volatile long lastBatchLagMillis;
+
+    private ScheduledExecutorService flusher;
+
+    @Autowired
+    public SearchIndexingPipeline(
+            @Autowired(required = false) FoodItemSearchRepository searchRepository,
+            FoodItemRepository foodItemRepository,
+            SearchDeadLetterStore deadLetters,
+            LocalSearchIndex localIndex) {
+        this.searchRepository = searchRepository;
+        this.foodItemRepository = foodItemRepository;
+        this.deadLetters = deadLetters;
+        this.localIndex = localIndex;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!isEnabled()) {
+            log.info("Elasticsearch and the local search index are both disabled; search indexing pipeline is idle");
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "search-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flushSafely();
+    }
+
+    public boolean isEnabled() {
+        return isElasticsearchEnabled() || localIndex.isEnabled();
+    }
+
+    public boolean isElasticsearchEnabled() {
+        return searchRepository != null;
+    }
+
+    public void enqueueIndex(UUID itemId) {
+        enqueue(itemId, Operation.INDEX);
+    }
+
+    public void enqueueDelete(UUID itemId) {
+        enqueue(itemId, Operation.DELETE);
+    }
+
+    public Stats stats() {
+        long now = System.currentTimeMillis();
+        long oldest = pending.values().stream().mapToLong(PendingOp::enqueuedAt).min().orElse(now);
+        return new Stats(pending.size(), now - oldest, lastBatchLagMillis, indexed.get(), deleted.get(),
+                failedBatches.get(), deadLetters.size());
+    }
+
+    /**
+     * Starts recording every enqueued item id until {@link #endCapture()}.
+     */
+    public void beginCapture() {
+        captured.clear();
+        capturing = true;
+    }
+
+    /**
+     * Stops recording and requeues every captured id as an index operation; ids
+     * whose items no longer exist are turned into deletes at flush time.
+     */
+    public int endCapture() {
+        capturing = false;
+        List<UUID> ids = new ArrayList<>(captured);
+        captured.clear();
+        ids.forEach(this::enqueueIndex);
+        return ids.size();
+    }
+
+    /**
+     * Moves every dead-lettered operation back onto the queue with a fresh retry
+     * budget. Returns how many were requeued.
+     */
+    public int replayDeadLetters() {
+        List<SearchDeadLetterStore.DeadLetter> letters = deadLetters.drain();
+        letters.forEach(letter -> enqueue(letter.itemId(), letter.operation()));
+        return letters.size();
+    }
+
+    private void enqueue(UUID itemId, Operation operation) {
+        if (!isEnabled() || itemId == null) {
+            return;
+        }
+        if (capturing) {
+            captured.add(itemId);
+        }
+        if (!awaitCapacity(itemId)) {
+            log.warn("Search indexing queue full; dead-lettering {} of item {}", operation, itemId);
+            deadLetters.add(new SearchDeadLetterStore.DeadLetter(itemId, operation, 0, "queue full", Instant.now()));
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        // Coalesce: the newest operation wins, but the original enqueue time is kept for lag accounting
+        pending.merge(itemId, new PendingOp(itemId, operation, now, 0, 0),
+                (previous, next) -> new PendingOp(itemId, operation, previous.enqueuedAt(), 0, 0));
+
+        if (pending.size() >= batchSize) {
+            requestFlush();
+        }
+    }
+
+    private boolean awaitCapacity(UUID itemId) {
+        if (pending.size() < queueCapacity || pending.containsKey(itemId)) {
+            return true;
+        }
+        requestFlush();
+        long remaining = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        capacityLock.lock();
+        try {
+            while (pending.size() >= queueCapacity && !pending.containsKey(itemId)) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            capacityLock.unlock();
+        }
+    }
+
+    private void requestFlush() {
+        if (flusher != null && !flusher.isShutdown() && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushSafely);
+        }
+    }
+
+    private void flushSafely() {
+        flushRequested.set(false);
+        try {
+            List<PendingOp> batch;
+            do {
+                batch = drainBatch();
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Search indexing flush failed", e);
+        }
+    }
+
+    private List<PendingOp> drainBatch() {
+        long now = System.currentTimeMillis();
+        List<PendingOp> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        for (PendingOp op : pending.values()) {
+            if (op.notBefore() <= now && pending.remove(op.itemId(), op)) {
+                batch.add(op);
+                if (batch.size() >= batchSize) {
+                    break;
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            capacityLock.lock();
+            try {
+                notFull.signalAll();
+            } finally {
+                capacityLock.unlock();
+            }
+        }
+        return batch;
+    }
+
+    private void write(List<PendingOp> batch) {
+        Set<UUID> toIndex = new HashSet<>();
+        Set<UUID> toDelete = new HashSet<>();
+        batch.forEach(op -> (op.operation() == Operation.INDEX ? toIndex : toDelete).add(op.itemId()));
+
+        try {
+            List<FoodItemSearchRow> rows = toIndex.isEmpty() ? List.of() : foodItemRepository.findSearchRowsByIds(toIndex);
+            rows.forEach(row -> toIndex.remove(row.id()));
+            // Whatever is left was deleted from the database after it was queued
+            toDelete.addAll(toIndex);
+
+            localIndex.upsert(rows);
+            localIndex.remove(toDelete);
+
+            if (isElasticsearchEnabled()) {
+                if (!rows.isEmpty()) {
+                    searchRepository.saveAll(rows.stream().map(SearchIndexingPipeline::toDocument).toList());
+                }
+                if (!toDelete.isEmpty()) {
+                    searchRepository.deleteAllById(toDelete.stream().map(UUID::toString).toList());
+                }
+            }
+
+            indexed.addAndGet(rows.size());
+            deleted.addAndGet(toDelete.size());
+            long now = System.currentTimeMillis();
+            lastBatchLagMillis = now - batch.stream().mapToLong(PendingOp::enqueuedAt).min().orElse(now);
+        } catch (RuntimeException e) {
+            failedBatches.incrementAndGet();
+            log.warn("Bulk write of {} search operations failed: {}", batch.size(), e.getMessage());
+            batch.forEach(op -> retryOrDeadLetter(op, e));
+        }
+    }
+
+    public static FoodItemDocument toDocument(FoodItemSearchRow row) {
+        return FoodItemDocument.builder()
+                .id(row.id().toString())
+                .name(row.name())
+                .restaurantName(row.restaurantName())
+                .cityName(row.cityName())
+                .build();
+    }
+
+    private void retryOrDeadLetter(PendingOp op, Exception cause) {
+        int attempts = op.attempts() + 1;
+        if (attempts >= maxAttempts) {
+            deadLetters.add(new SearchDeadLetterStore.DeadLetter(op.itemId(), op.operation(), attempts,
+                    cause.getMessage(), Instant.now()));
+            return;
+        }
+        long backoff = retryBackoffMs << Math.min(attempts - 1, 10);
+        // A newer operation for the same item supersedes the retry
+        pending.putIfAbsent(op.itemId(), new PendingOp(op.itemId(), op.operation(), op.enqueuedAt(), attempts,
+                System.currentTimeMillis() + backoff));
+    }
+}
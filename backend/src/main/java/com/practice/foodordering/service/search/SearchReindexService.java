@@ -0,0 +1,221 @@
+package com.practice.foodordering.service.search;
+
+import com.practice.foodordering.dto.FoodItemSearchRow;
+import com.practice.foodordering.model.ReindexStatus;
+import com.practice.foodordering.model.SearchReindexJob;
+import com.practice.foodordering.model.search.FoodItemDocument;
+import com.practice.foodordering.repository.FoodItemRepository;
+import com.practice.foodordering.repository.SearchReindexJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rebuilds the search index from the database.
+ *
+ * <p>A job creates a fresh versioned index ({@code food_items_v<timestamp>}),
+ * walks {@code FoodItem ⋈ Restaurant ⋈ City} in id order with keyset pages of
+ * {@code page-size} rows, bulk-writes each page and checkpoints its position in
+ * {@link SearchReindexJob}. When the walk is complete the {@code food_items}
+ * alias is moved to the new index in one atomic alias update. Items changed
+ * while the job runs are captured by {@link SearchIndexingPipeline} and
+ * requeued after the swap. A failed job can be resumed from its checkpoint.
+ */
+@Service
+@Slf4j
+public class SearchReindexService {
+
+    public static final String ALIAS = "food_items";
+
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    private static final DateTimeFormatter VERSION_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMddHHmmss").withZone(ZoneOffset.UTC);
+
+    public record Progress(UUID jobId, String indexName, ReindexStatus status, long indexed, double docsPerSecond,
+            Instant startedAt, Instant updatedAt, String error) {
+    }
+
+    private final ElasticsearchOperations operations;
+    private final FoodItemRepository foodItemRepository;
+    private final SearchReindexJobRepository jobRepository;
+    private final SearchIndexingPipeline indexingPipeline;
+
+    @Value("${app.search.reindex.page-size:1000}")
+    private int pageSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "search-reindex");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public SearchReindexService(
+            @Autowired(required = false) ElasticsearchOperations operations,
+            FoodItemRepository foodItemRepository,
+            SearchReindexJobRepository jobRepository,
+            SearchIndexingPipeline indexingPipeline) {
+        this.operations = operations;
+        this.foodItemRepository = foodItemRepository;
+        this.jobRepository = jobRepository;
+        this.indexingPipeline = indexingPipeline;
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Starts a job in the background. With {@code resume} the most recent
+     * unfinished job continues from its checkpoint; otherwise a new index is built.
+     */
+    public Progress start(boolean resume) {
+        if (operations == null || !indexingPipeline.isElasticsearchEnabled()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Elasticsearch is not enabled");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A reindex job is already running");
+        }
+
+        try {
+            SearchReindexJob job = resume
+                    ? jobRepository.findFirstByStatusNotOrderByStartedAtDesc(ReindexStatus.COMPLETED)
+                            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                                    "No unfinished reindex job to resume"))
+                    : newJob();
+            job.setStatus(ReindexStatus.RUNNING);
+            job.setError(null);
+            SearchReindexJob saved = jobRepository.save(job);
+
+            indexingPipeline.beginCapture();
+            executor.execute(() -> run(saved));
+            return toProgress(saved);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    public Progress latest() {
+        return jobRepository.findFirstByOrderByStartedAtDesc()
+                .map(this::toProgress)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No reindex job has run"));
+    }
+
+    private SearchReindexJob newJob() {
+        Instant now = Instant.now();
+        String indexName = ALIAS + "_v" + VERSION_FORMAT.format(now);
+        IndexOperations indexOps = operations.indexOps(IndexCoordinates.of(indexName));
+        indexOps.create();
+        indexOps.putMapping(indexOps.createMapping(FoodItemDocument.class));
+
+        return SearchReindexJob.builder()
+                .indexName(indexName)
+                .status(ReindexStatus.RUNNING)
+                .indexedCount(0)
+                .startedAt(now)
+                .build();
+    }
+
+    private void run(SearchReindexJob job) {
+        IndexCoordinates target = IndexCoordinates.of(job.getIndexName());
+        log.info("Reindexing into {} from checkpoint {}", job.getIndexName(), job.getLastItemId());
+        try {
+            UUID after = job.getLastItemId() != null ? job.getLastItemId() : MIN_ID;
+            List<FoodItemSearchRow> page;
+            do {
+                page = foodItemRepository.findSearchRowsAfter(after, PageRequest.of(0, pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                List<FoodItemDocument> documents = page.stream().map(SearchIndexingPipeline::toDocument).toList();
+                operations.save(documents, target);
+
+                after = page.get(page.size() - 1).id();
+                job.setLastItemId(after);
+                job.setIndexedCount(job.getIndexedCount() + page.size());
+                job.setUpdatedAt(Instant.now());
+                job = jobRepository.save(job);
+
+                Progress progress = toProgress(job);
+                log.info("Reindex {}: {} documents, {} docs/sec", job.getIndexName(), progress.indexed(),
+                        String.format("%.0f", progress.docsPerSecond()));
+            } while (page.size() == pageSize);
+
+            operations.indexOps(target).refresh();
+            swapAlias(job.getIndexName());
+
+            job.setStatus(ReindexStatus.COMPLETED);
+            job.setUpdatedAt(Instant.now());
+            jobRepository.save(job);
+            log.info("Reindex into {} completed with {} documents", job.getIndexName(), job.getIndexedCount());
+        } catch (RuntimeException e) {
+            log.error("Reindex into {} failed at checkpoint {}", job.getIndexName(), job.getLastItemId(), e);
+            job.setStatus(ReindexStatus.FAILED);
+            job.setError(e.getMessage());
+            job.setUpdatedAt(Instant.now());
+            jobRepository.save(job);
+        } finally {
+            int requeued = indexingPipeline.endCapture();
+            if (requeued > 0) {
+                log.info("Requeued {} items changed during reindex", requeued);
+            }
+            running.set(false);
+        }
+    }
+
+    private void swapAlias(String newIndex) {
+        IndexOperations aliasOps = operations.indexOps(IndexCoordinates.of(ALIAS));
+        // Resolves to the indices currently behind the alias, or to a concrete index of the same name
+        Set<String> currentIndices = aliasOps.exists() ? aliasOps.getAliasesForIndex(ALIAS).keySet() : Set.of();
+
+        List<AliasAction> actions = new ArrayList<>();
+        for (String index : currentIndices) {
+            if (index.equals(ALIAS)) {
+                // Legacy concrete index named like the alias: drop it in the same atomic update
+                actions.add(new AliasAction.RemoveIndex(AliasActionParameters.builder().withIndices(ALIAS).build()));
+            } else {
+                actions.add(new AliasAction.Remove(AliasActionParameters.builder()
+                        .withIndices(index).withAliases(ALIAS).build()));
+            }
+        }
+        actions.add(new AliasAction.Add(AliasActionParameters.builder()
+                .withIndices(newIndex).withAliases(ALIAS).build()));
+
+        aliasOps.alias(new AliasActions(actions.toArray(new AliasAction[0])));
+        log.info("Alias {} now points at {} (was {})", ALIAS, newIndex, currentIndices);
+    }
+
+    private Progress toProgress(SearchReindexJob job) {
+        Instant end = job.getUpdatedAt() != null ? job.getUpdatedAt() : Instant.now();
+        double seconds = Math.max(Duration.between(job.getStartedAt(), end).toMillis(), 1) / 1000.0;
+        return new Progress(job.getId(), job.getIndexName(), job.getStatus(), job.getIndexedCount(),
+                job.getIndexedCount() / seconds, job.getStartedAt(), job.getUpdatedAt(), job.getError());
+    }
+}
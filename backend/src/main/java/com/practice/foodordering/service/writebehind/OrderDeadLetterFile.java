@@ -0,0 +1,59 @@
+package com.practice.foodordering.service.writebehind;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only file of journaled orders that the database refused on their
+ * own, one JSON object per line:
+ * {@code {"sequence":..,"failedAt":"..","error":"..","order":{..}}}. Each
+ * append is forced to disk before it returns, so the journal checkpoint can
+ * move past the order without losing it. An operator fixes and re-submits the
+ * orders from there.
+ *
+ * <p>Only the committer thread writes, so there is no locking.
+ */
+final class OrderDeadLetterFile implements Closeable {
+
+    static final String FILE_NAME = "dead-letters.ndjson";
+
+    private final Path path;
+    private FileChannel channel;
+
+    OrderDeadLetterFile(Path directory) {
+        this.path = directory.resolve(FILE_NAME);
+    }
+
+    void open() throws IOException {
+        Files.createDirectories(path.getParent());
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Appends {@code json} as one line and forces it to disk.
+     */
+    void append(byte[] json) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.practice.foodordering.service.writebehind;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of accepted orders in memory-mapped segment files.
+ *
+ * <p>Each record is {@code [int length][long sequence][int crc32][payload]}.
+ * The length is written last, so a record whose length is zero (the file is
+ * pre-zeroed) or whose checksum does not match was torn by a crash and marks
+ * the end of the journal. Because the pages are mapped, a record survives a
+ * crash of the JVM as soon as {@link #append} returns; with {@code sync} each
+ * append is also forced to disk, which makes it survive a power loss at the
+ * cost of one flush per order.
+ *
+ * <p>A new segment is started when a record no longer fits. Segments are
+ * named after the first sequence they hold. {@link #checkpoint} records the
+ * highest sequence known to be in the database and deletes segments that lie
+ * entirely below it; {@link #open} returns everything after the checkpoint.
+ *
+ * <p>State is guarded by a {@link ReentrantLock} rather than a monitor because
+ * appends and checkpoints can block on the disk, and a virtual thread that
+ * blocks while holding a monitor pins its carrier thread.
+ */
+@Slf4j
+final class OrderJournal implements Closeable {
+
+    record Entry(long sequence, byte[] payload) {
+    }
+
+    private static final int HEADER = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT = "checkpoint";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean sync;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // First sequence of each segment -> file
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer active;
+    private long lastSequence;
+    private long checkpointed;
+    private long bytesWritten;
+
+    OrderJournal(Path directory, int segmentSize, boolean sync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+    }
+
+    /**
+     * Reads the journal and returns the entries after the checkpoint, oldest
+     * first. New records are appended after the last intact one.
+     */
+    List<Entry> open() throws IOException {
+        lock.lock();
+        try {
+            return readAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a record and returns its sequence.
+     */
+    long append(byte[] payload) {
+        lock.lock();
+        try {
+            return write(payload);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records that every entry up to {@code sequence} is in the database.
+     */
+    void checkpoint(long sequence) throws IOException {
+        lock.lock();
+        try {
+            writeCheckpoint(sequence);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long lastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long checkpointed() {
+        lock.lock();
+        try {
+            return checkpointed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long bytesWritten() {
+        lock.lock();
+        try {
+            return bytesWritten;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (active != null) {
+                active.force();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Entry> readAll() throws IOException {
+        Files.createDirectories(directory);
+        Path checkpointFile = directory.resolve(CHECKPOINT);
+        if (Files.exists(checkpointFile)) {
+            checkpointed = Long.parseLong(Files.readString(checkpointFile, StandardCharsets.UTF_8).trim());
+        }
+        lastSequence = checkpointed;
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .forEach(file -> segments.put(firstSequence(file), file));
+        }
+
+        List<Entry> pending = new ArrayList<>();
+        int endOfLast = 0;
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            try (FileChannel file = FileChannel.open(segment.getValue(), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+                int position = 0;
+                Entry entry;
+                while ((entry = read(buffer, position)) != null) {
+                    position += HEADER + entry.payload().length;
+                    lastSequence = Math.max(lastSequence, entry.sequence());
+                    if (entry.sequence() > checkpointed) {
+                        pending.add(entry);
+                    }
+                }
+                endOfLast = position;
+            }
+        }
+
+        if (segments.isEmpty()) {
+            startSegment(lastSequence + 1);
+        } else {
+            mapSegment(segments.lastEntry().getValue(), endOfLast);
+        }
+        log.info("Order journal in {}: checkpoint {}, {} entries to replay", directory, checkpointed, pending.size());
+        return pending;
+    }
+
+    private long write(byte[] payload) {
+        int length = HEADER + payload.length;
+        if (length > segmentSize) {
+            throw new IllegalArgumentException("Journal record of " + length + " bytes exceeds the segment size");
+        }
+        long sequence = lastSequence + 1;
+        try {
+            if (active.remaining() < length) {
+                active.force();
+                startSegment(sequence);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int position = active.position();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        active.putLong(position + Integer.BYTES, sequence);
+        active.putInt(position + Integer.BYTES + Long.BYTES, (int) crc.getValue());
+        active.put(position + HEADER, payload);
+        active.putInt(position, payload.length);
+        active.position(position + length);
+        if (sync) {
+            active.force(position, length);
+        }
+
+        lastSequence = sequence;
+        bytesWritten += length;
+        return sequence;
+    }
+
+    private void writeCheckpoint(long sequence) throws IOException {
+        if (sequence <= checkpointed) {
+            return;
+        }
+        Path temp = directory.resolve(CHECKPOINT + ".tmp");
+        Files.writeString(temp, Long.toString(sequence), StandardCharsets.UTF_8);
+        Files.move(temp, directory.resolve(CHECKPOINT), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        checkpointed = sequence;
+
+        // A segment is done once the next one starts at or below the checkpoint + 1
+        while (segments.size() > 1) {
+            Map.Entry<Long, Path> oldest = segments.firstEntry();
+            Long next = segments.higherKey(oldest.getKey());
+            if (next - 1 > checkpointed) {
+                break;
+            }
+            Files.deleteIfExists(oldest.getValue());
+            segments.remove(oldest.getKey());
+        }
+    }
+
+    private void startSegment(long firstSequence) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        segments.put(firstSequence, file);
+        mapSegment(file, 0);
+    }
+
+    private void mapSegment(Path file, int position) throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        active = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        if (position > 0) {
+            // Clear whatever a torn write left behind so it cannot be mistaken for a record later
+            byte[] zeros = new byte[8192];
+            for (int offset = position; offset < segmentSize; offset += zeros.length) {
+                active.put(offset, zeros, 0, Math.min(zeros.length, segmentSize - offset));
+            }
+        }
+        active.position(position);
+    }
+
+    /**
+     * The intact record at {@code position}, or {@code null} at the end of the
+     * written part or at a torn record.
+     */
+    private static Entry read(MappedByteBuffer buffer, int position) {
+        if (position + HEADER > buffer.limit()) {
+            return null;
+        }
+        int length = buffer.getInt(position);
+        if (length <= 0 || position + HEADER + length > buffer.limit()) {
+            return null;
+        }
+        long sequence = buffer.getLong(position + Integer.BYTES);
+        int checksum = buffer.getInt(position + Integer.BYTES + Long.BYTES);
+        byte[] payload = new byte[length];
+        buffer.get(position + HEADER, payload);
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == checksum ? new Entry(sequence, payload) : null;
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,350 @@
+package com.practice.foodordering.service.writebehind;
+
+import com.practice.foodordering.model.Order;
+import com.practice.foodordering.model.OrderItem;
+import com.practice.foodordering.model.OrderItemAddon;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.id.uuid.UuidVersion7Strategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind order ingestion, enabled with
+ * {@code app.orders.write-behind.enabled=true}.
+ *
+ * <p>{@link #accept} gives a priced order its id and acceptance time, appends
+ * it to the {@link OrderJournal} and returns; the request never waits for the
+ * database. A single committer thread takes accepted orders in journal order,
+ * up to {@code batch-size} at a time or whatever arrived within
+ * {@code max-batch-delay-ms}, inserts each group with JDBC batches in one
+ * transaction and then moves the journal checkpoint past it. The inserts go
+ * around Hibernate because the order already has its id, which the client was
+ * given, and the entity's id generator would replace it.
+ *
+ * <p>On startup everything after the checkpoint is replayed. An order that
+ * reached the database just before a crash (but not the checkpoint) is
+ * recognised by its id and skipped. If a batch fails, its orders are retried
+ * one by one. Orders that fail on their own while the database is reachable
+ * are moved to the {@link OrderDeadLetterFile} next to the journal before the
+ * checkpoint passes them; if the database is down, or the dead-letter file
+ * cannot be written, the committer backs off and tries again. An accepted
+ * order is therefore never discarded. Past {@code max-pending} unwritten
+ * orders new ones are refused with 503.
+ *
+ * <p>Accepted orders only show up in queries once they are written;
+ * {@link #stats()} reports how far behind the committer is.
+ */
+@Component
+@ConditionalOnProperty(name = "app.orders.write-behind.enabled", havingValue = "true")
+@Slf4j
+public class OrderWriteBehind {
+
+    /**
+     * @param pending    accepted orders waiting for the committer
+     * @param lagMillis  age of the oldest of them
+     * @param deadLettered orders the database refused, moved to the dead-letter file
+     */
+    public record Stats(long accepted, long persisted, long replayed, long pending, long lagMillis, long batches,
+            long deadLettered, long lastSequence, long checkpoint, long journalBytes) {
+    }
+
+    private record Pending(long sequence, byte[] payload, long acceptedAt, boolean replayed) {
+    }
+
+    private record DeadLetter(long sequence, Instant failedAt, String error, JsonNode order) {
+    }
+
+    private static final long MAX_BACKOFF_MS = 5_000;
+    private static final String INSERT_ORDER = "INSERT INTO orders (id, user_id, restaurant_id, status, version, "
+            + "total_price, placed_at) VALUES (?, ?, ?, ?, 0, ?, ?)";
+    private static final String INSERT_LINE = "INSERT INTO order_items (id, order_id, item_id, variant_id, quantity) "
+            + "VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_LINE_ADDON = "INSERT INTO order_item_addons (id, order_item_id, addon_id) "
+            + "VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.orders.write-behind.directory:./data/order-journal}")
+    private String directory;
+
+    @Value("${app.orders.write-behind.segment-size-mb:64}")
+    private int segmentSizeMb;
+
+    @Value("${app.orders.write-behind.sync:false}")
+    private boolean sync;
+
+    @Value("${app.orders.write-behind.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.orders.write-behind.max-batch-delay-ms:20}")
+    private long maxBatchDelayMs;
+
+    @Value("${app.orders.write-behind.max-pending:100000}")
+    private int maxPending;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    // Not a monitor: with sync the append forces to disk, which would pin a virtual thread
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    private OrderJournal journal;
+    private OrderDeadLetterFile deadLetters;
+    private Thread committer;
+    private volatile boolean running;
+
+    public OrderWriteBehind(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        journal = new OrderJournal(Path.of(directory), segmentSizeMb * 1024 * 1024, sync);
+        deadLetters = new OrderDeadLetterFile(Path.of(directory));
+        deadLetters.open();
+        for (OrderJournal.Entry entry : journal.open()) {
+            queue.add(new Pending(entry.sequence(), entry.payload(), System.currentTimeMillis(), true));
+            replayed.incrementAndGet();
+        }
+
+        running = true;
+        committer = new Thread(this::commitLoop, "order-committer");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+        running = false;
+        committer.join(TimeUnit.SECONDS.toMillis(10));
+        // Whatever is still queued stays in the journal and is replayed on the next start
+        committer.interrupt();
+        committer.join(TimeUnit.SECONDS.toMillis(1));
+        journal.close();
+        deadLetters.close();
+    }
+
+    /**
+     * Journals a priced order and returns it with its id and acceptance time
+     * set. The order is written to the database shortly afterwards.
+     */
+    public Order accept(Order order) {
+        if (queue.size() >= maxPending) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many orders waiting to be saved, please try again shortly");
+        }
+        order.setId(UuidVersion7Strategy.INSTANCE.generateUuid(null));
+        order.setPlacedAt(Instant.now());
+        byte[] payload = objectMapper.writeValueAsBytes(order);
+
+        // Queue order must match journal order, or the checkpoint could pass an unwritten order
+        appendLock.lock();
+        try {
+            long sequence = journal.append(payload);
+            queue.add(new Pending(sequence, payload, System.currentTimeMillis(), false));
+        } finally {
+            appendLock.unlock();
+        }
+        accepted.incrementAndGet();
+        return order;
+    }
+
+    public Stats stats() {
+        Pending oldest = queue.peek();
+        long lag = oldest != null ? System.currentTimeMillis() - oldest.acceptedAt() : 0;
+        return new Stats(accepted.get(), persisted.get(), replayed.get(), queue.size(), lag, batches.get(),
+                deadLettered.get(), journal.lastSequence(), journal.checkpointed(), journal.bytesWritten());
+    }
+
+    private void commitLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxBatchDelayMs);
+                while (batch.size() < batchSize) {
+                    Pending next = queue.poll(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                commit(batch);
+                journal.checkpoint(batch.get(batch.size() - 1).sequence());
+                batch.clear();
+            } catch (InterruptedException e) {
+                // Shutdown timed out: leave the rest to the journal
+                return;
+            } catch (IOException | RuntimeException e) {
+                // The batch is already written; the next checkpoint covers it
+                log.error("Could not checkpoint the order journal: {}", e.getMessage());
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Pending> batch) throws InterruptedException {
+        long backoff = 100;
+        while (true) {
+            try {
+                persist(batch);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Writing a batch of {} orders failed, retrying one by one: {}", batch.size(), e.getMessage());
+            }
+
+            Map<Pending, String> failed = new LinkedHashMap<>();
+            for (Pending pending : batch) {
+                try {
+                    persist(List.of(pending));
+                } catch (RuntimeException e) {
+                    failed.put(pending, String.valueOf(e.getMessage()));
+                }
+            }
+            if (failed.isEmpty()) {
+                return;
+            }
+            if (!databaseReachable()) {
+                log.warn("Database unreachable; retrying {} journaled orders in {} ms", failed.size(), backoff);
+            } else if (deadLetter(failed)) {
+                return;
+            } else {
+                log.warn("Could not dead-letter {} journaled orders; retrying in {} ms", failed.size(), backoff);
+            }
+
+            Thread.sleep(backoff);
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+            batch = new ArrayList<>(failed.keySet());
+        }
+    }
+
+    /**
+     * Moves orders the database refused to the dead-letter file, removing each
+     * one written from {@code failed}. Returns whether all of them were.
+     */
+    private boolean deadLetter(Map<Pending, String> failed) {
+        Iterator<Map.Entry<Pending, String>> entries = failed.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Pending, String> entry = entries.next();
+            Pending pending = entry.getKey();
+            try {
+                deadLetters.append(objectMapper.writeValueAsBytes(new DeadLetter(pending.sequence(), Instant.now(),
+                        entry.getValue(), objectMapper.readTree(pending.payload()))));
+            } catch (IOException | RuntimeException e) {
+                log.error("Writing journaled order #{} to {} failed: {}", pending.sequence(), deadLetters.path(),
+                        e.getMessage());
+                return false;
+            }
+            entries.remove();
+            deadLettered.incrementAndGet();
+            log.error("Journaled order #{} cannot be written ({}); moved to {}", pending.sequence(), entry.getValue(),
+                    deadLetters.path());
+        }
+        return true;
+    }
+
+    private void persist(List<Pending> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Object[]> orders = new ArrayList<>(batch.size());
+            List<Object[]> lines = new ArrayList<>();
+            List<Object[]> lineAddons = new ArrayList<>();
+            for (Pending pending : batch) {
+                Order order = objectMapper.readValue(pending.payload(), Order.class);
+                if (pending.replayed() && exists(order.getId())) {
+                    continue;
+                }
+                addRows(order, orders, lines, lineAddons);
+            }
+            // Orders first: lines and their addons reference them
+            insert(INSERT_ORDER, orders);
+            insert(INSERT_LINE, lines);
+            insert(INSERT_LINE_ADDON, lineAddons);
+            persisted.addAndGet(orders.size());
+        });
+        batches.incrementAndGet();
+    }
+
+    /**
+     * Adds the rows of a deserialized order. Lines and their addons get their
+     * ids here; the order keeps the one it was accepted with.
+     */
+    private static void addRows(Order order, List<Object[]> orders, List<Object[]> lines,
+            List<Object[]> lineAddons) {
+        orders.add(new Object[] {order.getId(), order.getUser().getId(), order.getRestaurantId(),
+                order.getStatus().name(), order.getTotalPrice(), Timestamp.from(order.getPlacedAt())});
+        if (order.getItems() == null) {
+            return;
+        }
+        for (OrderItem item : order.getItems()) {
+            UUID line = UuidVersion7Strategy.INSTANCE.generateUuid(null);
+            lines.add(new Object[] {line, order.getId(), item.getFoodItem().getId(),
+                    item.getVariant() != null ? item.getVariant().getId() : null, item.getQuantity()});
+            if (item.getAddons() != null) {
+                for (OrderItemAddon addon : item.getAddons()) {
+                    lineAddons.add(new Object[] {UuidVersion7Strategy.INSTANCE.generateUuid(null), line,
+                            addon.getAddon().getId()});
+                }
+            }
+        }
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    private boolean exists(UUID orderId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE id = ?", Integer.class,
+                orderId);
+        return count != null && count > 0;
+    }
+
+    private boolean databaseReachable() {
+        try {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.practice.foodordering.config.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TwoTierCacheManagerTests {
+
+	private final List<TwoTierCacheManager> nodes = new ArrayList<>();
+	private TwoTierCacheManager first;
+	private TwoTierCacheManager second;
+
+	@BeforeEach
+	void setUp() {
+		CacheProperties properties = new CacheProperties();
+		CacheProperties.Spec cities = new CacheProperties.Spec();
+		cities.setMaximumSize(2);
+		properties.getSpecs().put("cities", cities);
+
+		// Each node's invalidations are delivered to every node, as Redis pub/sub would
+		first = new TwoTierCacheManager(properties, null, message -> nodes.forEach(n -> n.onInvalidation(message)));
+		second = new TwoTierCacheManager(properties, null, message -> nodes.forEach(n -> n.onInvalidation(message)));
+		nodes.add(first);
+		nodes.add(second);
+	}
+
+	@Test
+	void loadsOnceAndRecordsHits() {
+		Cache cache = first.getCache("restaurants");
+		UUID cityId = UUID.randomUUID();
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get(cityId, () -> "loaded-" + loads.incrementAndGet());
+		cache.get(cityId, () -> "loaded-" + loads.incrementAndGet());
+
+		assertEquals(1, loads.get());
+		assertEquals("loaded-1", cache.get(cityId).get());
+		assertEquals(2, first.stats().get(0).hits());
+	}
+
+	@Test
+	void evictionOnOneNodeClearsThePeersLocalCopy() {
+		first.getCache("cities").put("all", List.of("Mumbai"));
+		second.getCache("cities").put("all", List.of("Mumbai"));
+
+		first.getCache("cities").evict("all");
+
+		assertNull(second.getCache("cities").get("all"));
+	}
+
+	@Test
+	void clearOnOneNodeClearsEveryKeyOnPeers() {
+		second.getCache("cities").put("a", 1);
+		second.getCache("cities").put("b", 2);
+
+		first.getCache("cities").clear();
+
+		assertNull(second.getCache("cities").get("a"));
+		assertNull(second.getCache("cities").get("b"));
+	}
+}
@@ -0,0 +1,97 @@
+package com.practice.foodordering.config.ratelimit;
+
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitFilterTests {
+
+	private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(5));
+	private final RateLimitFilter filter = new RateLimitFilter(
+			new LocalRateLimiter(1000, Duration.ofMinutes(10), clock::get), Map.of("otp-send", otpRule()));
+
+	@Test
+	void identifierBucketEmptiesAndRefillsOneTokenPerInterval() throws ServletException, IOException {
+		for (int i = 0; i < 3; i++) {
+			assertEquals(200, send("10.0.0." + i, "a@example.com").getStatus());
+		}
+		MockHttpServletResponse rejected = send("10.0.0.9", "A@Example.com ");
+		assertEquals(429, rejected.getStatus());
+		assertEquals("200", rejected.getHeader("Retry-After"));
+
+		// One token back after period / capacity
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(200));
+		assertEquals(200, send("10.0.0.9", "a@example.com").getStatus());
+		assertEquals(429, send("10.0.0.9", "a@example.com").getStatus());
+	}
+
+	@Test
+	void ipBucketLimitsOneClientAcrossIdentifiers() throws ServletException, IOException {
+		for (int i = 0; i < 5; i++) {
+			assertEquals(200, send("10.0.0.1", i + "@example.com").getStatus());
+		}
+		assertEquals(429, send("10.0.0.1", "other@example.com").getStatus());
+		assertEquals(200, send("10.0.0.2", "other@example.com").getStatus());
+		assertEquals(1, filter.stats().rejected());
+	}
+
+	@Test
+	void requestsRejectedByIpDoNotDrainTheIdentifierBucket() throws ServletException, IOException {
+		for (int i = 0; i < 5; i++) {
+			assertEquals(200, send("10.0.0.1", i + "@example.com").getStatus());
+		}
+		for (int i = 0; i < 10; i++) {
+			assertEquals(429, send("10.0.0.1", "victim@example.com").getStatus());
+		}
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(200, send("10.0.0.2", "victim@example.com").getStatus());
+		}
+	}
+
+	@Test
+	void otherEndpointsAreNotCounted() throws ServletException, IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cities");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		for (int i = 0; i < 10; i++) {
+			filter.doFilter(request, response, new MockFilterChain());
+		}
+		assertEquals(200, response.getStatus());
+		assertEquals(0, filter.stats().trackedKeys());
+	}
+
+	private MockHttpServletResponse send(String ip, String phoneOrEmail) throws ServletException, IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/customer/get_otp");
+		request.setRemoteAddr(ip);
+		request.setParameter("phoneOrEmail", phoneOrEmail);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+
+	private static RateLimitProperties.Rule otpRule() {
+		RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+		rule.setPath("/api/auth/customer/get_otp");
+		rule.setIdentifierParam("phoneOrEmail");
+		rule.setPerIp(limit(5));
+		rule.setPerIdentifier(limit(3));
+		return rule;
+	}
+
+	private static RateLimitProperties.Limit limit(int capacity) {
+		RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+		limit.setCapacity(capacity);
+		limit.setPeriod(Duration.ofMinutes(10));
+		return limit;
+	}
+}
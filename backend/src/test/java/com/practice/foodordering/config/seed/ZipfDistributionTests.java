@@ -0,0 +1,57 @@
+package com.practice.foodordering.config.seed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipfDistributionTests {
+
+	private static final int SAMPLES = 200_000;
+
+	@Test
+	void lowRanksAreDrawnInProportionToTheirWeight() {
+		ZipfDistribution zipf = new ZipfDistribution(100, 1.0);
+		Random random = new Random(7);
+		int[] counts = new int[zipf.size()];
+		for (int i = 0; i < SAMPLES; i++) {
+			counts[zipf.sample(random)]++;
+		}
+
+		// Under exponent 1 rank 0 is twice as likely as rank 1 and three times as likely as rank 2
+		assertEquals(2.0, (double) counts[0] / counts[1], 0.1);
+		assertEquals(3.0, (double) counts[0] / counts[2], 0.15);
+		assertTrue(counts[99] > 0);
+	}
+
+	@Test
+	void exponentZeroIsUniform() {
+		ZipfDistribution zipf = new ZipfDistribution(10, 0);
+		Random random = new Random(7);
+		int[] counts = new int[zipf.size()];
+		for (int i = 0; i < SAMPLES; i++) {
+			counts[zipf.sample(random)]++;
+		}
+
+		for (int count : counts) {
+			assertEquals(SAMPLES / 10.0, count, SAMPLES / 100.0);
+		}
+	}
+
+	@Test
+	void singleRankIsAlwaysDrawn() {
+		ZipfDistribution zipf = new ZipfDistribution(1, 1.2);
+		Random random = new Random(7);
+		for (int i = 0; i < 1_000; i++) {
+			assertEquals(0, zipf.sample(random));
+		}
+	}
+
+	@Test
+	void rejectsEmptyRange() {
+		assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1.0));
+	}
+}
@@ -0,0 +1,81 @@
+package com.practice.foodordering.controller;
+
+import com.practice.foodordering.model.*;
+import com.practice.foodordering.repository.OrderRepository;
+import com.practice.foodordering.repository.UserRepository;
+import com.practice.foodordering.service.auth.TokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TokenService tokenService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Test
+	void customerCannotCancelSomeoneElsesOrder() throws Exception {
+		AppUser owner = user(Role.CUSTOMER);
+		Order order = placed(owner);
+
+		mockMvc.perform(post("/api/orders/{orderId}/cancel", order.getId())
+						.header(HttpHeaders.AUTHORIZATION, bearer(user(Role.CUSTOMER))))
+				.andExpect(status().isForbidden());
+		assertEquals(OrderStatus.PLACED, orderRepository.findById(order.getId()).orElseThrow().getStatus());
+
+		mockMvc.perform(post("/api/orders/{orderId}/cancel", order.getId())
+						.header(HttpHeaders.AUTHORIZATION, bearer(owner)))
+				.andExpect(status().isOk());
+		assertEquals(OrderStatus.CANCELLED, orderRepository.findById(order.getId()).orElseThrow().getStatus());
+	}
+
+	@Test
+	void adminCanCancelAnyOrder() throws Exception {
+		Order order = placed(user(Role.CUSTOMER));
+
+		mockMvc.perform(post("/api/orders/{orderId}/cancel", order.getId())
+						.header(HttpHeaders.AUTHORIZATION, bearer(user(Role.ADMIN))))
+				.andExpect(status().isOk());
+		assertEquals(OrderStatus.CANCELLED, orderRepository.findById(order.getId()).orElseThrow().getStatus());
+	}
+
+	private AppUser user(Role role) {
+		return userRepository.save(AppUser.builder()
+				.phoneOrEmail(UUID.randomUUID() + "@example.com")
+				.role(role)
+				.build());
+	}
+
+	private Order placed(AppUser user) {
+		return orderRepository.save(Order.builder()
+				.user(user)
+				.status(OrderStatus.PLACED)
+				.totalPrice(new BigDecimal("100.00"))
+				.build());
+	}
+
+	private String bearer(AppUser user) {
+		return "Bearer " + tokenService.issue(user).accessToken();
+	}
+}
@@ -0,0 +1,251 @@
+package com.practice.foodordering.service;
+
+import com.practice.foodordering.dto.OrderCursor;
+import com.practice.foodordering.dto.OrderDto;
+import com.practice.foodordering.dto.OrderFilter;
+import com.practice.foodordering.dto.OrderPageDto;
+import com.practice.foodordering.dto.OrderRow;
+import com.practice.foodordering.model.*;
+import com.practice.foodordering.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"app.orders.export.batch-size=2"
+})
+class OrderQueryServiceTests {
+
+	@Autowired
+	private OrderQueryService orderQueryService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CityRepository cityRepository;
+
+	@Autowired
+	private RestaurantRepository restaurantRepository;
+
+	@Autowired
+	private FoodItemRepository foodItemRepository;
+
+	@Autowired
+	private VariantRepository variantRepository;
+
+	@Autowired
+	private AddonRepository addonRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private FoodItem item;
+	private Variant variant;
+	private Addon addon;
+
+	@BeforeEach
+	void setUp() {
+		City city = cityRepository.save(City.builder().name("City " + UUID.randomUUID()).build());
+		Restaurant restaurant = restaurantRepository.save(Restaurant.builder()
+				.city(city)
+				.name("Restaurant " + UUID.randomUUID())
+				.build());
+		item = foodItemRepository.save(FoodItem.builder()
+				.restaurant(restaurant)
+				.name("Item")
+				.price(new BigDecimal("100.00"))
+				.itemType(ItemType.VARIANT_AND_ADDON)
+				.build());
+		variant = variantRepository.save(Variant.builder()
+				.foodItem(item)
+				.name("Large")
+				.priceModifier(new BigDecimal("20.00"))
+				.build());
+		addon = addonRepository.save(Addon.builder()
+				.foodItem(item)
+				.name("Cheese")
+				.price(new BigDecimal("10.00"))
+				.build());
+	}
+
+	@Test
+	void orderHistoryQueryCountDoesNotGrowWithOrderCount() {
+		AppUser fewOrders = createUserWithOrders(2);
+		AppUser manyOrders = createUserWithOrders(30);
+
+		long fewStatements = countStatements(fewOrders, 2);
+		long manyStatements = countStatements(manyOrders, 30);
+
+		assertEquals(fewStatements, manyStatements);
+		assertTrue(manyStatements <= 3, "expected at most 3 statements, got " + manyStatements);
+	}
+
+	@Test
+	void pagesThroughOrdersSharingOneTimestampWithoutGapsOrRepeats() {
+		Instant placedAt = Instant.parse("2001-03-01T12:00:00Z");
+		AppUser user = createUser();
+		Set<UUID> placed = new HashSet<>();
+		for (int i = 0; i < 5; i++) {
+			placed.add(createOrder(user, OrderStatus.PLACED, placedAt).getId());
+		}
+		OrderFilter filter = new OrderFilter(null, placedAt, placedAt.plusSeconds(1));
+
+		List<UUID> paged = new ArrayList<>();
+		List<Integer> pageSizes = new ArrayList<>();
+		OrderCursor cursor = null;
+		do {
+			OrderPageDto page = orderQueryService.getOrdersPage(filter, cursor, 2);
+			page.items().forEach(order -> paged.add(order.id()));
+			pageSizes.add(page.items().size());
+			cursor = page.nextCursor() != null ? OrderCursor.decode(page.nextCursor()) : null;
+		} while (cursor != null);
+
+		assertEquals(List.of(2, 2, 1), pageSizes);
+		assertEquals(placed, new HashSet<>(paged));
+		assertEquals(5, paged.size());
+	}
+
+	@Test
+	void pageThatEndsExactlyOnTheLastOrderHasNoNextCursor() {
+		Instant placedAt = Instant.parse("2001-04-01T12:00:00Z");
+		AppUser user = createUser();
+		Order newer = createOrder(user, OrderStatus.PLACED, placedAt.plusMillis(1));
+		Order older = createOrder(user, OrderStatus.PLACED, placedAt);
+		OrderFilter filter = new OrderFilter(null, placedAt, placedAt.plusSeconds(1));
+
+		OrderPageDto page = orderQueryService.getOrdersPage(filter, null, 2);
+		assertEquals(List.of(newer.getId(), older.getId()), page.items().stream().map(OrderDto::id).toList());
+		assertNull(page.nextCursor());
+
+		OrderPageDto first = orderQueryService.getOrdersPage(filter, null, 1);
+		assertNotNull(first.nextCursor());
+		OrderPageDto last = orderQueryService.getOrdersPage(filter, OrderCursor.decode(first.nextCursor()), 1);
+		assertEquals(List.of(older.getId()), last.items().stream().map(OrderDto::id).toList());
+		assertNull(last.nextCursor());
+	}
+
+	@Test
+	void cursorOnTheLastRowOfATimestampContinuesWithOlderOrders() {
+		Instant placedAt = Instant.parse("2001-05-01T12:00:00Z");
+		AppUser user = createUser();
+		createOrder(user, OrderStatus.PLACED, placedAt);
+		createOrder(user, OrderStatus.PLACED, placedAt);
+		Order older = createOrder(user, OrderStatus.PLACED, placedAt.minusMillis(1));
+		OrderFilter filter = new OrderFilter(null, placedAt.minusSeconds(1), placedAt.plusSeconds(1));
+
+		List<OrderRow> sameTimestamp = orderRepository.findRowsAfter(filter.statuses(), filter.from(), filter.to(),
+				filter.to(), new UUID(-1L, -1L), PageRequest.of(0, 2));
+		assertEquals(2, sameTimestamp.size());
+		sameTimestamp.forEach(row -> assertEquals(placedAt, row.placedAt()));
+
+		OrderRow last = sameTimestamp.get(1);
+		List<OrderRow> rest = orderRepository.findRowsAfter(filter.statuses(), filter.from(), filter.to(),
+				last.placedAt(), last.id(), PageRequest.of(0, 2));
+		assertEquals(List.of(older.getId()), rest.stream().map(OrderRow::id).toList());
+	}
+
+	@Test
+	void exportStreamsEveryMatchingOrderAcrossBatches() {
+		Instant placedAt = Instant.parse("2001-06-01T12:00:00Z");
+		AppUser user = createUser();
+		List<UUID> expected = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			expected.add(0, createOrder(user, OrderStatus.PLACED, placedAt.plusSeconds(i)).getId());
+		}
+		createOrder(user, OrderStatus.CANCELLED, placedAt.plusSeconds(2));
+		OrderFilter filter = new OrderFilter(EnumSet.of(OrderStatus.PLACED), placedAt, placedAt.plusSeconds(60));
+
+		List<OrderDto> exported = new ArrayList<>();
+		orderQueryService.exportOrders(filter, exported::add);
+
+		assertEquals(expected, exported.stream().map(OrderDto::id).toList());
+		exported.forEach(order -> {
+			assertEquals(OrderStatus.PLACED, order.status());
+			assertEquals(1, order.items().size());
+		});
+	}
+
+	private long countStatements(AppUser user, int expectedOrders) {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		List<OrderDto> history = orderQueryService.getUserOrderHistory(user.getId());
+
+		long statements = statistics.getPrepareStatementCount();
+		assertEquals(expectedOrders, history.size());
+		history.forEach(order -> {
+			assertEquals(2, order.items().size());
+			order.items().forEach(line -> assertEquals(1, line.addons().size()));
+		});
+		return statements;
+	}
+
+	private AppUser createUser() {
+		return userRepository.save(AppUser.builder()
+				.phoneOrEmail(UUID.randomUUID() + "@example.com")
+				.role(Role.CUSTOMER)
+				.build());
+	}
+
+	private Order createOrder(AppUser user, OrderStatus status, Instant placedAt) {
+		Order order = Order.builder()
+				.user(user)
+				.status(status)
+				.totalPrice(new BigDecimal("120.00"))
+				.placedAt(placedAt)
+				.items(new ArrayList<>())
+				.build();
+		order.getItems().add(OrderItem.builder().order(order).foodItem(item).variant(variant).quantity(1).build());
+		return orderRepository.save(order);
+	}
+
+	private AppUser createUserWithOrders(int orderCount) {
+		AppUser user = createUser();
+
+		for (int i = 0; i < orderCount; i++) {
+			Order order = Order.builder()
+					.user(user)
+					.status(OrderStatus.PLACED)
+					.totalPrice(new BigDecimal("260.00"))
+					.items(new ArrayList<>())
+					.build();
+			for (int j = 0; j < 2; j++) {
+				OrderItem line = OrderItem.builder()
+						.order(order)
+						.foodItem(item)
+						.variant(variant)
+						.quantity(1)
+						.addons(new ArrayList<>())
+						.build();
+				line.getAddons().add(OrderItemAddon.builder().orderItem(line).addon(addon).build());
+				order.getItems().add(line);
+			}
+			orderRepository.save(order);
+		}
+		return user;
+	}
+}
@@ -0,0 +1,158 @@
+package com.practice.foodordering.service;
+
+import com.practice.foodordering.dto.OrderStatusDto;
+import com.practice.foodordering.model.*;
+import com.practice.foodordering.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class OrderServiceTests {
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CityRepository cityRepository;
+
+	@Autowired
+	private RestaurantRepository restaurantRepository;
+
+	@Autowired
+	private FoodItemRepository foodItemRepository;
+
+	private AppUser user;
+
+	@BeforeEach
+	void setUp() {
+		user = userRepository.save(AppUser.builder()
+				.phoneOrEmail(UUID.randomUUID() + "@example.com")
+				.role(Role.CUSTOMER)
+				.build());
+	}
+
+	@Test
+	void statusChangesFollowTheFlowAndBumpTheVersion() {
+		Order order = placed();
+
+		OrderStatusDto preparing = orderService.updateOrderStatus(order.getId(), OrderStatus.PREPARING, null);
+		assertEquals(OrderStatus.PREPARING, preparing.status());
+		assertEquals(order.getVersion() + 1, preparing.version());
+
+		ResponseStatusException skipped = assertThrows(ResponseStatusException.class,
+				() -> orderService.updateOrderStatus(order.getId(), OrderStatus.COMPLETED, null));
+		assertEquals(HttpStatus.CONFLICT, skipped.getStatusCode());
+	}
+
+	@Test
+	void cancelLosesToTheKitchen() {
+		Order order = placed();
+		orderService.updateOrderStatus(order.getId(), OrderStatus.PREPARING, null);
+
+		ResponseStatusException late = assertThrows(ResponseStatusException.class,
+				() -> orderService.cancelOrder(order.getId(), customer()));
+		assertEquals(HttpStatus.CONFLICT, late.getStatusCode());
+		assertEquals(OrderStatus.PREPARING, orderRepository.findById(order.getId()).orElseThrow().getStatus());
+	}
+
+	@Test
+	void staleVersionIsRejected() {
+		Order order = placed();
+		long readVersion = order.getVersion();
+		orderService.updateOrderStatus(order.getId(), OrderStatus.PREPARING, readVersion);
+
+		ResponseStatusException stale = assertThrows(ResponseStatusException.class,
+				() -> orderService.updateOrderStatus(order.getId(), OrderStatus.CANCELLED, readVersion));
+		assertEquals(HttpStatus.CONFLICT, stale.getStatusCode());
+		assertEquals(OrderStatus.PREPARING, orderRepository.findById(order.getId()).orElseThrow().getStatus());
+	}
+
+	@Test
+	void nothingMovesBackToPlaced() {
+		Order order = placed();
+
+		ResponseStatusException invalid = assertThrows(ResponseStatusException.class,
+				() -> orderService.updateOrderStatus(order.getId(), OrderStatus.PLACED, null));
+		assertEquals(HttpStatus.BAD_REQUEST, invalid.getStatusCode());
+		assertEquals(order.getVersion(), orderRepository.findById(order.getId()).orElseThrow().getVersion());
+	}
+
+	@Test
+	void unknownOrderIsNotFound() {
+		ResponseStatusException missing = assertThrows(ResponseStatusException.class,
+				() -> orderService.cancelOrder(UUID.randomUUID(), customer()));
+		assertEquals(HttpStatus.NOT_FOUND, missing.getStatusCode());
+	}
+
+	@Test
+	void cartMixingRestaurantsIsABadRequest() {
+		City city = cityRepository.save(City.builder().name("City " + UUID.randomUUID()).build());
+		FoodItem pizza = item(city, "Pizza");
+		FoodItem curry = item(city, "Curry");
+
+		Order mixed = Order.builder()
+				.user(user)
+				.items(List.of(line(pizza), line(curry)))
+				.build();
+		ResponseStatusException rejected = assertThrows(ResponseStatusException.class,
+				() -> orderService.placeOrder(mixed));
+		assertEquals(HttpStatus.BAD_REQUEST, rejected.getStatusCode());
+
+		Order single = orderService.placeOrder(Order.builder()
+				.user(user)
+				.items(new ArrayList<>(List.of(line(pizza), line(pizza))))
+				.build());
+		assertEquals(pizza.getRestaurant().getId(), single.getRestaurantId());
+	}
+
+	private FoodItem item(City city, String name) {
+		Restaurant restaurant = restaurantRepository.save(Restaurant.builder()
+				.city(city)
+				.name("Restaurant " + UUID.randomUUID())
+				.build());
+		return foodItemRepository.save(FoodItem.builder()
+				.restaurant(restaurant)
+				.name(name)
+				.price(new BigDecimal("100.00"))
+				.itemType(ItemType.NO_ADDON_NO_VARIANT)
+				.build());
+	}
+
+	private Authentication customer() {
+		return UsernamePasswordAuthenticationToken.authenticated(user.getId().toString(), null,
+				List.of(new SimpleGrantedAuthority("ROLE_" + Role.CUSTOMER.name())));
+	}
+
+	private static OrderItem line(FoodItem item) {
+		return OrderItem.builder().foodItem(item).quantity(1).build();
+	}
+
+	private Order placed() {
+		return orderRepository.save(Order.builder()
+				.user(user)
+				.status(OrderStatus.PLACED)
+				.totalPrice(new BigDecimal("100.00"))
+				.build());
+	}
+}
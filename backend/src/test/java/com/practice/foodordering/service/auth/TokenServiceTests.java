@@ -0,0 +1,138 @@
+package com.practice.foodordering.service.auth;
+
+import com.practice.foodordering.model.AppUser;
+import com.practice.foodordering.model.Role;
+import com.practice.foodordering.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenServiceTests {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final AppUser admin = AppUser.builder().id(UUID.randomUUID()).phoneOrEmail("admin@example.com")
+			.role(Role.ADMIN).build();
+
+	@Test
+	void accessTokenCarriesTheUserAndRole() {
+		TokenService tokens = tokenService(Clock.systemUTC());
+		String access = tokens.issue(admin).accessToken();
+
+		TokenClaims claims = tokens.verify(access, TokenType.ACCESS).orElseThrow();
+		assertEquals(admin.getId(), claims.userId());
+		assertEquals(Role.ADMIN, claims.role());
+		// Access and refresh tokens are not interchangeable
+		assertTrue(tokens.verify(access, TokenType.REFRESH).isEmpty());
+	}
+
+	@Test
+	void tamperedForeignAndExpiredTokensAreRejected() {
+		Instant issuedAt = Instant.parse("2026-01-01T10:00:00Z");
+		String access = tokenService(Clock.fixed(issuedAt, ZoneOffset.UTC)).issue(admin).accessToken();
+
+		TokenService tokens = tokenService(Clock.fixed(issuedAt.plusSeconds(60), ZoneOffset.UTC));
+		assertTrue(tokens.verify(access, TokenType.ACCESS).isPresent());
+
+		String[] parts = access.split("\\.");
+		char[] payload = parts[1].toCharArray();
+		int middle = payload.length / 2;
+		payload[middle] = payload[middle] == 'A' ? 'B' : 'A';
+		String tampered = parts[0] + "." + new String(payload) + "." + parts[2];
+		assertTrue(tokens.verify(tampered, TokenType.ACCESS).isEmpty());
+		assertTrue(tokens.verify("not.a.token", TokenType.ACCESS).isEmpty());
+
+		TokenService otherKey = new TokenService(userRepository, JsonMapper.builder().build(),
+				"fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8), Duration.ofMinutes(15),
+				Duration.ofDays(14), Duration.ofSeconds(30), 1000, null, "revoked-token:",
+				Clock.fixed(issuedAt.plusSeconds(60), ZoneOffset.UTC));
+		assertTrue(otherKey.verify(access, TokenType.ACCESS).isEmpty());
+
+		TokenService later = tokenService(Clock.fixed(issuedAt.plus(Duration.ofMinutes(16)), ZoneOffset.UTC));
+		assertTrue(later.verify(access, TokenType.ACCESS).isEmpty());
+	}
+
+	@Test
+	void refreshTokenWorksOnceAndLogoutRevokes() {
+		when(userRepository.findById(admin.getId())).thenReturn(Optional.of(admin));
+		TokenService tokens = tokenService(Clock.systemUTC());
+		TokenService.Tokens first = tokens.issue(admin);
+
+		TokenService.Tokens second = tokens.refresh(first.refreshToken());
+		assertTrue(tokens.verify(second.accessToken(), TokenType.ACCESS).isPresent());
+		assertThrows(ResponseStatusException.class, () -> tokens.refresh(first.refreshToken()));
+
+		tokens.revoke(second.accessToken());
+		assertTrue(tokens.verify(second.accessToken(), TokenType.ACCESS).isEmpty());
+	}
+
+	@Test
+	void refreshTokenSpentOnOneReplicaIsRejectedOnAnother() {
+		when(userRepository.findById(admin.getId())).thenReturn(Optional.of(admin));
+		StringRedisTemplate redis = sharedRedis();
+		TokenService first = tokenService(redis);
+		TokenService second = tokenService(redis);
+		TokenService.Tokens issued = first.issue(admin);
+
+		first.refresh(issued.refreshToken());
+		assertThrows(ResponseStatusException.class, () -> second.refresh(issued.refreshToken()));
+
+		TokenService.Tokens loggedOut = second.issue(admin);
+		second.revoke(loggedOut.refreshToken());
+		assertThrows(ResponseStatusException.class, () -> first.refresh(loggedOut.refreshToken()));
+	}
+
+	@Test
+	void missingSecretFailsStartupWhenRequired() {
+		assertThrows(IllegalStateException.class, () -> TokenService.secretBytes("", true));
+		assertThrows(IllegalStateException.class, () -> TokenService.secretBytes(null, true));
+		assertEquals(32, TokenService.secretBytes(null, false).length);
+	}
+
+	private TokenService tokenService(Clock clock) {
+		return new TokenService(userRepository, JsonMapper.builder().build(), SECRET.getBytes(StandardCharsets.UTF_8),
+				Duration.ofMinutes(15), Duration.ofDays(14), Duration.ofSeconds(30), 1000, null, "revoked-token:",
+				clock);
+	}
+
+	private TokenService tokenService(StringRedisTemplate redis) {
+		return new TokenService(userRepository, JsonMapper.builder().build(), SECRET.getBytes(StandardCharsets.UTF_8),
+				Duration.ofMinutes(15), Duration.ofDays(14), Duration.ofSeconds(30), 1000, redis, "revoked-token:",
+				Clock.systemUTC());
+	}
+
+	/**
+	 * A Redis stand-in for SET NX, shared by the replicas of a test.
+	 */
+	@SuppressWarnings("unchecked")
+	private static StringRedisTemplate sharedRedis() {
+		Map<String, String> keys = new ConcurrentHashMap<>();
+		ValueOperations<String, String> values = mock(ValueOperations.class);
+		when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenAnswer(invocation ->
+				keys.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+		StringRedisTemplate redis = mock(StringRedisTemplate.class);
+		when(redis.opsForValue()).thenReturn(values);
+		return redis;
+	}
+}
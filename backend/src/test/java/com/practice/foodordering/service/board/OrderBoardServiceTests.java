@@ -0,0 +1,72 @@
+package com.practice.foodordering.service.board;
+
+import com.practice.foodordering.dto.OrderRow;
+import com.practice.foodordering.model.OrderStatus;
+import com.practice.foodordering.repository.OrderRepository;
+import com.practice.foodordering.service.notification.NotificationHub;
+import com.practice.foodordering.service.notification.OrderEvent;
+import com.practice.foodordering.service.notification.OrderEventBus;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderBoardServiceTests {
+
+	private final NotificationHub hub = mock(NotificationHub.class);
+	private final OrderBoardService board = new OrderBoardService(hub, mock(OrderEventBus.class),
+			mock(OrderRepository.class));
+
+	private final UUID restaurantId = UUID.randomUUID();
+
+	@Test
+	void changesWithinAWindowGoOutAsOneEventWithTheLatestStatePerOrder() {
+		when(hub.isConnected(restaurantId)).thenReturn(true);
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+
+		board.onEvent(event(1, first, OrderStatus.PLACED));
+		board.onEvent(event(2, second, OrderStatus.PLACED));
+		board.onEvent(event(3, first, OrderStatus.PREPARING));
+		// Late arrival from another node must not roll the order back
+		board.onEvent(event(1, first, OrderStatus.PLACED));
+		board.flush();
+		board.flush();
+
+		ArgumentCaptor<NotificationHub.Event> sent = ArgumentCaptor.forClass(NotificationHub.Event.class);
+		verify(hub, times(1)).send(eq(restaurantId), sent.capture());
+		assertEquals("ORDERS", sent.getValue().name());
+		@SuppressWarnings("unchecked")
+		List<OrderRow> rows = (List<OrderRow>) sent.getValue().data();
+		assertEquals(List.of(second, first), rows.stream().map(OrderRow::id).toList());
+		assertEquals(OrderStatus.PREPARING, rows.get(1).status());
+		assertEquals(2, board.stats().coalesced());
+	}
+
+	@Test
+	void restaurantsWithoutABoardOnThisNodeAreIgnored() {
+		board.onEvent(event(1, UUID.randomUUID(), OrderStatus.PLACED));
+		board.flush();
+
+		verify(hub, never()).send(any(UUID.class), any(NotificationHub.Event.class));
+		assertEquals(0, board.stats().changes());
+	}
+
+	private OrderEvent event(long id, UUID orderId, OrderStatus status) {
+		Instant placedAt = Instant.parse("2026-01-01T12:00:00Z");
+		return new OrderEvent(id, UUID.randomUUID(), orderId, restaurantId, status, new BigDecimal("120.00"),
+				placedAt, placedAt);
+	}
+}
@@ -0,0 +1,57 @@
+package com.practice.foodordering.service.catalog;
+
+import com.practice.foodordering.dto.CatalogDto;
+import com.practice.foodordering.dto.CatalogRestaurantDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CityCatalogTests {
+
+	private final UUID cityId = UUID.randomUUID();
+	private final UUID napoliId = UUID.randomUUID();
+	private final UUID tokyoId = UUID.randomUUID();
+
+	@Test
+	void deltaHoldsOnlyRestaurantsChangedOrRemovedAfterTheClientsVersion() {
+		CityCatalog base = CityCatalog.full(cityId, "Pune", 100,
+				List.of(restaurant(napoliId, "Napoli", 100), restaurant(tokyoId, "Tokyo", 100)));
+		assertEquals(2, base.full().restaurants().size());
+		assertTrue(base.since(100).restaurants().isEmpty());
+
+		CityCatalog renamed = base.withRestaurant(restaurant(napoliId, "Napoli Express", base.nextVersion()));
+		CityCatalog removed = renamed.withoutRestaurant(tokyoId, renamed.nextVersion(), 10);
+
+		CatalogDto fromBase = removed.since(base.version());
+		assertFalse(fromBase.full());
+		assertEquals(removed.version(), fromBase.version());
+		assertEquals("Napoli Express", fromBase.restaurants().get(0).name());
+		assertEquals(List.of(tokyoId), fromBase.removedRestaurantIds());
+
+		CatalogDto fromRenamed = removed.since(renamed.version());
+		assertTrue(fromRenamed.restaurants().isEmpty());
+		assertEquals(List.of(tokyoId), fromRenamed.removedRestaurantIds());
+	}
+
+	@Test
+	void clientsOutsideTheDeltaWindowMustStartOver() {
+		CityCatalog base = CityCatalog.full(cityId, "Pune", 100, List.of(restaurant(napoliId, "Napoli", 100)));
+
+		assertNull(base.since(99));
+		assertNull(base.since(base.version() + 1));
+
+		CityCatalog compacted = base.withoutRestaurant(napoliId, base.nextVersion(), 0);
+		assertNull(compacted.since(base.version()));
+		assertTrue(compacted.since(compacted.version()).removedRestaurantIds().isEmpty());
+	}
+
+	private static CatalogRestaurantDto restaurant(UUID id, String name, long version) {
+		return new CatalogRestaurantDto(id, name, "MG Road", null, 4.5f, 30, 600, version, List.of());
+	}
+}
@@ -0,0 +1,89 @@
+package com.practice.foodordering.service.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class IdempotencyServiceTests {
+
+	private static final byte[] REQUEST = "{\"items\":1}".getBytes(StandardCharsets.UTF_8);
+
+	@SuppressWarnings("unchecked")
+	private final IdempotencyService service = new IdempotencyService(mock(ObjectProvider.class), 1000,
+			Duration.ofMinutes(5), 5000, false, 30000, "idempotency:");
+
+	@Test
+	void concurrentDuplicatesWaitForTheFirstRequestAndShareItsResponse() throws Exception {
+		AtomicInteger placed = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<byte[]>> responses = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				responses.add(pool.submit(() -> service.execute("user:key-1", REQUEST, () -> {
+					placed.incrementAndGet();
+					await(release);
+					return "order-1".getBytes(StandardCharsets.UTF_8);
+				})));
+			}
+			Thread.sleep(100);
+			release.countDown();
+			for (Future<byte[]> response : responses) {
+				assertArrayEquals("order-1".getBytes(StandardCharsets.UTF_8), response.get(5, TimeUnit.SECONDS));
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		assertEquals(1, placed.get());
+		assertEquals(1, service.stats().executed());
+		assertEquals(7, service.stats().replayed() + service.stats().awaited());
+	}
+
+	@Test
+	void keyReusedForADifferentRequestIsRejected() {
+		service.execute("user:key-2", REQUEST, () -> new byte[] {1});
+
+		ResponseStatusException e = assertThrows(ResponseStatusException.class,
+				() -> service.execute("user:key-2", "{\"items\":2}".getBytes(StandardCharsets.UTF_8),
+						() -> new byte[] {2}));
+		assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, e.getStatusCode());
+	}
+
+	@Test
+	void failedRequestReleasesTheKey() {
+		assertThrows(IllegalStateException.class, () -> service.execute("user:key-3", REQUEST, () -> {
+			throw new IllegalStateException("database down");
+		}));
+
+		assertArrayEquals(new byte[] {3}, service.execute("user:key-3", REQUEST, () -> new byte[] {3}));
+		assertTrue(service.stats().entries() <= 1);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.practice.foodordering.service.menu;
+
+import com.practice.foodordering.dto.MenuItemRow;
+import com.practice.foodordering.dto.MenuOptionRow;
+import com.practice.foodordering.model.ItemType;
+import com.practice.foodordering.repository.AddonRepository;
+import com.practice.foodordering.repository.FoodItemRepository;
+import com.practice.foodordering.repository.RestaurantRepository;
+import com.practice.foodordering.repository.VariantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class MenuServiceTests {
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().build();
+	private final UUID restaurantId = UUID.randomUUID();
+	private final UUID pizzaId = UUID.randomUUID();
+	private final UUID colaId = UUID.randomUUID();
+
+	private FoodItemRepository foodItemRepository;
+	private VariantRepository variantRepository;
+	private AddonRepository addonRepository;
+	private RestaurantRepository restaurantRepository;
+	private MenuService menuService;
+
+	@BeforeEach
+	void setUp() {
+		foodItemRepository = mock(FoodItemRepository.class);
+		variantRepository = mock(VariantRepository.class);
+		addonRepository = mock(AddonRepository.class);
+		restaurantRepository = mock(RestaurantRepository.class);
+
+		when(restaurantRepository.findNameById(restaurantId)).thenReturn(Optional.of("Napoli"));
+		when(foodItemRepository.findMenuRowsByRestaurantId(restaurantId)).thenReturn(List.of(
+				new MenuItemRow(colaId, restaurantId, "Cola", new BigDecimal("60.00"), ItemType.NO_ADDON_NO_VARIANT),
+				new MenuItemRow(pizzaId, restaurantId, "Pizza", new BigDecimal("299.00"), ItemType.VARIANT_AND_ADDON)));
+		when(variantRepository.findMenuRowsByRestaurantId(restaurantId)).thenReturn(List.of(
+				new MenuOptionRow(UUID.randomUUID(), pizzaId, "Regular", new BigDecimal("0.00")),
+				new MenuOptionRow(UUID.randomUUID(), pizzaId, "Large", new BigDecimal("150.00"))));
+		when(addonRepository.findMenuRowsByRestaurantId(restaurantId)).thenReturn(List.of(
+				new MenuOptionRow(UUID.randomUUID(), pizzaId, "Olives", new BigDecimal("50.00"))));
+
+		menuService = new MenuService(foodItemRepository, variantRepository, addonRepository, restaurantRepository,
+				new ConcurrentMapCacheManager(), objectMapper);
+	}
+
+	@Test
+	void groupsVariantsAndAddonsUnderTheirItems() {
+		JsonNode menu = objectMapper.readTree(menuService.getMenu(restaurantId).json());
+
+		assertEquals("Napoli", menu.get("restaurantName").asString());
+		JsonNode cola = menu.get("items").get(0);
+		JsonNode pizza = menu.get("items").get(1);
+		assertEquals(0, cola.get("variants").size());
+		assertEquals(2, pizza.get("variants").size());
+		assertEquals("Large", pizza.get("variants").get(1).get("name").asString());
+		assertEquals("Olives", pizza.get("addons").get(0).get("name").asString());
+	}
+
+	@Test
+	void servesFromCacheUntilInvalidatedAndKeepsTheEtagWhileContentIsUnchanged() {
+		MenuService.Snapshot first = menuService.getMenu(restaurantId);
+		assertSame(first, menuService.getMenu(restaurantId));
+		verify(foodItemRepository, times(1)).findMenuRowsByRestaurantId(restaurantId);
+
+		menuService.invalidate(restaurantId);
+		MenuService.Snapshot rebuilt = menuService.getMenu(restaurantId);
+		assertEquals(first.etag(), rebuilt.etag());
+
+		when(restaurantRepository.findNameById(restaurantId)).thenReturn(Optional.of("Napoli Express"));
+		menuService.invalidate(restaurantId);
+		assertNotEquals(first.etag(), menuService.getMenu(restaurantId).etag());
+		verify(foodItemRepository, times(3)).findMenuRowsByRestaurantId(restaurantId);
+	}
+
+	@Test
+	void unknownRestaurantIsNotFound() {
+		assertThrows(ResponseStatusException.class, () -> menuService.getMenu(UUID.randomUUID()));
+	}
+}
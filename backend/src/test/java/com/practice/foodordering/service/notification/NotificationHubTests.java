@@ -0,0 +1,256 @@
+package com.practice.foodordering.service.notification;
+
+import com.practice.foodordering.config.threads.ExecutionThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class NotificationHubTests {
+
+	private static final double MAX_FAN_OUT_P99_MS = 50;
+
+	private NotificationHub hub;
+
+	@AfterEach
+	void tearDown() {
+		if (hub != null) {
+			hub.stop();
+		}
+	}
+
+	@Test
+	void deliversToEveryConnectionOfTheUser() throws InterruptedException {
+		hub = hub(10, 5, 60_000);
+		UUID userId = UUID.randomUUID();
+		CountDownLatch received = new CountDownLatch(2);
+		RecordingEmitter laptop = new RecordingEmitter(sentAt -> received.countDown());
+		RecordingEmitter phone = new RecordingEmitter(sentAt -> received.countDown());
+		hub.register(userId, laptop);
+		hub.register(userId, phone);
+
+		hub.send(userId, "ORDER_UPDATE", System.nanoTime());
+
+		assertTrue(received.await(5, TimeUnit.SECONDS));
+		assertEquals(2, hub.stats().connections());
+		assertEquals(1, hub.stats().users());
+	}
+
+	@Test
+	void deliversEventsWhoseIdsArriveOutOfOrderAndSkipsRepeats() throws InterruptedException {
+		hub = hub(10, 5, 60_000);
+		UUID userId = UUID.randomUUID();
+		List<Long> received = new CopyOnWriteArrayList<>();
+		CountDownLatch sentinel = new CountDownLatch(1);
+		hub.register(userId, new RecordingEmitter(data -> {
+			if (data < 0) {
+				sentinel.countDown();
+			} else {
+				received.add(data);
+			}
+		}));
+
+		// Another node's batch, then a retried batch, both numbered below ids already seen
+		for (long id : new long[]{5, 3, 7, 3, 1, 7}) {
+			hub.send(userId, new NotificationHub.Event(id, "ORDER_UPDATE", id));
+		}
+		hub.send(userId, "ORDER_UPDATE", -1L);
+
+		assertTrue(sentinel.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of(5L, 3L, 7L, 1L), received);
+	}
+
+	@Test
+	void deliversEventsInBothReplayAndLiveStreamOnce() throws InterruptedException {
+		hub = hub(10, 5, 60_000);
+		UUID userId = UUID.randomUUID();
+		List<Long> received = new CopyOnWriteArrayList<>();
+		CountDownLatch sentinel = new CountDownLatch(1);
+		RecordingEmitter emitter = new RecordingEmitter(data -> {
+			if (data < 0) {
+				sentinel.countDown();
+			} else {
+				received.add(data);
+			}
+		});
+
+		hub.open(userId, emitter, () -> List.of(
+				new NotificationHub.Event(10, "ORDER_UPDATE", 10L),
+				new NotificationHub.Event(12, "ORDER_UPDATE", 12L)));
+		hub.send(userId, new NotificationHub.Event(12, "ORDER_UPDATE", 12L));
+		hub.send(userId, new NotificationHub.Event(11, "ORDER_UPDATE", 11L));
+		hub.send(userId, "ORDER_UPDATE", -1L);
+
+		assertTrue(sentinel.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of(10L, 12L, 11L), received);
+	}
+
+	@Test
+	void closesOldestConnectionOverPerUserLimitAndRejectsOverNodeCap() {
+		hub = hub(3, 2, 60_000);
+		UUID userId = UUID.randomUUID();
+		RecordingEmitter first = new RecordingEmitter(sentAt -> { });
+		hub.register(userId, first);
+		hub.register(userId, new RecordingEmitter(sentAt -> { }));
+		hub.register(userId, new RecordingEmitter(sentAt -> { }));
+
+		assertTrue(first.completed);
+		assertEquals(2, hub.stats().connections());
+
+		hub.register(UUID.randomUUID(), new RecordingEmitter(sentAt -> { }));
+		assertThrows(ResponseStatusException.class,
+				() -> hub.register(UUID.randomUUID(), new RecordingEmitter(sentAt -> { })));
+	}
+
+	@Test
+	void heartbeatReapsDeadConnections() throws InterruptedException {
+		hub = hub(10, 5, 50);
+		UUID userId = UUID.randomUUID();
+		hub.register(userId, new RecordingEmitter(sentAt -> { }));
+		hub.register(UUID.randomUUID(), new RecordingEmitter(sentAt -> { }) {
+			@Override
+			public void send(SseEventBuilder builder) throws IOException {
+				throw new IOException("Broken pipe");
+			}
+		});
+
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (hub.stats().reaped() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+
+		assertEquals(1, hub.stats().reaped());
+		assertEquals(1, hub.stats().connections());
+		assertTrue(hub.isConnected(userId));
+	}
+
+	/**
+	 * Holds 50k subscribers and pushes events at them from several producer
+	 * threads, then logs the latency percentiles and checks the p99 against
+	 * {@link #MAX_FAN_OUT_P99_MS}. It measures only the hub: the clock starts at
+	 * {@link NotificationHub#send} and stops when a recording emitter receives
+	 * the event, so the order update and its transaction before the send, and
+	 * the network after the write, are not included. Enable with
+	 * {@code -DloadTests=true}.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "loadTests", matches = "true")
+	void fansOutToFiftyThousandSubscribers() throws InterruptedException {
+		int subscribers = 50_000;
+		int producers = 8;
+		int eventsPerProducer = 25_000;
+		int eventsPerSecondPerProducer = 5_000;
+
+		hub = hub(subscribers, 5, 15_000);
+		long[] latencies = new long[producers * eventsPerProducer];
+		AtomicInteger recorded = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(latencies.length);
+		List<UUID> users = new ArrayList<>(subscribers);
+		for (int i = 0; i < subscribers; i++) {
+			UUID userId = UUID.randomUUID();
+			users.add(userId);
+			hub.register(userId, new RecordingEmitter(sentAt -> {
+				latencies[recorded.getAndIncrement()] = System.nanoTime() - sentAt;
+				done.countDown();
+			}));
+		}
+
+		long started = System.nanoTime();
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			Thread producer = new Thread(() -> {
+				long interval = TimeUnit.SECONDS.toNanos(1) / eventsPerSecondPerProducer;
+				long next = System.nanoTime();
+				for (int i = 0; i < eventsPerProducer; i++) {
+					UUID userId = users.get(ThreadLocalRandom.current().nextInt(subscribers));
+					hub.send(userId, "ORDER_UPDATE", System.nanoTime());
+					next += interval;
+					LockSupport.parkNanos(next - System.nanoTime());
+				}
+			});
+			producer.start();
+			threads.add(producer);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertTrue(done.await(60, TimeUnit.SECONDS), "undelivered events: " + done.getCount());
+		double seconds = (System.nanoTime() - started) / 1e9;
+		Arrays.sort(latencies);
+		double p99 = percentile(latencies, 0.99);
+		log.info("{} subscribers, {} events in {} s ({} events/s): p50={} ms p99={} ms max={} ms",
+				subscribers, latencies.length, String.format("%.1f", seconds),
+				String.format("%.0f", latencies.length / seconds), String.format("%.2f", percentile(latencies, 0.50)),
+				String.format("%.2f", p99), String.format("%.2f", percentile(latencies, 1.0)));
+		assertEquals(0, hub.stats().dropped());
+		assertTrue(p99 <= MAX_FAN_OUT_P99_MS, "p99 fan-out latency " + p99 + " ms");
+	}
+
+	private static double percentile(long[] sorted, double p) {
+		int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+		return sorted[Math.max(index, 0)] / 1e6;
+	}
+
+	private NotificationHub hub(int maxConnections, int perUser, long heartbeatMs) {
+		NotificationHub created = new NotificationHub(new ExecutionThreads(new MockEnvironment()));
+		ReflectionTestUtils.setField(created, "shardCount", 16);
+		ReflectionTestUtils.setField(created, "shardQueueCapacity", 100_000);
+		ReflectionTestUtils.setField(created, "maxConnections", maxConnections);
+		ReflectionTestUtils.setField(created, "maxConnectionsPerUser", perUser);
+		ReflectionTestUtils.setField(created, "heartbeatIntervalMs", heartbeatMs);
+		created.start();
+		return created;
+	}
+
+	/**
+	 * Emitter that hands the {@code Long} data of each named event (a send
+	 * timestamp or an event id) to a callback instead of writing to a response.
+	 */
+	private static class RecordingEmitter extends SseEmitter {
+
+		private final LongConsumer onEvent;
+		private volatile boolean completed;
+
+		RecordingEmitter(LongConsumer onEvent) {
+			this.onEvent = onEvent;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			// Heartbeat comments carry no timestamp and are ignored
+			for (var part : builder.build()) {
+				if (part.getData() instanceof Long sentAt) {
+					onEvent.accept(sentAt);
+				}
+			}
+		}
+
+		@Override
+		public void complete() {
+			completed = true;
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package com.practice.foodordering.service.notification;
+
+import com.practice.foodordering.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderEventLogTests {
+
+	private final UUID userId = UUID.randomUUID();
+	private OrderEventLog eventLog;
+
+	@BeforeEach
+	void setUp() {
+		eventLog = new OrderEventLog();
+		ReflectionTestUtils.setField(eventLog, "bufferSize", 3);
+		ReflectionTestUtils.setField(eventLog, "maxUsers", 10);
+	}
+
+	@Test
+	void returnsOnlyEventsAfterTheLastSeenId() {
+		for (long id = 1; id <= 3; id++) {
+			eventLog.append(event(id));
+		}
+
+		assertEquals(List.of(2L, 3L), ids(eventLog.since(userId, 1)));
+		assertTrue(eventLog.since(userId, 3).isEmpty());
+		assertTrue(eventLog.since(UUID.randomUUID(), 1).isEmpty());
+	}
+
+	@Test
+	void keepsTheNewestEventsWhenTheRingWraps() {
+		for (long id = 1; id <= 5; id++) {
+			eventLog.append(event(id));
+		}
+
+		// Id 1 has been overwritten, so everything newer than it is replayed
+		assertEquals(List.of(3L, 4L, 5L), ids(eventLog.since(userId, 1)));
+		assertEquals(List.of(5L), ids(eventLog.since(userId, 4)));
+	}
+
+	private List<Long> ids(List<OrderEvent> events) {
+		return events.stream().map(OrderEvent::id).toList();
+	}
+
+	private OrderEvent event(long id) {
+		return new OrderEvent(id, userId, UUID.randomUUID(), null, OrderStatus.PREPARING, null, null, Instant.now());
+	}
+}
@@ -0,0 +1,46 @@
+package com.practice.foodordering.service.notification;
+
+import com.practice.foodordering.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class RedisOrderEventBusTests {
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+	@Test
+	void deliversEachEventIdOnceAcrossBatches() {
+		RedisOrderEventBus bus = new RedisOrderEventBus(mock(StringRedisTemplate.class),
+				mock(RedisConnectionFactory.class), objectMapper);
+		ReflectionTestUtils.setField(bus, "dedupWindow", 100);
+		List<OrderEvent> received = new ArrayList<>();
+		bus.subscribe(received::add);
+
+		OrderEvent placed = event(1, OrderStatus.PLACED);
+		OrderEvent preparing = event(2, OrderStatus.PREPARING);
+		bus.receive(objectMapper.writeValueAsString(List.of(placed, preparing)));
+		// A retried publish that had already gone through
+		bus.receive(objectMapper.writeValueAsString(List.of(preparing)));
+
+		assertEquals(List.of(placed, preparing), received);
+	}
+
+	private OrderEvent event(long id, OrderStatus status) {
+		Instant placedAt = Instant.parse("2026-01-01T10:00:00Z");
+		return new OrderEvent(id, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), status,
+				new BigDecimal("259.99"), placedAt, placedAt);
+	}
+}
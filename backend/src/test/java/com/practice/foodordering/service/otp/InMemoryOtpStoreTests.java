@@ -0,0 +1,100 @@
+package com.practice.foodordering.service.otp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryOtpStoreTests {
+
+	private static final Duration TTL = Duration.ofMinutes(5);
+
+	private InMemoryOtpStore store;
+	private Instant now = Instant.parse("2026-01-01T10:00:00Z");
+
+	@BeforeEach
+	void setUp() {
+		store = new InMemoryOtpStore();
+		ReflectionTestUtils.setField(store, "maxEntries", 3);
+		ReflectionTestUtils.setField(store, "clock", Clock.fixed(now, ZoneOffset.UTC));
+	}
+
+	@Test
+	void consumesMatchingCodeOnce() {
+		store.save("a@x.com", "123456", TTL);
+
+		assertFalse(store.consume("a@x.com", "000000"));
+		assertTrue(store.consume("a@x.com", "123456"));
+		assertFalse(store.consume("a@x.com", "123456"));
+	}
+
+	@Test
+	void sweepsExpiredCodes() {
+		store.save("a@x.com", "111111", TTL);
+		store.save("b@x.com", "222222", TTL);
+		advance(TTL.plusSeconds(1));
+
+		store.sweep();
+
+		assertFalse(store.consume("a@x.com", "111111"));
+		assertEquals(new OtpStore.Stats(0, 2, 0), store.stats());
+	}
+
+	@Test
+	void evictsOldestCodeWhenFull() {
+		store.save("a@x.com", "111111", TTL);
+		store.save("b@x.com", "222222", TTL);
+		store.save("a@x.com", "333333", TTL);
+		store.save("c@x.com", "444444", TTL);
+		store.save("d@x.com", "555555", TTL);
+
+		assertFalse(store.consume("b@x.com", "222222"));
+		assertTrue(store.consume("a@x.com", "333333"));
+		assertEquals(1, store.stats().evicted());
+		assertEquals(2, store.stats().liveEntries());
+	}
+
+	@Test
+	void concurrentSavesNeverExceedTheCap() throws InterruptedException {
+		int threads = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		for (int t = 0; t < threads; t++) {
+			int thread = t;
+			pool.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < 1_000; i++) {
+					store.save(thread + "-" + i + "@x.com", "123456", TTL);
+					assertTrue(store.stats().liveEntries() <= 3);
+				}
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+		assertEquals(3, store.stats().liveEntries());
+		assertEquals(threads * 1_000 - 3, store.stats().evicted());
+	}
+
+	private void advance(Duration duration) {
+		now = now.plus(duration);
+		ReflectionTestUtils.setField(store, "clock", Clock.fixed(now, ZoneOffset.UTC));
+	}
+}
@@ -0,0 +1,49 @@
+package com.practice.foodordering.service.otp;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProviderGuardTests {
+
+	@Test
+	void opensAfterConsecutiveFailuresAndClosesAfterSuccessfulTrial() throws InterruptedException {
+		MeterRegistry registry = new SimpleMeterRegistry();
+		ProviderGuard guard = new ProviderGuard("test", 1000, 2, 50, registry);
+		Runnable failing = () -> {
+			throw new IllegalStateException("provider down");
+		};
+
+		assertThrows(IllegalStateException.class, () -> guard.run(failing));
+		assertThrows(IllegalStateException.class, () -> guard.run(failing));
+		assertEquals(ProviderGuard.State.OPEN, guard.stats().state());
+		assertThrows(ProviderGuard.CircuitOpenException.class, () -> guard.run(() -> { }));
+
+		Thread.sleep(60);
+		guard.run(() -> { });
+
+		ProviderGuard.Stats stats = guard.stats();
+		assertEquals(ProviderGuard.State.CLOSED, stats.state());
+		assertEquals(3, stats.calls());
+		assertEquals(2, stats.failures());
+		assertEquals(1, stats.shortCircuited());
+		assertEquals(2, registry.get("otp.provider.latency").tag("outcome", "failure").timer().count());
+		assertEquals(1, registry.get("otp.provider.latency").tag("outcome", "success").timer().count());
+	}
+
+	@Test
+	void spacesCallsToTheConfiguredRate() {
+		ProviderGuard guard = new ProviderGuard("test", 20, 5, 1000, new SimpleMeterRegistry());
+
+		long started = System.nanoTime();
+		for (int i = 0; i < 5; i++) {
+			guard.run(() -> { });
+		}
+
+		// The first call is immediate, the next four wait 50 ms each
+		assertEquals(200, (System.nanoTime() - started) / 1_000_000, 40);
+	}
+}
@@ -0,0 +1,137 @@
+package com.practice.foodordering.service.pricing;
+
+import com.practice.foodordering.config.cache.CacheProperties;
+import com.practice.foodordering.config.cache.TwoTierCacheManager;
+import com.practice.foodordering.dto.PriceRow;
+import com.practice.foodordering.model.*;
+import com.practice.foodordering.repository.AddonRepository;
+import com.practice.foodordering.repository.FoodItemRepository;
+import com.practice.foodordering.repository.VariantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class PricingServiceTests {
+
+	private final UUID restaurantId = UUID.randomUUID();
+	private final UUID itemId = UUID.randomUUID();
+	private final UUID variantId = UUID.randomUUID();
+	private final UUID addonId = UUID.randomUUID();
+
+	private FoodItemRepository foodItemRepository;
+	private VariantRepository variantRepository;
+	private AddonRepository addonRepository;
+	private PricingService pricingService;
+	private final List<String> published = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		foodItemRepository = mock(FoodItemRepository.class);
+		variantRepository = mock(VariantRepository.class);
+		addonRepository = mock(AddonRepository.class);
+
+		when(foodItemRepository.findRestaurantIdById(itemId)).thenReturn(Optional.of(restaurantId));
+		when(foodItemRepository.findPricesByRestaurantId(restaurantId))
+				.thenReturn(List.of(new PriceRow(itemId, itemId, new BigDecimal("299.00"))));
+		when(variantRepository.findPricesByRestaurantId(restaurantId))
+				.thenReturn(List.of(new PriceRow(variantId, itemId, new BigDecimal("150.00"))));
+		when(addonRepository.findPricesByRestaurantId(restaurantId))
+				.thenReturn(List.of(new PriceRow(addonId, itemId, new BigDecimal("50.00"))));
+
+		pricingService = new PricingService(foodItemRepository, variantRepository, addonRepository,
+				new TwoTierCacheManager(new CacheProperties(), null, published::add));
+		ReflectionTestUtils.setField(pricingService, "deliveryFee", new BigDecimal("2.99"));
+	}
+
+	@Test
+	void computesTotalFromMenuPricesAndLoadsTheTableOnlyOnce() {
+		assertEquals(new BigDecimal("1000.99"), total(order(2, null)));
+		assertEquals(new BigDecimal("1000.99"), total(order(2, new BigDecimal("1000.99"))));
+
+		// One restaurant lookup per order, not per line
+		verify(foodItemRepository, times(2)).findRestaurantIdById(itemId);
+		verify(foodItemRepository, times(1)).findPricesByRestaurantId(restaurantId);
+	}
+
+	@Test
+	void cartMixingRestaurantsIsRejectedWithoutReloadingTheTable() {
+		UUID otherItemId = UUID.randomUUID();
+		when(foodItemRepository.findRestaurantIdById(otherItemId)).thenReturn(Optional.of(UUID.randomUUID()));
+		Order mixed = order(1, null);
+		mixed.setItems(List.of(mixed.getItems().get(0),
+				OrderItem.builder().foodItem(FoodItem.builder().id(otherItemId).build()).quantity(1).build()));
+
+		assertThrows(ResponseStatusException.class, () -> pricingService.quote(mixed));
+		verify(foodItemRepository, times(1)).findPricesByRestaurantId(restaurantId);
+	}
+
+	@Test
+	void invalidatingAnotherRestaurantDuringALoadKeepsTheLoadedTable() {
+		UUID otherRestaurantId = UUID.randomUUID();
+		while ((otherRestaurantId.hashCode() & 255) == (restaurantId.hashCode() & 255)) {
+			otherRestaurantId = UUID.randomUUID();
+		}
+		UUID other = otherRestaurantId;
+		when(foodItemRepository.findPricesByRestaurantId(restaurantId)).thenAnswer(invocation -> {
+			pricingService.invalidate(other);
+			return List.of(new PriceRow(itemId, itemId, new BigDecimal("299.00")));
+		});
+
+		total(order(1, null));
+		total(order(1, null));
+
+		verify(foodItemRepository, times(1)).findPricesByRestaurantId(restaurantId);
+	}
+
+	@Test
+	void rejectsTotalThatDoesNotMatchMenuPrices() {
+		assertThrows(ResponseStatusException.class, () -> total(order(1, new BigDecimal("1.00"))));
+	}
+
+	@Test
+	void reloadsTableAfterInvalidation() {
+		total(order(1, null));
+		pricingService.invalidate(restaurantId);
+		total(order(1, null));
+
+		verify(foodItemRepository, times(2)).findPricesByRestaurantId(restaurantId);
+	}
+
+	@Test
+	void invalidationIsAnnouncedToOtherNodes() {
+		total(order(1, null));
+		published.clear();
+
+		pricingService.invalidate(restaurantId);
+
+		assertEquals(1, published.size());
+		assertTrue(published.get(0).endsWith("|" + PricingService.CACHE + "|" + restaurantId));
+	}
+
+	private BigDecimal total(Order order) {
+		return pricingService.quote(order).total();
+	}
+
+	private Order order(int quantity, BigDecimal clientTotal) {
+		OrderItem line = OrderItem.builder()
+				.foodItem(FoodItem.builder().id(itemId).build())
+				.variant(Variant.builder().id(variantId).build())
+				.quantity(quantity)
+				.addons(new ArrayList<>())
+				.build();
+		line.getAddons().add(OrderItemAddon.builder().addon(Addon.builder().id(addonId).build()).build());
+		return Order.builder().totalPrice(clientTotal).items(new ArrayList<>(List.of(line))).build();
+	}
+}
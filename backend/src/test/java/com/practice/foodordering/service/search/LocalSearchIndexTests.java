@@ -0,0 +1,94 @@
+package com.practice.foodordering.service.search;
+
+import com.practice.foodordering.dto.FoodItemSearchRow;
+import com.practice.foodordering.model.search.FoodItemDocument;
+import com.practice.foodordering.repository.FoodItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocalSearchIndexTests {
+
+	private final UUID restaurantId = UUID.randomUUID();
+	private final FoodItemSearchRow paneer = row("Paneer Tikka", "Spice Route", "Jaipur");
+	private final FoodItemSearchRow biryani = row("Chicken Biryani", "Paradise", "Hyderabad");
+	private final FoodItemSearchRow masala = row("Masala Dosa", "Paneer Palace", "Chennai");
+
+	private FoodItemRepository repository;
+	private LocalSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(FoodItemRepository.class);
+		when(repository.findSearchRowsAfter(any(), any())).thenReturn(List.of(paneer, biryani, masala));
+
+		index = new LocalSearchIndex(repository);
+		ReflectionTestUtils.setField(index, "enabled", true);
+		ReflectionTestUtils.setField(index, "pageSize", 100);
+		index.rebuild();
+	}
+
+	@Test
+	void matchesSubstringsAcrossFieldsAndRanksNameMatchesFirst() {
+		List<FoodItemDocument> results = index.search("PANEER", 10);
+
+		assertEquals(List.of("Paneer Tikka", "Masala Dosa"), results.stream().map(FoodItemDocument::getName).toList());
+		assertEquals(List.of("Chicken Biryani"), names(index.search("derab", 10)));
+		assertEquals(List.of("Masala Dosa"), names(index.search("ma", 10)));
+		assertEquals(1, index.search("p", 1).size());
+	}
+
+	@Test
+	void shortQueriesMatchInsideWords() {
+		assertEquals(List.of("Paneer Tikka"), names(index.search("ik", 10)));
+		assertEquals(List.of("Chicken Biryani"), names(index.search("y", 10)));
+	}
+
+	@Test
+	void rebuildRereadsItemsChangedDuringTheScan() {
+		FoodItemSearchRow renamed = new FoodItemSearchRow(biryani.id(), "Mutton Biryani", restaurantId, "Paradise",
+				"Hyderabad");
+		when(repository.findSearchRowsAfter(any(), any())).thenAnswer(invocation -> {
+			// A stale change arrives while the scan already holds the newer row
+			index.upsert(List.of(biryani));
+			return List.of(paneer, renamed, masala);
+		});
+		when(repository.findSearchRowsByIds(any())).thenReturn(List.of(renamed));
+
+		index.rebuild();
+
+		assertTrue(index.search("chicken", 10).isEmpty());
+		assertEquals(List.of("Mutton Biryani"), names(index.search("mutton", 10)));
+		assertEquals(3, index.size());
+	}
+
+	@Test
+	void appliesUpsertsAndRemovals() {
+		index.upsert(List.of(new FoodItemSearchRow(biryani.id(), "Mutton Biryani", restaurantId, "Paradise",
+				"Hyderabad")));
+		index.remove(Set.of(paneer.id()));
+
+		assertTrue(index.search("chicken", 10).isEmpty());
+		assertEquals(List.of("Mutton Biryani"), names(index.search("biryani", 10)));
+		assertEquals(List.of("Masala Dosa"), names(index.search("paneer", 10)));
+		assertEquals(2, index.size());
+	}
+
+	private List<String> names(List<FoodItemDocument> documents) {
+		return documents.stream().map(FoodItemDocument::getName).toList();
+	}
+
+	private FoodItemSearchRow row(String name, String restaurantName, String cityName) {
+		return new FoodItemSearchRow(UUID.randomUUID(), name, restaurantId, restaurantName, cityName);
+	}
+}
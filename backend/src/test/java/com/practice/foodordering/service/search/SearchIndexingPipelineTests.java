@@ -0,0 +1,95 @@
+package com.practice.foodordering.service.search;
+
+import com.practice.foodordering.dto.FoodItemSearchRow;
+import com.practice.foodordering.repository.FoodItemRepository;
+import com.practice.foodordering.repository.search.FoodItemSearchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class SearchIndexingPipelineTests {
+
+	private final FoodItemSearchRow row = new FoodItemSearchRow(UUID.randomUUID(), "Paneer Tikka",
+			UUID.randomUUID(), "Spice Route", "Jaipur");
+
+	private FoodItemSearchRepository searchRepository;
+	private SearchDeadLetterStore deadLetters;
+	private SearchIndexingPipeline pipeline;
+
+	@BeforeEach
+	void setUp() {
+		searchRepository = mock(FoodItemSearchRepository.class);
+		FoodItemRepository foodItemRepository = mock(FoodItemRepository.class);
+		when(foodItemRepository.findSearchRowsByIds(any())).thenReturn(List.of(row));
+		deadLetters = new SearchDeadLetterStore(100);
+
+		pipeline = new SearchIndexingPipeline(searchRepository, foodItemRepository, deadLetters,
+				mock(LocalSearchIndex.class));
+		ReflectionTestUtils.setField(pipeline, "batchSize", 10);
+		ReflectionTestUtils.setField(pipeline, "flushIntervalMs", 20L);
+		ReflectionTestUtils.setField(pipeline, "queueCapacity", 100);
+		ReflectionTestUtils.setField(pipeline, "offerTimeoutMs", 10L);
+		ReflectionTestUtils.setField(pipeline, "maxAttempts", 3);
+		ReflectionTestUtils.setField(pipeline, "retryBackoffMs", 10L);
+		pipeline.start();
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		pipeline.stop();
+	}
+
+	@Test
+	void failedBulkWriteIsRetried() throws InterruptedException {
+		doThrow(new RuntimeException("cluster unavailable"))
+				.doReturn(List.of())
+				.when(searchRepository).saveAll(any());
+
+		pipeline.enqueueIndex(row.id());
+		awaitUntil(() -> pipeline.stats().indexed() == 1);
+
+		SearchIndexingPipeline.Stats stats = pipeline.stats();
+		assertEquals(1, stats.failedBatches());
+		assertEquals(0, stats.deadLetters());
+		assertEquals(0, stats.queueDepth());
+		verify(searchRepository, times(2)).saveAll(any());
+	}
+
+	@Test
+	void operationIsDeadLetteredAfterMaxAttemptsAndCanBeReplayed() throws InterruptedException {
+		doThrow(new RuntimeException("mapping conflict")).when(searchRepository).saveAll(any());
+
+		pipeline.enqueueIndex(row.id());
+		awaitUntil(() -> deadLetters.size() == 1);
+
+		SearchDeadLetterStore.DeadLetter letter = deadLetters.list().get(0);
+		assertEquals(row.id(), letter.itemId());
+		assertEquals(SearchIndexingPipeline.Operation.INDEX, letter.operation());
+		assertEquals(3, letter.attempts());
+		assertEquals("mapping conflict", letter.error());
+		assertEquals(0, pipeline.stats().queueDepth());
+		verify(searchRepository, times(3)).saveAll(any());
+
+		doReturn(List.of()).when(searchRepository).saveAll(any());
+		assertEquals(1, pipeline.replayDeadLetters());
+		awaitUntil(() -> pipeline.stats().indexed() == 1);
+		assertEquals(0, deadLetters.size());
+	}
+
+	private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + 5_000_000_000L;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "timed out");
+			Thread.sleep(10);
+		}
+	}
+}
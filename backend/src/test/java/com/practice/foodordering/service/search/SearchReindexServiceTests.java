@@ -0,0 +1,119 @@
+package com.practice.foodordering.service.search;
+
+import com.practice.foodordering.dto.FoodItemSearchRow;
+import com.practice.foodordering.repository.FoodItemRepository;
+import com.practice.foodordering.repository.SearchReindexJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.*;
+
+class SearchReindexServiceTests {
+
+	private static final String PREVIOUS_INDEX = SearchReindexService.ALIAS + "_v20260101000000";
+
+	private ElasticsearchOperations operations;
+	private IndexOperations aliasOps;
+	private SearchIndexingPipeline indexingPipeline;
+	private SearchReindexService service;
+
+	@BeforeEach
+	void setUp() {
+		operations = mock(ElasticsearchOperations.class);
+		aliasOps = mock(IndexOperations.class);
+		when(operations.indexOps(any(IndexCoordinates.class))).thenReturn(mock(IndexOperations.class));
+		when(operations.indexOps(argThat((IndexCoordinates coordinates) -> coordinates != null
+				&& SearchReindexService.ALIAS.equals(coordinates.getIndexName())))).thenReturn(aliasOps);
+
+		FoodItemRepository foodItemRepository = mock(FoodItemRepository.class);
+		when(foodItemRepository.findSearchRowsAfter(any(), any())).thenReturn(List.of(
+				new FoodItemSearchRow(UUID.randomUUID(), "Paneer Tikka", UUID.randomUUID(), "Spice Route", "Jaipur"),
+				new FoodItemSearchRow(UUID.randomUUID(), "Masala Dosa", UUID.randomUUID(), "Saravana", "Chennai")));
+
+		SearchReindexJobRepository jobRepository = mock(SearchReindexJobRepository.class);
+		when(jobRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+		indexingPipeline = mock(SearchIndexingPipeline.class);
+		when(indexingPipeline.isElasticsearchEnabled()).thenReturn(true);
+
+		service = new SearchReindexService(operations, foodItemRepository, jobRepository, indexingPipeline);
+		ReflectionTestUtils.setField(service, "pageSize", 1000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.stop();
+	}
+
+	@Test
+	void movesTheAliasFromThePreviousIndexToTheNewOneInOneUpdate() {
+		when(aliasOps.exists()).thenReturn(true);
+		when(aliasOps.getAliasesForIndex(SearchReindexService.ALIAS)).thenReturn(Map.of(PREVIOUS_INDEX, Set.of()));
+
+		String newIndex = service.start(false).indexName();
+
+		List<AliasAction> actions = swapActions();
+		assertNotEquals(PREVIOUS_INDEX, newIndex);
+		assertEquals(2, actions.size());
+		assertInstanceOf(AliasAction.Remove.class, actions.get(0));
+		assertArrayEquals(new String[]{PREVIOUS_INDEX}, actions.get(0).getParameters().getIndices());
+		assertArrayEquals(new String[]{SearchReindexService.ALIAS}, actions.get(0).getParameters().getAliases());
+		assertAddsAliasTo(newIndex, actions.get(1));
+		verify(indexingPipeline, timeout(5_000)).endCapture();
+	}
+
+	@Test
+	void replacesALegacyIndexNamedLikeTheAlias() {
+		when(aliasOps.exists()).thenReturn(true);
+		when(aliasOps.getAliasesForIndex(SearchReindexService.ALIAS))
+				.thenReturn(Map.of(SearchReindexService.ALIAS, Set.of()));
+
+		String newIndex = service.start(false).indexName();
+
+		List<AliasAction> actions = swapActions();
+		assertEquals(2, actions.size());
+		assertInstanceOf(AliasAction.RemoveIndex.class, actions.get(0));
+		assertArrayEquals(new String[]{SearchReindexService.ALIAS}, actions.get(0).getParameters().getIndices());
+		assertAddsAliasTo(newIndex, actions.get(1));
+	}
+
+	@Test
+	void firstRunOnlyAddsTheAlias() {
+		when(aliasOps.exists()).thenReturn(false);
+
+		String newIndex = service.start(false).indexName();
+
+		List<AliasAction> actions = swapActions();
+		assertEquals(1, actions.size());
+		assertAddsAliasTo(newIndex, actions.get(0));
+	}
+
+	private List<AliasAction> swapActions() {
+		ArgumentCaptor<AliasActions> captor = ArgumentCaptor.forClass(AliasActions.class);
+		verify(aliasOps, timeout(5_000)).alias(captor.capture());
+		return captor.getValue().getActions();
+	}
+
+	private static void assertAddsAliasTo(String index, AliasAction action) {
+		assertInstanceOf(AliasAction.Add.class, action);
+		assertArrayEquals(new String[]{index}, action.getParameters().getIndices());
+		assertArrayEquals(new String[]{SearchReindexService.ALIAS}, action.getParameters().getAliases());
+	}
+}
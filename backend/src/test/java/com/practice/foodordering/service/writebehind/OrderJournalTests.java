@@ -0,0 +1,95 @@
+package com.practice.foodordering.service.writebehind;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderJournalTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void reopeningReplaysOnlyEntriesAfterTheCheckpoint() throws IOException {
+		try (OrderJournal journal = new OrderJournal(directory, 64, false)) {
+			assertTrue(journal.open().isEmpty());
+			for (int i = 1; i <= 5; i++) {
+				assertEquals(i, journal.append(payload("order-" + i)));
+			}
+			journal.checkpoint(3);
+		}
+
+		try (OrderJournal journal = new OrderJournal(directory, 64, false)) {
+			List<OrderJournal.Entry> pending = journal.open();
+			assertEquals(List.of(4L, 5L), pending.stream().map(OrderJournal.Entry::sequence).toList());
+			assertEquals("order-4", new String(pending.get(0).payload(), StandardCharsets.UTF_8));
+			assertEquals(6, journal.append(payload("order-6")));
+		}
+	}
+
+	@Test
+	void checkpointDeletesSegmentsThatAreFullyWritten() throws IOException {
+		try (OrderJournal journal = new OrderJournal(directory, 64, false)) {
+			journal.open();
+			// Two 32-byte records per segment
+			for (int i = 1; i <= 6; i++) {
+				journal.append(payload("order-" + i));
+			}
+			assertEquals(3, segmentCount());
+
+			journal.checkpoint(4);
+			assertEquals(1, segmentCount());
+		}
+	}
+
+	@Test
+	void aTornRecordEndsTheJournal() throws IOException {
+		try (OrderJournal journal = new OrderJournal(directory, 1024, false)) {
+			journal.open();
+			journal.append(payload("order-1"));
+			journal.append(payload("order-2"));
+		}
+		// Corrupt the second record's payload as if the crash hit mid-write
+		try (Stream<Path> files = Files.list(directory);
+				FileChannel segment = FileChannel.open(files.filter(this::isSegment).findFirst().orElseThrow(),
+						StandardOpenOption.WRITE)) {
+			segment.write(ByteBuffer.wrap(new byte[] { 'X' }), 32 + 16);
+		}
+
+		try (OrderJournal journal = new OrderJournal(directory, 1024, false)) {
+			List<OrderJournal.Entry> pending = journal.open();
+			assertEquals(1, pending.size());
+			assertEquals(2, journal.append(payload("order-2")));
+		}
+		try (OrderJournal journal = new OrderJournal(directory, 1024, false)) {
+			assertEquals(2, journal.open().size());
+		}
+	}
+
+	private long segmentCount() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(this::isSegment).count();
+		}
+	}
+
+	private boolean isSegment(Path file) {
+		return file.getFileName().toString().startsWith("segment-");
+	}
+
+	private static byte[] payload(String value) {
+		// 16-byte header + 16-byte payload = 32 bytes per record
+		return String.format("%-16s", value).getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,127 @@
+package com.practice.foodordering.service.writebehind;
+
+import com.practice.foodordering.model.AppUser;
+import com.practice.foodordering.model.Order;
+import com.practice.foodordering.model.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class OrderWriteBehindTests {
+
+	private static final BigDecimal REFUSED_TOTAL = new BigDecimal("13.13");
+
+	@TempDir
+	Path directory;
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().build();
+	private JdbcTemplate jdbcTemplate;
+	private PlatformTransactionManager transactionManager;
+	private OrderWriteBehind writeBehind;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+		when(jdbcTemplate.queryForObject("SELECT 1", Integer.class)).thenReturn(1);
+		// The database refuses this one order, whether alone or in a batch
+		when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO orders"), anyList())).thenAnswer(invocation -> {
+			List<Object[]> rows = invocation.getArgument(1);
+			if (rows.stream().anyMatch(row -> REFUSED_TOTAL.compareTo((BigDecimal) row[4]) == 0)) {
+				throw new DataIntegrityViolationException("value too long for column");
+			}
+			return new int[rows.size()];
+		});
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		if (writeBehind != null) {
+			writeBehind.stop();
+		}
+	}
+
+	@Test
+	void orderTheDatabaseRefusesIsDeadLetteredNotDropped() throws Exception {
+		writeBehind = started();
+		Order good = writeBehind.accept(order(new BigDecimal("20.00")));
+		Order refused = writeBehind.accept(order(REFUSED_TOTAL));
+
+		awaitUntil(() -> writeBehind.stats().checkpoint() == 2);
+
+		OrderWriteBehind.Stats stats = writeBehind.stats();
+		assertEquals(1, stats.persisted());
+		assertEquals(1, stats.deadLettered());
+
+		List<String> lines = Files.readAllLines(directory.resolve(OrderDeadLetterFile.FILE_NAME));
+		assertEquals(1, lines.size());
+		JsonNode letter = objectMapper.readTree(lines.get(0));
+		assertEquals(2, letter.get("sequence").asLong());
+		assertEquals(refused.getId().toString(), letter.get("order").get("id").asString());
+		assertTrue(letter.get("error").asString().contains("value too long"));
+		assertTrue(lines.stream().noneMatch(line -> line.contains(good.getId().toString())));
+	}
+
+	@Test
+	void deadLetteredOrderIsNotReplayedAfterARestart() throws Exception {
+		writeBehind = started();
+		writeBehind.accept(order(REFUSED_TOTAL));
+		awaitUntil(() -> writeBehind.stats().checkpoint() == 1);
+		writeBehind.stop();
+
+		writeBehind = started();
+		assertEquals(0, writeBehind.stats().replayed());
+		assertEquals(1, Files.readAllLines(directory.resolve(OrderDeadLetterFile.FILE_NAME)).size());
+	}
+
+	private OrderWriteBehind started() throws IOException {
+		OrderWriteBehind started = new OrderWriteBehind(jdbcTemplate, transactionManager, objectMapper);
+		ReflectionTestUtils.setField(started, "directory", directory.toString());
+		ReflectionTestUtils.setField(started, "segmentSizeMb", 1);
+		ReflectionTestUtils.setField(started, "sync", false);
+		ReflectionTestUtils.setField(started, "batchSize", 10);
+		ReflectionTestUtils.setField(started, "maxBatchDelayMs", 50L);
+		ReflectionTestUtils.setField(started, "maxPending", 100);
+		started.start();
+		return started;
+	}
+
+	private static Order order(BigDecimal total) {
+		return Order.builder()
+				.user(AppUser.builder().id(UUID.randomUUID()).build())
+				.status(OrderStatus.PLACED)
+				.totalPrice(total)
+				.build();
+	}
+
+	private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + 5_000_000_000L;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "timed out");
+			Thread.sleep(10);
+		}
+	}
+}
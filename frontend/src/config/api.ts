@@ -1,4 +1,4 @@
-import axios from 'axios';
+import axios, { type InternalAxiosRequestConfig } from 'axios';
 
 const api = axios.create({
     baseURL: import.meta.env.VITE_API_URL || 'https://fooddash-api.onrender.com/api',
@@ -8,4 +8,69 @@ const api = axios.create({
     },
 });
 
+export interface AuthTokens {
+    accessToken: string;
+    refreshToken: string;
+}
+
+const TOKENS_KEY = 'tokens';
+
+export const getTokens = (): AuthTokens | null => {
+    const saved = localStorage.getItem(TOKENS_KEY);
+    return saved ? JSON.parse(saved) : null;
+};
+
+export const setTokens = (tokens: AuthTokens | null) => {
+    if (tokens) {
+        localStorage.setItem(TOKENS_KEY, JSON.stringify({ accessToken: tokens.accessToken, refreshToken: tokens.refreshToken }));
+    } else {
+        localStorage.removeItem(TOKENS_KEY);
+    }
+};
+
+const isAuthCall = (config: InternalAxiosRequestConfig) => (config.url ?? '').startsWith('/auth/');
+
+api.interceptors.request.use((config) => {
+    const tokens = getTokens();
+    if (tokens && !isAuthCall(config)) {
+        config.headers.Authorization = `Bearer ${tokens.accessToken}`;
+    }
+    return config;
+});
+
+// One refresh at a time; concurrent 401s wait for the same one
+let refreshing: Promise<AuthTokens> | null = null;
+
+const refreshTokens = (refreshToken: string) => {
+    refreshing ??= api
+        .post<AuthTokens>(`/auth/refresh?refreshToken=${encodeURIComponent(refreshToken)}`)
+        .then(({ data }) => {
+            setTokens(data);
+            return data;
+        })
+        .finally(() => {
+            refreshing = null;
+        });
+    return refreshing;
+};
+
+api.interceptors.response.use(undefined, async (error) => {
+    const config = error.config as (InternalAxiosRequestConfig & { retried?: boolean }) | undefined;
+    const tokens = getTokens();
+    if (error.response?.status !== 401 || !config || config.retried || isAuthCall(config) || !tokens) {
+        throw error;
+    }
+    config.retried = true;
+    try {
+        const refreshed = await refreshTokens(tokens.refreshToken);
+        config.headers.Authorization = `Bearer ${refreshed.accessToken}`;
+        return api(config);
+    } catch {
+        // The refresh token is gone too: sign out
+        setTokens(null);
+        window.dispatchEvent(new Event('auth:expired'));
+        throw error;
+    }
+});
+
 export default api;
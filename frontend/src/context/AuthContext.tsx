@@ -1,5 +1,5 @@
-import { createContext, useContext, useState, type ReactNode } from 'react';
-import api from '../config/api';
+import { createContext, useContext, useEffect, useState, type ReactNode } from 'react';
+import api, { getTokens, setTokens } from '../config/api';
 
 interface User {
     id: string;
@@ -20,9 +20,26 @@ const AuthContext = createContext<AuthContextType | undefined>(undefined);
 export const AuthProvider = ({ children }: { children: ReactNode }) => {
     const [user, setUser] = useState<User | null>(() => {
         const saved = localStorage.getItem('user');
-        return saved ? JSON.parse(saved) : null;
+        return saved && getTokens() ? JSON.parse(saved) : null;
     });
 
+    const signIn = (data: { user: User; accessToken: string; refreshToken: string }) => {
+        setTokens(data);
+        setUser(data.user);
+        localStorage.setItem('user', JSON.stringify(data.user));
+    };
+
+    const clearSession = () => {
+        setTokens(null);
+        setUser(null);
+        localStorage.removeItem('user');
+    };
+
+    useEffect(() => {
+        window.addEventListener('auth:expired', clearSession);
+        return () => window.removeEventListener('auth:expired', clearSession);
+    }, []);
+
     const requestOtp = async (identifier: string) => {
         try {
             await api.post(`/auth/customer/get_otp?phoneOrEmail=${identifier}`);
@@ -35,8 +52,7 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
     const verifyOtp = async (identifier: string, otp: string) => {
         try {
             const response = await api.post(`/auth/customer/verify_otp?phoneOrEmail=${identifier}&otp=${otp}`);
-            setUser(response.data);
-            localStorage.setItem('user', JSON.stringify(response.data));
+            signIn(response.data);
         } catch (error) {
             console.error('Verify OTP Failed', error);
             throw error;
@@ -46,8 +62,7 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
     const loginAdmin = async (username: string, passwordHash: string) => {
         try {
             const response = await api.post(`/auth/admin/login?username=${username}&passwordHash=${passwordHash}`);
-            setUser(response.data);
-            localStorage.setItem('user', JSON.stringify(response.data));
+            signIn(response.data);
         } catch (error) {
             console.error('Admin Login Failed', error);
             throw error;
@@ -55,8 +70,14 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
     };
 
     const logout = () => {
-        setUser(null);
-        localStorage.removeItem('user');
+        const tokens = getTokens();
+        if (tokens) {
+            // Best effort: the tokens are dropped locally either way
+            api.post(`/auth/logout?refreshToken=${encodeURIComponent(tokens.refreshToken)}`, null, {
+                headers: { Authorization: `Bearer ${tokens.accessToken}` },
+            }).catch(() => undefined);
+        }
+        clearSession();
     };
 
     return (
@@ -1,6 +1,6 @@
 import { useEffect } from 'react';
 import { useAuth } from '../context/AuthContext';
-import api from '../config/api';
+import api, { getTokens } from '../config/api';
 
 interface OrderUpdate {
     orderId: string;
@@ -13,10 +13,9 @@ export const useOrderNotifications = (onUpdate: (update: OrderUpdate) => void) =
     useEffect(() => {
         if (!user) return;
 
-        // Note: In a real production app with auth headers, 
-        // EventSource might need a polyfill (like event-source-polyfill) to pass native headers.
-        // For simplicity here, we use the standard EventSource.
-        const eventSource = new EventSource(`${api.defaults.baseURL}/notifications/subscribe/${user.id}`);
+        // EventSource cannot send an Authorization header; the server accepts the token as a query parameter
+        const token = encodeURIComponent(getTokens()?.accessToken ?? '');
+        const eventSource = new EventSource(`${api.defaults.baseURL}/notifications/subscribe/${user.id}?access_token=${token}`);
 
         eventSource.addEventListener('ORDER_UPDATE', (event) => {
             const data = JSON.parse(event.data);
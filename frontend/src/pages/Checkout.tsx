@@ -1,4 +1,4 @@
-import { useState } from 'react';
+import { useRef, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { CreditCard, MapPin, CheckCircle, ArrowLeft, ShoppingBag, Truck, Sparkles, Loader2 } from 'lucide-react';
 import { useCart } from '../context/CartContext';
@@ -13,6 +13,9 @@ const Checkout = () => {
     const [address, setAddress] = useState('');
     const [isProcessing, setIsProcessing] = useState(false);
     const [orderPlaced, setOrderPlaced] = useState(false);
+    // Key of the order being submitted; a retry of the same order reuses it, so a retry after a
+    // timeout cannot place a second order. Cleared once the order is placed.
+    const pendingOrder = useRef<{ body: string; key: string } | null>(null);
 
     if (cart.length === 0 && !orderPlaced) {
         return (
@@ -81,7 +84,14 @@ const Checkout = () => {
                     addons: item.selectedAddons.map(addon => ({ addon: { id: addon.id } }))
                 }))
             };
-            await api.post('/orders', orderData);
+            const body = JSON.stringify(orderData);
+            let pending = pendingOrder.current;
+            if (!pending || pending.body !== body) {
+                pending = { body, key: crypto.randomUUID() };
+                pendingOrder.current = pending;
+            }
+            await api.post('/orders', orderData, { headers: { 'Idempotency-Key': pending.key } });
+            pendingOrder.current = null;
             clearCart();
             setOrderPlaced(true);
         } catch (error) {
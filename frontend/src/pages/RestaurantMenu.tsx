@@ -10,6 +10,8 @@ interface FoodItem {
     id: string; name: string; price: number;
     itemType: 'NO_ADDON_NO_VARIANT' | 'ADDON_NO_VARIANT' | 'VARIANT_NO_ADDON' | 'VARIANT_AND_ADDON';
 }
+interface MenuItem extends FoodItem { variants: Variant[]; addons: Addon[]; }
+interface Menu { restaurantId: string; restaurantName: string; items: MenuItem[]; }
 
 const FOOD_EMOJIS = ['🍕', '🍔', '🌮', '🍜', '🍱', '🥘', '🍛', '🍣', '🌯', '🫔', '🥗', '🍖'];
 
@@ -18,9 +20,9 @@ const RestaurantMenu = () => {
     const navigate = useNavigate();
     const { cart, addToCart, removeFromCart, cartTotal } = useCart();
 
-    const [items, setItems] = useState<FoodItem[]>([]);
+    const [items, setItems] = useState<MenuItem[]>([]);
     const [isLoading, setIsLoading] = useState(true);
-    const [selectedItemConfig, setSelectedItemConfig] = useState<FoodItem | null>(null);
+    const [selectedItemConfig, setSelectedItemConfig] = useState<MenuItem | null>(null);
     const [availableVariants, setAvailableVariants] = useState<Variant[]>([]);
     const [availableAddons, setAvailableAddons] = useState<Addon[]>([]);
     const [chosenVariant, setChosenVariant] = useState<Variant | undefined>();
@@ -29,8 +31,9 @@ const RestaurantMenu = () => {
     useEffect(() => {
         const fetchMenu = async () => {
             try {
-                const { data } = await api.get<FoodItem[]>(`/items?restaurantId=${id}`);
-                setItems(data);
+                // Variants and addons come with the menu; the browser revalidates it via ETag
+                const { data } = await api.get<Menu>(`/restaurants/${id}/menu`);
+                setItems(data.items);
             } catch (error) {
                 console.error('Error fetching menu', error);
             } finally {
@@ -40,31 +43,30 @@ const RestaurantMenu = () => {
         if (id) fetchMenu();
     }, [id]);
 
-    const openConfigModal = async (item: FoodItem) => {
+    const openConfigModal = (item: MenuItem) => {
         setSelectedItemConfig(item);
         setChosenVariant(undefined);
         setChosenAddons([]);
         if (item.itemType.includes('VARIANT')) {
-            const { data } = await api.get<Variant[]>(`/items/${item.id}/variants`);
-            setAvailableVariants(data);
-            if (data.length > 0) setChosenVariant(data[0]);
+            setAvailableVariants(item.variants);
+            if (item.variants.length > 0) setChosenVariant(item.variants[0]);
         }
         if (item.itemType.includes('ADDON')) {
-            const { data } = await api.get<Addon[]>(`/items/${item.id}/addons`);
-            setAvailableAddons(data);
+            setAvailableAddons(item.addons);
         }
     };
 
-    const handleAddToCart = (item: FoodItem) => {
+    const handleAddToCart = (item: MenuItem) => {
         if (item.itemType !== 'NO_ADDON_NO_VARIANT') { openConfigModal(item); return; }
         addConfiguredItemToCart(item, undefined, []);
     };
 
-    const addConfiguredItemToCart = (item: FoodItem, variant?: Variant, addons: Addon[] = []) => {
+    const addConfiguredItemToCart = (item: MenuItem, variant?: Variant, addons: Addon[] = []) => {
         let itemTotal = item.price;
         if (variant) itemTotal += variant.priceModifier;
         addons.forEach(a => itemTotal += a.price);
-        addToCart({ foodItem: item, quantity: 1, selectedVariant: variant, selectedAddons: addons, totalPrice: itemTotal });
+        const foodItem: FoodItem = { id: item.id, name: item.name, price: item.price, itemType: item.itemType };
+        addToCart({ foodItem, quantity: 1, selectedVariant: variant, selectedAddons: addons, totalPrice: itemTotal });
         setSelectedItemConfig(null);
     };
 
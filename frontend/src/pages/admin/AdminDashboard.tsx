@@ -41,7 +41,9 @@ const AdminDashboard = () => {
 
     // Order State
     const [orders, setOrders] = useState<any[]>([]);
+    const [ordersCursor, setOrdersCursor] = useState<string | null>(null);
     const [isOrdersLoading, setIsOrdersLoading] = useState(false);
+    const [isLoadingMoreOrders, setIsLoadingMoreOrders] = useState(false);
 
     useEffect(() => {
         fetchCities();
@@ -81,8 +83,9 @@ const AdminDashboard = () => {
     const fetchOrders = async () => {
         setIsOrdersLoading(true);
         try {
-            const { data } = await api.get<any[]>('/orders');
-            setOrders(data);
+            const { data } = await api.get<{ items: any[]; nextCursor: string | null }>('/orders');
+            setOrders(data.items);
+            setOrdersCursor(data.nextCursor);
         } catch (error) {
             console.error('Failed to fetch orders', error);
         } finally {
@@ -90,13 +93,32 @@ const AdminDashboard = () => {
         }
     };
 
-    const updateOrderStatus = async (orderId: string, status: string) => {
+    // Appends the next keyset page; the cursor comes from the previous response
+    const fetchMoreOrders = async () => {
+        if (!ordersCursor) return;
+        setIsLoadingMoreOrders(true);
         try {
-            await api.put(`/orders/${orderId}/status?status=${status}`);
-            fetchOrders();
+            const { data } = await api.get<{ items: any[]; nextCursor: string | null }>('/orders', {
+                params: { cursor: ordersCursor },
+            });
+            setOrders(prev => [...prev, ...data.items]);
+            setOrdersCursor(data.nextCursor);
         } catch (error) {
+            console.error('Failed to fetch more orders', error);
+        } finally {
+            setIsLoadingMoreOrders(false);
+        }
+    };
+
+    const updateOrderStatus = async (orderId: string, status: string) => {
+        try {
+            const { data } = await api.put<{ id: string; status: string }>(`/orders/${orderId}/status?status=${status}`);
+            // Update in place so the pages already loaded stay on screen
+            setOrders(prev => prev.map(order => order.id === data.id ? { ...order, status: data.status } : order));
+        } catch (error: any) {
             console.error('Failed to update order status', error);
-            alert('Failed to update status');
+            alert(error.response?.data?.message || 'Failed to update status');
+            fetchOrders();
         }
     };
 
@@ -464,7 +486,7 @@ const AdminDashboard = () => {
                                                     {order.status}
                                                 </span>
                                             </div>
-                                            <p className="text-sm text-gray-500 mb-2">User: {order.user?.phoneOrEmail} • {new Date(order.placedAt).toLocaleString()}</p>
+                                            <p className="text-sm text-gray-500 mb-2">User: {order.userId} • {new Date(order.createdAt).toLocaleString()}</p>
 
                                             {/* Order Items */}
                                             <div className="bg-gray-50 rounded-lg p-3 mb-3 border border-gray-100">
@@ -500,6 +522,15 @@ const AdminDashboard = () => {
                                     </div>
                                 ))}
                                 {orders.length === 0 && <p className="text-center text-gray-500 py-8">No orders found.</p>}
+                                {ordersCursor && (
+                                    <button
+                                        onClick={fetchMoreOrders}
+                                        disabled={isLoadingMoreOrders}
+                                        className="w-full py-2 border border-gray-200 rounded-lg text-sm font-medium text-gray-700 bg-white hover:bg-gray-50 disabled:opacity-50"
+                                    >
+                                        {isLoadingMoreOrders ? 'Loading...' : 'Load more orders'}
+                                    </button>
+                                )}
                             </div>
                         )}
                     </div>